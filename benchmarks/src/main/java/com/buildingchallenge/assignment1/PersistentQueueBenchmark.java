@@ -0,0 +1,116 @@
+package com.buildingchallenge.assignment1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * PersistentQueueBenchmark Class
+ *
+ * Measures put throughput of the in-memory SharedQueue against PersistentSharedQueue,
+ * whose put returns only once the item is fsynced. JMH threads are the producers;
+ * with more of them, group commit shares each fsync across a larger batch, so run
+ * with several thread counts to see the gap narrow. putBatch puts BATCH items per
+ * call, through putAll() on the persistent queue (one fsync per batch) and one put
+ * at a time on the in-memory one; scores are per item. One background thread takes,
+ * for the same reason as in SharedQueueHandoffBenchmark. The log is written to a
+ * temporary directory, so the result depends on that disk's fsync latency.
+ *
+ * java -jar target/benchmarks.jar PersistentQueueBenchmark -t 1 -t 8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PersistentQueueBenchmark {
+
+    @Param({"memory", "persistent"})
+    private String queueType;
+
+    @Param({"1024"})
+    private int capacity;
+
+    private static final String ITEM = "order-42";
+    private static final int BATCH = 64;
+    private static final List<String> ITEMS = Collections.nCopies(BATCH, ITEM);
+
+    private BoundedQueue<String> queue;
+    private Path logDirectory;
+    private Thread consumer;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        if (queueType.equals("persistent")) {
+            logDirectory = Files.createTempDirectory("persistent-queue-benchmark");
+            queue = new PersistentSharedQueue<>(logDirectory, ItemCodec.utf8(), capacity);
+        } else {
+            queue = new SharedQueue<>(capacity, false);
+        }
+        consumer = new Thread(() -> {
+            try {
+                while (true) {
+                    queue.take();
+                }
+            } catch (InterruptedException | IllegalStateException e) {
+                // Interrupted, or the persistent queue was closed
+            }
+        }, "persistent-benchmark-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Benchmark
+    public void put() throws InterruptedException {
+        queue.put(ITEM);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void putBatch() throws InterruptedException {
+        if (queue instanceof PersistentSharedQueue) {
+            ((PersistentSharedQueue<String>) queue).putAll(ITEMS);
+        } else {
+            for (String item : ITEMS) {
+                queue.put(item);
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException, IOException {
+        consumer.interrupt();
+        if (queue instanceof PersistentSharedQueue) {
+            ((PersistentSharedQueue<String>) queue).close();
+        }
+        consumer.join();
+        if (logDirectory != null) {
+            try (Stream<Path> files = Files.walk(logDirectory)) {
+                for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                    Files.delete(path);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.buildingchallenge.assignment1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SharedQueueHandoffBenchmark Class
+ *
+ * Measures put() into a SharedQueue that a background consumer thread drains, for
+ * each WaitStrategy. With capacity 1 every put waits for the previous hand-off, so
+ * the score is the hand-off latency. Run on a machine with at least two free cores,
+ * otherwise the spinning strategies measure the scheduler instead.
+ *
+ * The consumer runs outside JMH so it can never be left blocked in take() when an
+ * iteration ends.
+ *
+ * java -jar target/benchmarks.jar SharedQueueHandoffBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SharedQueueHandoffBenchmark {
+
+    @Param({"BLOCKING", "BUSY_SPIN", "SPIN_THEN_YIELD", "SPIN_THEN_PARK"})
+    private WaitStrategy strategy;
+
+    @Param({"1", "64"})
+    private int capacity;
+
+    private static final Integer ITEM = 42;
+
+    private SharedQueue<Integer> queue;
+    private Thread consumer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = new SharedQueue<>(capacity, false, strategy);
+        consumer = new Thread(() -> {
+            try {
+                while (true) {
+                    queue.take();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "handoff-consumer");
+        consumer.setDaemon(true);
+        consumer.start();
+    }
+
+    @Benchmark
+    public void put() throws InterruptedException {
+        queue.put(ITEM);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        consumer.interrupt();
+        consumer.join();
+    }
+}
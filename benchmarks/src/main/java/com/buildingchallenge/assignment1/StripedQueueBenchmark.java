@@ -0,0 +1,87 @@
+package com.buildingchallenge.assignment1;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * StripedQueueBenchmark Class
+ *
+ * Measures N:M throughput of SharedQueue against StripedSharedQueue. JMH threads
+ * are the producers (set their number with -t); the consumers are background
+ * threads, for the same reason as in SharedQueueHandoffBenchmark.
+ *
+ * java -jar target/benchmarks.jar StripedQueueBenchmark -t 8
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StripedQueueBenchmark {
+
+    // 1 stripe means a plain SharedQueue
+    @Param({"1", "8"})
+    private int stripes;
+
+    @Param({"4"})
+    private int consumers;
+
+    @Param({"1024"})
+    private int capacity;
+
+    private static final Integer ITEM = 42;
+
+    private BoundedQueue<Integer> queue;
+    private final List<Thread> consumerThreads = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        queue = stripes == 1 ? new SharedQueue<>(capacity, false) : new StripedSharedQueue<>(capacity, stripes);
+        for (int i = 0; i < consumers; i++) {
+            Thread consumer = new Thread(() -> {
+                try {
+                    while (true) {
+                        queue.take();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "striped-consumer-" + i);
+            consumer.setDaemon(true);
+            consumer.start();
+            consumerThreads.add(consumer);
+        }
+    }
+
+    @Benchmark
+    public void put() throws InterruptedException {
+        queue.put(ITEM);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        for (Thread consumer : consumerThreads) {
+            consumer.interrupt();
+        }
+        for (Thread consumer : consumerThreads) {
+            consumer.join();
+        }
+        consumerThreads.clear();
+    }
+}
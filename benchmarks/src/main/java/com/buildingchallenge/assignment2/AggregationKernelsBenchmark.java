@@ -0,0 +1,94 @@
+package com.buildingchallenge.assignment2;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AggregationKernelsBenchmark Class
+ *
+ * Compares the scalar and Vector API aggregation kernels against the BigDecimal
+ * loop they replace. The vector variant needs the main project built with -Pvector;
+ * otherwise KernelSelector falls back to scalar and both rows measure the same code.
+ *
+ * java -jar target/benchmarks.jar AggregationKernelsBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+public class AggregationKernelsBenchmark {
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"scalar", "vector"})
+    private String kernelsName;
+
+    @Param({"8"})
+    private int groupCount;
+
+    private AggregationKernels kernels;
+    private long[] amountCents;
+    private int[] quantities;
+    private int[] groups;
+    private BigDecimal[] amounts;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        kernels = KernelSelector.byName(kernelsName);
+        Random random = new Random(42);
+        amountCents = new long[rows];
+        quantities = new int[rows];
+        groups = new int[rows];
+        amounts = new BigDecimal[rows];
+        for (int i = 0; i < rows; i++) {
+            amountCents[i] = random.nextInt(500_000);
+            quantities[i] = 1 + random.nextInt(20);
+            groups[i] = random.nextInt(groupCount);
+            amounts[i] = BigDecimal.valueOf(amountCents[i], 2);
+        }
+    }
+
+    @Benchmark
+    public long sum() {
+        return kernels.sum(amountCents, rows);
+    }
+
+    @Benchmark
+    public long sumOfProducts() {
+        return kernels.sumOfProducts(amountCents, quantities, rows);
+    }
+
+    @Benchmark
+    public long[] groupedSumOfProducts() {
+        long[] sums = new long[groupCount];
+        kernels.groupedSumOfProducts(amountCents, quantities, groups, sums, rows);
+        return sums;
+    }
+
+    // Baseline: what SalesAnalyzerImpl did before the columnar path
+    @Benchmark
+    public BigDecimal bigDecimalSumOfProducts() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (int i = 0; i < rows; i++) {
+            total = total.add(amounts[i].multiply(BigDecimal.valueOf(quantities[i])));
+        }
+        return total;
+    }
+}
@@ -0,0 +1,46 @@
+package com.buildingchallenge.assignment2;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * BenchmarkData Class
+ *
+ * Generates synthetic CSV inputs for the benchmarks and keeps them in the temp
+ * directory, so forks and repeated runs reuse the same file instead of regenerating
+ * millions of rows each time.
+ */
+final class BenchmarkData {
+
+    static final long SEED = 42L;
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Returns a generated CSV with the given row count, creating it on first use
+     */
+    static Path csvFile(int rows) throws IOException {
+        Path file = Paths.get(System.getProperty("java.io.tmpdir"),
+                              "sales-bench-" + rows + "-" + SEED + ".csv");
+        if (!Files.exists(file)) {
+            Path partial = Files.createTempFile(file.getParent(), "sales-bench-", ".partial");
+            SalesDataGenerator.builder().seed(SEED).rows(rows).build().writeCsv(partial);
+            Files.move(partial, file);
+        }
+        return file;
+    }
+
+    /**
+     * Heap currently in use after a best-effort full collection
+     */
+    static long usedHeapAfterGc() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,69 @@
+package com.buildingchallenge.assignment2;
+
+import com.opencsv.exceptions.CsvException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CsvLoadBenchmark Class
+ *
+ * Measures how long CSVDataReader / SalesAnalyzerImpl take to load a generated CSV,
+ * and reports the retained heap per record once per trial. Run with "-prof gc" to
+ * also see allocation rates during loading.
+ *
+ * java -jar target/benchmarks.jar CsvLoadBenchmark -p rows=1000000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class CsvLoadBenchmark {
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private Path csvFile;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        csvFile = BenchmarkData.csvFile(rows);
+    }
+
+    @Benchmark
+    public List<SalesRecord> readSalesData() throws IOException, CsvException {
+        return new CSVDataReader().readSalesData(csvFile);
+    }
+
+    @Benchmark
+    public SalesAnalyzerImpl loadAnalyzer() throws IOException, CsvException {
+        return new SalesAnalyzerImpl(csvFile);
+    }
+
+    @TearDown(Level.Trial)
+    public void reportHeapFootprint() throws IOException, CsvException {
+        long before = BenchmarkData.usedHeapAfterGc();
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(csvFile);
+        long after = BenchmarkData.usedHeapAfterGc();
+        int loaded = analyzer.getSalesRecords().size();
+        System.out.printf("%nHeap footprint: %,d bytes for %,d records (%.1f bytes/record)%n",
+                          after - before, loaded, (double) (after - before) / Math.max(loaded, 1));
+    }
+}
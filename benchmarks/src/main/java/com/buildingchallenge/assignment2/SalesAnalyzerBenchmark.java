@@ -0,0 +1,111 @@
+package com.buildingchallenge.assignment2;
+
+import com.opencsv.exceptions.CsvException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SalesAnalyzerBenchmark Class
+ *
+ * Benchmarks every SalesAnalyzerUtil query against a generated dataset loaded once
+ * per trial, plus the SalesQuery equivalents of getSalesByCategory and a multi-aggregate
+ * grouping, so the compiled engine's long-cents path can be compared with the
+ * hand-written reports.
+ *
+ * java -jar target/benchmarks.jar SalesAnalyzerBenchmark -p rows=1000000
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx8g"})
+public class SalesAnalyzerBenchmark {
+
+    private static final LocalDate RANGE_START = LocalDate.of(2023, 1, 1);
+    private static final LocalDate RANGE_END = LocalDate.of(2023, 3, 31);
+
+    @Param({"100000", "1000000"})
+    private int rows;
+
+    private SalesAnalyzerImpl analyzer;
+
+    private static final SalesQuery SALES_BY_CATEGORY = SalesQuery.builder()
+        .groupBy(SalesColumn.CATEGORY)
+        .aggregate(Aggregate.SUM, SalesColumn.TOTAL_VALUE)
+        .build();
+
+    private static final SalesQuery REGION_MONTH_SUMMARY = SalesQuery.builder()
+        .groupBy(SalesColumn.REGION, SalesColumn.MONTH)
+        .aggregate(Aggregate.SUM, SalesColumn.TOTAL_VALUE)
+        .aggregate(Aggregate.AVG, SalesColumn.AMOUNT)
+        .aggregate(Aggregate.MAX, SalesColumn.QUANTITY)
+        .build();
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, CsvException {
+        analyzer = new SalesAnalyzerImpl(BenchmarkData.csvFile(rows));
+    }
+
+    @Benchmark
+    public BigDecimal getTotalSales() {
+        return analyzer.getTotalSales();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> getSalesByCategory() {
+        return analyzer.getSalesByCategory();
+    }
+
+    @Benchmark
+    public Map<String, Long> getSalesCountByRegion() {
+        return analyzer.getSalesCountByRegion();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> getTopProductsBySales() {
+        return analyzer.getTopProductsBySales(10);
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> getTopSalesReps() {
+        return analyzer.getTopSalesReps(10);
+    }
+
+    @Benchmark
+    public Map<String, Long> getProductCountByCategory() {
+        return analyzer.getProductCountByCategory();
+    }
+
+    @Benchmark
+    public List<SalesRecord> getSalesByDateRange() {
+        return analyzer.getSalesByDateRange(RANGE_START, RANGE_END);
+    }
+
+    @Benchmark
+    public SalesQueryResult querySalesByCategory() {
+        return analyzer.query(SALES_BY_CATEGORY);
+    }
+
+    @Benchmark
+    public SalesQueryResult queryRegionMonthSummary() {
+        return analyzer.query(REGION_MONTH_SUMMARY);
+    }
+}
@@ -0,0 +1,97 @@
+package com.buildingchallenge.assignment2;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShape;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * VectorAggregationKernels Class
+ *
+ * Purpose: AggregationKernels implemented with the incubating Vector API, so sums and
+ * multiply-adds run on the widest SIMD registers the CPU offers (AVX2 / AVX-512).
+ * Only compiled with the "vector" Maven profile (JDK 17+) and selected at runtime
+ * through KernelSelector with -Dsales.kernels=vector.
+ *
+ * Quantities are int while amounts are long, so ints are loaded at half the vector
+ * width and widened, keeping both operands at the same lane count.
+ *
+ * Grouped sums have no scatter-add instruction to map to. A masked pass per group
+ * costs about one sumOfProducts each, so it only beats the scalar scatter loop for
+ * two or three groups (measured with AggregationKernelsBenchmark on AVX-512);
+ * beyond that the scalar loop is used.
+ */
+public final class VectorAggregationKernels implements AggregationKernels {
+
+    private static final VectorSpecies<Long> LONGS = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Integer> INTS =
+        VectorSpecies.of(int.class, VectorShape.forBitSize(LONGS.vectorBitSize() / 2));
+
+    // Above this many groups the per-group masked passes cost more than scalar scatter
+    private static final int MAX_MASKED_GROUPS = 3;
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+
+    @Override
+    public long sum(long[] values, int length) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = 0;
+        int upper = LONGS.loopBound(length);
+        for (; i < upper; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, values, i));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long sumOfProducts(long[] values, int[] multipliers, int length) {
+        LongVector acc = LongVector.zero(LONGS);
+        int i = 0;
+        int upper = LONGS.loopBound(length);
+        for (; i < upper; i += LONGS.length()) {
+            acc = acc.add(LongVector.fromArray(LONGS, values, i).mul(widen(multipliers, i)));
+        }
+        long sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += values[i] * multipliers[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void groupedSumOfProducts(long[] values, int[] multipliers, int[] groups, long[] sums, int length) {
+        int groupCount = sums.length;
+        if (groupCount > MAX_MASKED_GROUPS) {
+            ScalarAggregationKernels.INSTANCE.groupedSumOfProducts(values, multipliers, groups, sums, length);
+            return;
+        }
+
+        // One pass per group keeps the accumulator in a register; the products are
+        // recomputed each pass because that is cheaper than spilling them to memory
+        int upper = LONGS.loopBound(length);
+        for (int g = 0; g < groupCount; g++) {
+            LongVector acc = LongVector.zero(LONGS);
+            for (int i = 0; i < upper; i += LONGS.length()) {
+                VectorMask<Long> inGroup = widen(groups, i).compare(VectorOperators.EQ, g);
+                acc = acc.add(LongVector.fromArray(LONGS, values, i).mul(widen(multipliers, i)), inGroup);
+            }
+            sums[g] += acc.reduceLanes(VectorOperators.ADD);
+        }
+        for (int i = upper; i < length; i++) {
+            sums[groups[i]] += values[i] * multipliers[i];
+        }
+    }
+
+    private static LongVector widen(int[] ints, int offset) {
+        return (LongVector) IntVector.fromArray(INTS, ints, offset).convertShape(VectorOperators.I2L, LONGS, 0);
+    }
+}
@@ -0,0 +1,37 @@
+package com.buildingchallenge.assignment1;
+
+/**
+ * BoundedQueue Interface
+ *
+ * Purpose: The blocking put/take contract Producer and Consumer rely on, so they
+ * work with any queue implementation: SharedQueue (FIFO) or PrioritySharedQueue.
+ *
+ * Thread Safety: Implementations must be safe for any number of producer and
+ * consumer threads.
+ *
+ * @param <T> Type of the items queued
+ */
+public interface BoundedQueue<T> {
+
+    /**
+     * Adds an item, blocking while the queue is full
+     * @param item The item to add
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    void put(T item) throws InterruptedException;
+
+    /**
+     * Removes an item, blocking while the queue is empty
+     * @return The item removed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    T take() throws InterruptedException;
+
+    int size();
+
+    boolean isEmpty();
+
+    boolean isFull();
+
+    int getCapacity();
+}
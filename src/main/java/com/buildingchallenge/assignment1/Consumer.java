@@ -9,20 +9,35 @@ import java.util.List;
  * and stores them in a destination container. This class demonstrates the consumer
  * role in the producer-consumer pattern.
  * 
+ * Instead of a destination list, a consumer can be given a handler that processes
+ * each item (e.g. parses it and passes the result to the next stage), and a poison
+ * pill that ends the run when taken from the queue.
+ * 
+ * @param <T> Type of the items consumed
  */
 
-public class Consumer implements Runnable {
+public class Consumer<T> implements Runnable {
     
-    private final SharedQueue<String> sharedQueue;
-    private final List<String> destinationContainer;
+    private final BoundedQueue<T> sharedQueue;
+    private final List<T> destinationContainer;
+    private final java.util.function.Consumer<? super T> itemHandler;
     private final String consumerName;
     
+    // End-of-stream marker (compared by identity); null when the consumer stops by count
+    private final T poisonPill;
+    
     // Maximum number of items this consumer should consume 0 means unlimited
     private final int maxItemsToConsume;
     
+    // Whether progress and errors are printed to the console
+    private final boolean verbose;
+    
     // Flag to control the consumer thread
     private volatile boolean isRunning = true;
     
+    // Error that ended the run early, if any
+    private volatile Exception failure;
+    
     /**
      * Initializes the consumer with destination container and shared queue
      * @param sharedQueue The thread-safe queue from where items will be consumed
@@ -31,7 +46,7 @@ public class Consumer implements Runnable {
      * @param maxItemsToConsume Maximum number of items to consume (0 for unlimited)
      */
 
-    public Consumer(SharedQueue<String> sharedQueue, List<String> destinationContainer, 
+    public Consumer(BoundedQueue<T> sharedQueue, List<T> destinationContainer, 
                    String consumerName, int maxItemsToConsume) {
 
         if (sharedQueue == null || destinationContainer == null) {
@@ -39,8 +54,68 @@ public class Consumer implements Runnable {
         }
         this.sharedQueue = sharedQueue;
         this.destinationContainer = destinationContainer;
+        this.itemHandler = null;
         this.consumerName = consumerName;
         this.maxItemsToConsume = maxItemsToConsume;
+        this.poisonPill = null;
+        this.verbose = true;
+    }
+    
+    /**
+     * Initializes the consumer with an item handler, running until the poison pill is taken
+     * @param sharedQueue The thread-safe queue from where items will be consumed
+     * @param itemHandler Callback invoked on this consumer's thread for every item
+     * @param consumerName Name identifier for this consumer
+     * @param poisonPill Item that ends the run when taken (compared by identity)
+     * @throws IllegalArgumentException if sharedQueue, itemHandler or poisonPill is null
+     */
+    public Consumer(BoundedQueue<T> sharedQueue, java.util.function.Consumer<? super T> itemHandler,
+                   String consumerName, T poisonPill) {
+        this(sharedQueue, itemHandler, consumerName, poisonPill, true);
+    }
+    
+    /**
+     * Initializes the consumer with an item handler and poison pill, optionally without console output
+     * @param sharedQueue The thread-safe queue from where items will be consumed
+     * @param itemHandler Callback invoked on this consumer's thread for every item
+     * @param consumerName Name identifier for this consumer
+     * @param poisonPill Item that ends the run when taken (compared by identity)
+     * @param verbose Whether start/finish/stop lines and errors are printed; a failure is kept for getFailure() either way
+     * @throws IllegalArgumentException if sharedQueue, itemHandler or poisonPill is null
+     */
+    public Consumer(BoundedQueue<T> sharedQueue, java.util.function.Consumer<? super T> itemHandler,
+                   String consumerName, T poisonPill, boolean verbose) {
+        if (sharedQueue == null || itemHandler == null || poisonPill == null) {
+            throw new IllegalArgumentException("SharedQueue, itemHandler and poisonPill cannot be null");
+        }
+        this.sharedQueue = sharedQueue;
+        this.destinationContainer = null;
+        this.itemHandler = itemHandler;
+        this.consumerName = consumerName;
+        this.maxItemsToConsume = 0;
+        this.poisonPill = poisonPill;
+        this.verbose = verbose;
+    }
+    
+    /**
+     * Initializes the consumer with an item handler, running until stop() or an interrupt
+     * @param sharedQueue The thread-safe queue from where items will be consumed
+     * @param itemHandler Callback invoked on this consumer's thread for every item
+     * @param consumerName Name identifier for this consumer
+     * @throws IllegalArgumentException if sharedQueue or itemHandler is null
+     */
+    public Consumer(BoundedQueue<T> sharedQueue, java.util.function.Consumer<? super T> itemHandler,
+                   String consumerName) {
+        if (sharedQueue == null || itemHandler == null) {
+            throw new IllegalArgumentException("SharedQueue and itemHandler cannot be null");
+        }
+        this.sharedQueue = sharedQueue;
+        this.destinationContainer = null;
+        this.itemHandler = itemHandler;
+        this.consumerName = consumerName;
+        this.maxItemsToConsume = 0;
+        this.poisonPill = null;
+        this.verbose = true;
     }
     
     /** 
@@ -55,7 +130,9 @@ public class Consumer implements Runnable {
 
     @Override
     public void run() {
-        System.out.println("Consumer [" + consumerName + "] started");
+        if (verbose) {
+            System.out.println("Consumer [" + consumerName + "] started");
+        }
         
         int itemsConsumed = 0;
         
@@ -64,19 +141,33 @@ public class Consumer implements Runnable {
             while (isRunning && (maxItemsToConsume == 0 || itemsConsumed < maxItemsToConsume)) {
                 
                 // Attempt to retrieve item from queue (may block if queue is empty in the SharedQueue class)
-                String item = sharedQueue.take();
-                synchronized (destinationContainer) {
-                    destinationContainer.add(item);
+                T item = sharedQueue.take();
+                if (poisonPill != null && item == poisonPill) {
+                    break;
+                }
+                if (itemHandler != null) {
+                    itemHandler.accept(item);
+                } else {
+                    synchronized (destinationContainer) {
+                        destinationContainer.add(item);
+                    }
                 }
                 itemsConsumed++;
             }
-            System.out.println("Consumer [" + consumerName + "] finished consuming " + itemsConsumed + " items");
+            if (verbose) {
+                System.out.println("Consumer [" + consumerName + "] finished consuming " + itemsConsumed + " items");
+            }
         } catch (InterruptedException e) {
-            System.out.println("Consumer [" + consumerName + "] was interrupted");
+            if (verbose) {
+                System.out.println("Consumer [" + consumerName + "] was interrupted");
+            }
             Thread.currentThread().interrupt(); 
         } catch (Exception e) { // for other generic exceptions
-            System.err.println("Consumer [" + consumerName + "] encountered an error: " + e.getMessage());
-            e.printStackTrace();
+            failure = e;
+            if (verbose) {
+                System.err.println("Consumer [" + consumerName + "] encountered an error: " + e.getMessage());
+                e.printStackTrace();
+            }
         }
     }
     
@@ -88,15 +179,25 @@ public class Consumer implements Runnable {
 
     public void stop() {
         isRunning = false;
-        System.out.println("Consumer [" + consumerName + "] stop requested");
+        if (verbose) {
+            System.out.println("Consumer [" + consumerName + "] stop requested");
+        }
     }
       
     /**
      * Gets the destination container with consumed items
-     * @return List containing all consumed items
+     * @return List containing all consumed items, or null for a handler-based consumer
      */
 
-    public List<String> getDestinationContainer() {
+    public List<T> getDestinationContainer() {
         return destinationContainer;
     }
+    
+    /**
+     * Gets the error that ended the run early
+     * @return The exception thrown by the handler, or null if the run completed normally
+     */
+    public Exception getFailure() {
+        return failure;
+    }
 }
@@ -0,0 +1,353 @@
+package com.buildingchallenge.assignment1;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ConsumerAutoscaler Class
+ *
+ * Purpose: Supervisor that keeps the number of Consumer threads on a SharedQueue in
+ * line with the load. Every sample interval it reads the queue depth (and, when the
+ * queue records QueueMetrics, the p99 dwell time over that interval):
+ * - at or above the high watermark (or over the dwell target) the sample is "hot"
+ * - at or below the low watermark (and well under the dwell target) it is "cold"
+ * - anything in between resets both streaks
+ * One consumer is added after samplesToScaleUp hot samples in a row, and one is
+ * retired after samplesToScaleDown cold ones, always within [min, max]. The gap
+ * between the watermarks and the required streaks are the hysteresis that keeps
+ * the pool from flapping on a brief burst.
+ *
+ * A retired consumer is only asked to stop: it finishes the item it is processing
+ * (or, if idle, the next item it takes) and then exits, so no item is dropped and
+ * no running handler is interrupted. Consumers that die from a handler error are
+ * replaced on the next sample.
+ *
+ * Thread Safety: The supervisor thread and callers of the getters may run
+ * concurrently; scaling decisions are made under this object's lock.
+ *
+ * @param <T> Type of the items consumed
+ */
+public class ConsumerAutoscaler<T> {
+
+    private final SharedQueue<T> sharedQueue;
+    private final java.util.function.Consumer<? super T> itemHandler;
+    private final String name;
+    private final int minConsumers;
+    private final int maxConsumers;
+    private final long sampleIntervalMillis;
+    private final double highWatermark;
+    private final double lowWatermark;
+    private final int samplesToScaleUp;
+    private final int samplesToScaleDown;
+    // 0 when dwell time is not part of the decision
+    private final long maxDwellNanos;
+
+    // Guarded by this
+    private final List<Member> active = new ArrayList<>();
+    private final List<Member> retired = new ArrayList<>();
+    private int hotSamples;
+    private int coldSamples;
+    private int nextConsumerId;
+    private int scaleUps;
+    private int scaleDowns;
+    private LatencyHistogram.Snapshot lastDwell;
+    private Exception failure;
+
+    private volatile boolean running;
+    private Thread supervisor;
+
+    private ConsumerAutoscaler(Builder<T> builder) {
+        this.sharedQueue = builder.sharedQueue;
+        this.itemHandler = builder.itemHandler;
+        this.name = builder.name;
+        this.minConsumers = builder.minConsumers;
+        this.maxConsumers = builder.maxConsumers;
+        this.sampleIntervalMillis = builder.sampleInterval.toMillis();
+        this.highWatermark = builder.highWatermark;
+        this.lowWatermark = builder.lowWatermark;
+        this.samplesToScaleUp = builder.samplesToScaleUp;
+        this.samplesToScaleDown = builder.samplesToScaleDown;
+        this.maxDwellNanos = builder.maxDwell == null ? 0 : builder.maxDwell.toNanos();
+    }
+
+    /**
+     * @param sharedQueue Queue the consumers take from
+     * @param itemHandler Callback invoked on a consumer thread for every item
+     * @return Builder with the defaults described on Builder
+     * @throws IllegalArgumentException if sharedQueue or itemHandler is null
+     */
+    public static <T> Builder<T> builder(SharedQueue<T> sharedQueue, java.util.function.Consumer<? super T> itemHandler) {
+        return new Builder<>(sharedQueue, itemHandler);
+    }
+
+    /**
+     * Starts the minimum number of consumers and the supervisor thread
+     * @throws IllegalStateException if already started
+     */
+    public synchronized void start() {
+        if (running || supervisor != null) {
+            throw new IllegalStateException("Autoscaler [" + name + "] already started");
+        }
+        running = true;
+        lastDwell = dwellSnapshot();
+        while (active.size() < minConsumers) {
+            addConsumer();
+        }
+        supervisor = new Thread(this::supervise, name + "-supervisor");
+        supervisor.setDaemon(true);
+        supervisor.start();
+    }
+
+    /**
+     * Stops the supervisor and every consumer, interrupting those blocked on the queue,
+     * and waits for them to exit. Items still in the queue stay there.
+     * @param timeout Maximum time to wait for the threads
+     * @param unit Unit of timeout
+     * @return true if every thread exited in time
+     * @throws InterruptedException if the calling thread is interrupted while waiting
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        List<Thread> threads = new ArrayList<>();
+        synchronized (this) {
+            running = false;
+            if (supervisor != null) {
+                threads.add(supervisor);
+            }
+            for (Member member : active) {
+                threads.add(member.thread);
+            }
+            for (Member member : retired) {
+                threads.add(member.thread);
+            }
+            retired.addAll(active);
+            active.clear();
+        }
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread thread : threads) {
+            thread.interrupt();
+        }
+        for (Thread thread : threads) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining > 0) {
+                thread.join(remaining);
+            }
+            if (thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Takes one sample and scales if a streak is complete; called by the supervisor
+     * thread every sample interval.
+     */
+    synchronized void sample() {
+        if (!running) {
+            return;
+        }
+        replaceFailedConsumers();
+
+        double depth = (double) sharedQueue.size() / sharedQueue.getCapacity();
+        long dwellP99 = intervalDwellP99();
+        boolean hot = depth >= highWatermark || (maxDwellNanos > 0 && dwellP99 > maxDwellNanos);
+        boolean cold = depth <= lowWatermark && (maxDwellNanos == 0 || dwellP99 <= maxDwellNanos / 2);
+
+        hotSamples = hot ? hotSamples + 1 : 0;
+        coldSamples = cold ? coldSamples + 1 : 0;
+
+        if (hotSamples >= samplesToScaleUp && active.size() < maxConsumers) {
+            addConsumer();
+            scaleUps++;
+            hotSamples = 0;
+        } else if (coldSamples >= samplesToScaleDown && active.size() > minConsumers) {
+            Member member = active.remove(active.size() - 1);
+            member.consumer.stop();
+            retired.add(member);
+            scaleDowns++;
+            coldSamples = 0;
+        }
+        retired.removeIf(member -> !member.thread.isAlive());
+    }
+
+    /**
+     * @return Number of consumers currently taking from the queue (retiring ones excluded)
+     */
+    public synchronized int getConsumerCount() {
+        return active.size();
+    }
+
+    public synchronized int getScaleUpCount() {
+        return scaleUps;
+    }
+
+    public synchronized int getScaleDownCount() {
+        return scaleDowns;
+    }
+
+    /**
+     * @return First error that ended a consumer, or null if none has failed
+     */
+    public synchronized Exception getFailure() {
+        return failure;
+    }
+
+    private void supervise() {
+        try {
+            while (running) {
+                Thread.sleep(sampleIntervalMillis);
+                sample();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void addConsumer() {
+        Consumer<T> consumer = new Consumer<>(sharedQueue, itemHandler, name + "-" + nextConsumerId);
+        Thread thread = new Thread(consumer, name + "-" + nextConsumerId);
+        nextConsumerId++;
+        active.add(new Member(consumer, thread));
+        thread.start();
+    }
+
+    private void replaceFailedConsumers() {
+        for (Iterator<Member> it = active.iterator(); it.hasNext(); ) {
+            Member member = it.next();
+            if (!member.thread.isAlive()) {
+                if (failure == null) {
+                    failure = member.consumer.getFailure();
+                }
+                it.remove();
+            }
+        }
+        while (active.size() < minConsumers) {
+            addConsumer();
+        }
+    }
+
+    private LatencyHistogram.Snapshot dwellSnapshot() {
+        QueueMetrics metrics = sharedQueue.getMetrics();
+        return metrics == null ? null : metrics.getDwell().snapshot();
+    }
+
+    // Diffs against the previous sample, so the queue's histograms are never reset
+    private long intervalDwellP99() {
+        if (maxDwellNanos == 0 || lastDwell == null) {
+            return 0;
+        }
+        LatencyHistogram.Snapshot current = dwellSnapshot();
+        LatencyHistogram.Snapshot interval = current.since(lastDwell);
+        lastDwell = current;
+        return interval.getValueAtPercentile(99);
+    }
+
+    private static final class Member {
+        private final Consumer<?> consumer;
+        private final Thread thread;
+
+        Member(Consumer<?> consumer, Thread thread) {
+            this.consumer = consumer;
+            this.thread = thread;
+        }
+    }
+
+    /**
+     * Builder Class
+     *
+     * Defaults: 1 to 4 consumers, a sample every 100ms, watermarks at 75% and 25% of
+     * the queue capacity, 2 hot samples to scale up, 5 cold samples to scale down,
+     * no dwell target.
+     */
+    public static final class Builder<T> {
+        private final SharedQueue<T> sharedQueue;
+        private final java.util.function.Consumer<? super T> itemHandler;
+        private String name = "autoscaled-consumer";
+        private int minConsumers = 1;
+        private int maxConsumers = 4;
+        private Duration sampleInterval = Duration.ofMillis(100);
+        private double highWatermark = 0.75;
+        private double lowWatermark = 0.25;
+        private int samplesToScaleUp = 2;
+        private int samplesToScaleDown = 5;
+        private Duration maxDwell;
+
+        private Builder(SharedQueue<T> sharedQueue, java.util.function.Consumer<? super T> itemHandler) {
+            if (sharedQueue == null || itemHandler == null) {
+                throw new IllegalArgumentException("SharedQueue and itemHandler cannot be null");
+            }
+            this.sharedQueue = sharedQueue;
+            this.itemHandler = itemHandler;
+        }
+
+        public Builder<T> name(String name) {
+            this.name = name;
+            return this;
+        }
+
+        public Builder<T> consumers(int minConsumers, int maxConsumers) {
+            if (minConsumers < 1 || maxConsumers < minConsumers) {
+                throw new IllegalArgumentException("Consumer bounds must satisfy 1 <= min <= max");
+            }
+            this.minConsumers = minConsumers;
+            this.maxConsumers = maxConsumers;
+            return this;
+        }
+
+        public Builder<T> sampleInterval(Duration sampleInterval) {
+            if (sampleInterval == null || sampleInterval.toMillis() < 1) {
+                throw new IllegalArgumentException("Sample interval must be at least 1ms");
+            }
+            this.sampleInterval = sampleInterval;
+            return this;
+        }
+
+        /**
+         * @param lowWatermark Queue fill ratio at or below which a sample counts as cold
+         * @param highWatermark Queue fill ratio at or above which a sample counts as hot
+         */
+        public Builder<T> watermarks(double lowWatermark, double highWatermark) {
+            if (!(lowWatermark >= 0 && lowWatermark < highWatermark && highWatermark <= 1)) {
+                throw new IllegalArgumentException("Watermarks must satisfy 0 <= low < high <= 1");
+            }
+            this.lowWatermark = lowWatermark;
+            this.highWatermark = highWatermark;
+            return this;
+        }
+
+        /**
+         * @param samplesToScaleUp Consecutive hot samples before a consumer is added
+         * @param samplesToScaleDown Consecutive cold samples before a consumer is retired
+         */
+        public Builder<T> hysteresis(int samplesToScaleUp, int samplesToScaleDown) {
+            if (samplesToScaleUp < 1 || samplesToScaleDown < 1) {
+                throw new IllegalArgumentException("Sample counts must be at least 1");
+            }
+            this.samplesToScaleUp = samplesToScaleUp;
+            this.samplesToScaleDown = samplesToScaleDown;
+            return this;
+        }
+
+        /**
+         * Also scales up when the p99 dwell time over a sample interval exceeds this;
+         * needs a SharedQueue created with QueueMetrics
+         */
+        public Builder<T> maxDwell(Duration maxDwell) {
+            if (maxDwell == null || maxDwell.isNegative() || maxDwell.isZero()) {
+                throw new IllegalArgumentException("Max dwell must be positive");
+            }
+            if (sharedQueue.getMetrics() == null) {
+                throw new IllegalArgumentException("Max dwell needs a SharedQueue with QueueMetrics");
+            }
+            this.maxDwell = maxDwell;
+            return this;
+        }
+
+        public ConsumerAutoscaler<T> build() {
+            return new ConsumerAutoscaler<>(this);
+        }
+    }
+}
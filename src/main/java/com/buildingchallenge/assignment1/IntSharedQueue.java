@@ -0,0 +1,115 @@
+package com.buildingchallenge.assignment1;
+
+/**
+ * IntSharedQueue Class
+ * Purpose: A SharedQueue specialized for int items such as sequence numbers or record
+ * offsets. Items are stored in a fixed int[] ring buffer allocated once in the
+ * constructor, so put/take never box or allocate. Blocking behaviour matches
+ * SharedQueue: put waits while the queue is full, take waits while it is empty.
+ *
+ * Thread Safety: every method is synchronized on the queue, as in SharedQueue.
+ */
+public class IntSharedQueue {
+    private final int[] items;
+
+    // Index of the oldest item; the next free slot is (head + count) % capacity
+    private int head;
+    private int count;
+
+    // When false, put/take do not log every item (for high-volume data pipelines)
+    private final boolean verbose;
+
+    /**
+     * Constructor - Initializes the queue with a specified capacity, without logging
+     * @param maxCapacity Maximum number of items the queue can hold
+     * @throws IllegalArgumentException if maxCapacity is less than 1
+     */
+    public IntSharedQueue(int maxCapacity) {
+        this(maxCapacity, false);
+    }
+
+    /**
+     * Constructor - Initializes the queue with a specified capacity and logging mode
+     * @param maxCapacity Maximum number of items the queue can hold
+     * @param verbose Whether put/take print each item and every wait to the console
+     * @throws IllegalArgumentException if maxCapacity is less than 1
+     */
+    public IntSharedQueue(int maxCapacity, boolean verbose) {
+        if (maxCapacity < 1) {
+            throw new IllegalArgumentException("Queue capacity must be at least 1");
+        }
+        this.items = new int[maxCapacity];
+        this.verbose = verbose;
+    }
+
+    /**
+     * Adds an item to the queue. Blocks if the queue is full.
+     *
+     * The wait is in a while loop for the same reason as in SharedQueue.put: after
+     * notifyAll every woken producer must recheck that there is still space.
+     *
+     * @param item The item to be added to the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized void put(int item) throws InterruptedException {
+        while (count == items.length) {
+            if (verbose) {
+                System.out.println("Queue is full. Producer waiting...");
+            }
+            wait();
+        }
+
+        int tail = head + count;
+        items[tail < items.length ? tail : tail - items.length] = item;
+        count++;
+        if (verbose) {
+            System.out.println("Produced: " + item + " | Queue size: " + count);
+        }
+
+        // Notify any waiting consumer threads that an item is available
+        notifyAll();
+    }
+
+    /**
+     * Removes and returns the oldest item. Blocks if the queue is empty.
+     *
+     * @return The item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized int take() throws InterruptedException {
+        while (count == 0) {
+            if (verbose) {
+                System.out.println("Queue is empty. Consumer waiting...");
+            }
+            wait();
+        }
+
+        int item = items[head];
+        head = head + 1 < items.length ? head + 1 : 0;
+        count--;
+        if (verbose) {
+            System.out.println("Consumed: " + item + " | Queue size: " + count);
+        }
+
+        // Notify any waiting producer threads that space is available
+        notifyAll();
+
+        return item;
+    }
+
+    public synchronized int size() {
+        return count;
+    }
+
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    public synchronized boolean isFull() {
+        return count == items.length;
+    }
+
+    public int getCapacity() {
+        return items.length;
+    }
+}
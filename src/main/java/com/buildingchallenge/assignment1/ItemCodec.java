@@ -0,0 +1,35 @@
+package com.buildingchallenge.assignment1;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * ItemCodec Interface
+ *
+ * Purpose: Converts queue items to and from bytes for queues that keep items on
+ * disk. decode(encode(item)) must return an item equal to the original.
+ *
+ * @param <T> Type of the items queued
+ */
+public interface ItemCodec<T> {
+
+    byte[] encode(T item);
+
+    T decode(byte[] bytes);
+
+    /**
+     * @return Codec storing strings as UTF-8
+     */
+    static ItemCodec<String> utf8() {
+        return new ItemCodec<String>() {
+            @Override
+            public byte[] encode(String item) {
+                return item.getBytes(StandardCharsets.UTF_8);
+            }
+
+            @Override
+            public String decode(byte[] bytes) {
+                return new String(bytes, StandardCharsets.UTF_8);
+            }
+        };
+    }
+}
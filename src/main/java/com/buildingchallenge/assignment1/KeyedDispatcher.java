@@ -0,0 +1,183 @@
+package com.buildingchallenge.assignment1;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * KeyedDispatcher Class
+ *
+ * Purpose: Processes items in order per key but in parallel across keys. Items are
+ * routed by the hash of their key to one of N lanes; each lane is a SharedQueue
+ * drained by exactly one Consumer thread. All items of a key therefore pass through
+ * the same FIFO and the same thread, in the order they were dispatched, while
+ * items of keys on other lanes are processed at the same time.
+ *
+ * Per-key order is the order of the dispatch() calls, so items of one key should
+ * be dispatched by one thread (or otherwise in a known order).
+ *
+ * Thread Safety: dispatch() may be called from any number of threads. A handler
+ * error is recorded and the lane moves on to its next item, so one bad item does
+ * not stall every key that shares its lane.
+ *
+ * @param <T> Type of the items processed
+ */
+public class KeyedDispatcher<T> {
+
+    // Queued once per lane by shutdown(), after every dispatched item
+    private static final Object END_OF_LANE = new Object();
+
+    private final String name;
+    private final Function<? super T, ?> keyOf;
+    private final java.util.function.Consumer<? super T> itemHandler;
+    private final List<SharedQueue<Object>> lanes = new ArrayList<>();
+    private final List<Thread> laneThreads = new ArrayList<>();
+    private final LongAdder itemsProcessed = new LongAdder();
+
+    // Dispatchers hold the read lock while putting, so shutdown cannot slip its
+    // end-of-lane marker in front of an item that is being dispatched
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private boolean shutdown;
+
+    // First error thrown by the handler, if any
+    private volatile Exception failure;
+
+    /**
+     * Constructor - Creates the lanes and starts one consumer thread per lane
+     * @param laneCount Number of lanes, i.e. the maximum parallelism
+     * @param laneCapacity Maximum number of items queued per lane
+     * @param keyOf Extracts the ordering key of an item (e.g. the account id)
+     * @param itemHandler Callback invoked on the item's lane thread
+     * @param name Name prefix for the lane threads
+     * @throws IllegalArgumentException if laneCount or laneCapacity is less than 1, or keyOf or itemHandler is null
+     */
+    @SuppressWarnings("unchecked")
+    public KeyedDispatcher(int laneCount, int laneCapacity, Function<? super T, ?> keyOf,
+                           java.util.function.Consumer<? super T> itemHandler, String name) {
+        if (laneCount < 1 || laneCapacity < 1) {
+            throw new IllegalArgumentException("Lane count and lane capacity must be at least 1");
+        }
+        if (keyOf == null || itemHandler == null) {
+            throw new IllegalArgumentException("keyOf and itemHandler cannot be null");
+        }
+        this.name = name;
+        this.keyOf = keyOf;
+        this.itemHandler = itemHandler;
+        for (int i = 0; i < laneCount; i++) {
+            SharedQueue<Object> lane = new SharedQueue<>(laneCapacity, false);
+            Consumer<Object> consumer = new Consumer<>(lane, item -> process((T) item), name + "-lane-" + i, END_OF_LANE);
+            lanes.add(lane);
+            laneThreads.add(new Thread(consumer, name + "-lane-" + i));
+        }
+        for (Thread thread : laneThreads) {
+            thread.start();
+        }
+    }
+
+    /**
+     * Queues an item on its key's lane. Blocks while that lane is full.
+     * @param item The item to process
+     * @throws IllegalArgumentException if item is null
+     * @throws IllegalStateException if the dispatcher has been shut down
+     * @throws InterruptedException if the thread is interrupted while waiting for space
+     */
+    public void dispatch(T item) throws InterruptedException {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        SharedQueue<Object> lane = lanes.get(laneOf(keyOf.apply(item)));
+        shutdownLock.readLock().lock();
+        try {
+            if (shutdown) {
+                throw new IllegalStateException("Dispatcher [" + name + "] has been shut down");
+            }
+            lane.put(item);
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @param key Ordering key of an item
+     * @return Index of the lane that key is processed on
+     */
+    public int laneOf(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        // Spread the high bits so keys differing only there do not share a lane
+        return Math.floorMod(hash ^ (hash >>> 16), lanes.size());
+    }
+
+    /**
+     * Stops accepting items. Every lane finishes the items already dispatched, then its thread exits.
+     * @throws InterruptedException if the thread is interrupted while queuing the end-of-lane markers
+     */
+    public void shutdown() throws InterruptedException {
+        shutdownLock.writeLock().lock();
+        try {
+            if (shutdown) {
+                return;
+            }
+            shutdown = true;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        for (SharedQueue<Object> lane : lanes) {
+            lane.put(END_OF_LANE);
+        }
+    }
+
+    /**
+     * Waits for the lane threads to exit after shutdown()
+     * @param timeout Maximum time to wait
+     * @param unit Unit of timeout
+     * @return true if every lane finished, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread thread : laneThreads) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining > 0) {
+                thread.join(remaining);
+            }
+            if (thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getLaneCount() {
+        return lanes.size();
+    }
+
+    /**
+     * @return Items handled by all lanes so far, including ones whose handler threw
+     */
+    public long getItemsProcessed() {
+        return itemsProcessed.sum();
+    }
+
+    /**
+     * @return First exception thrown by the handler, or null if every item was handled normally
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    private void process(T item) {
+        try {
+            itemHandler.accept(item);
+        } catch (Exception e) {
+            if (failure == null) {
+                failure = e;
+            }
+            System.err.println("Dispatcher [" + name + "] handler failed: " + e.getMessage());
+        }
+        itemsProcessed.increment();
+    }
+}
@@ -0,0 +1,204 @@
+package com.buildingchallenge.assignment1;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * LatencyHistogram Class
+ *
+ * Purpose: Lock-free log-linear histogram of durations in nanoseconds, in the style
+ * of HdrHistogram. Values below 64 get a bucket each; above that every power of two
+ * is split into 32 linear sub-buckets, so any recorded value is reported within
+ * about 3% (1/32) of its true value across the whole long range, in a fixed table
+ * of under 2,000 counters.
+ *
+ * Thread Safety: record() is lock-free (one atomic increment per call) and may be
+ * called from any number of threads. snapshot() and reset() are safe to call at any
+ * time; a snapshot taken while threads are recording may miss their latest values.
+ */
+public class LatencyHistogram {
+
+    // 2^SUB_BUCKET_BITS linear sub-buckets per power of two
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    // Values below this are counted exactly, one bucket each
+    private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+    private static final int BUCKET_COUNT = LINEAR_LIMIT + (63 - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong totalCount = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    /**
+     * Records one duration
+     *
+     * @param nanos Duration in nanoseconds; negative values (clock skew) count as 0
+     */
+    public void record(long nanos) {
+        long value = Math.max(0, nanos);
+        counts.incrementAndGet(indexOf(value));
+        totalCount.incrementAndGet();
+        totalNanos.addAndGet(value);
+        if (value > maxNanos.get()) {
+            maxNanos.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    public long getCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Copies the current counts
+     *
+     * @return Immutable snapshot; recording continues unaffected
+     */
+    public Snapshot snapshot() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.get(i);
+            count += copy[i];
+        }
+        return new Snapshot(copy, count, totalNanos.get(), maxNanos.get());
+    }
+
+    /**
+     * Copies the current counts and starts over from zero, e.g. once per reporting interval
+     *
+     * Each bucket is taken with getAndSet, so a value recorded concurrently lands in
+     * either this snapshot or the next one, never in neither.
+     *
+     * @return Snapshot of everything recorded since the previous reset
+     */
+    public Snapshot snapshotAndReset() {
+        long[] copy = new long[BUCKET_COUNT];
+        long count = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            copy[i] = counts.getAndSet(i, 0);
+            count += copy[i];
+        }
+        totalCount.addAndGet(-count);
+        return new Snapshot(copy, count, totalNanos.getAndSet(0), maxNanos.getAndSet(0));
+    }
+
+    /**
+     * Discards everything recorded so far
+     */
+    public void reset() {
+        snapshotAndReset();
+    }
+
+    static int indexOf(long value) {
+        if (value < LINEAR_LIMIT) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        // value >>> shift is in [SUB_BUCKETS, 2 * SUB_BUCKETS)
+        return LINEAR_LIMIT + (shift - 1) * SUB_BUCKETS + (int) (value >>> shift) - SUB_BUCKETS;
+    }
+
+    // Largest value that falls in the bucket, so percentiles never understate latency
+    static long highestValueOf(int index) {
+        if (index < LINEAR_LIMIT) {
+            return index;
+        }
+        int shift = (index - LINEAR_LIMIT) / SUB_BUCKETS + 1;
+        long subBucket = (index - LINEAR_LIMIT) % SUB_BUCKETS + SUB_BUCKETS;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Snapshot Class
+     *
+     * Counts of a LatencyHistogram at one point in time, with percentile queries.
+     */
+    public static final class Snapshot {
+        private final long[] counts;
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+
+        private Snapshot(long[] counts, long count, long totalNanos, long maxNanos) {
+            this.counts = counts;
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return Largest recorded value, exact
+         */
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public double getMeanNanos() {
+            return count == 0 ? 0 : (double) totalNanos / count;
+        }
+
+        /**
+         * Returns what was recorded between an earlier snapshot of the same histogram and this one,
+         * so a reader can watch recent percentiles without resetting a histogram others also use
+         *
+         * @param earlier Snapshot taken before this one, with no reset in between
+         * @return Snapshot of the interval; its max is the bucket bound of the highest value seen
+         */
+        public Snapshot since(Snapshot earlier) {
+            long[] delta = new long[counts.length];
+            int highest = -1;
+            for (int i = 0; i < counts.length; i++) {
+                delta[i] = Math.max(0, counts[i] - earlier.counts[i]);
+                if (delta[i] > 0) {
+                    highest = i;
+                }
+            }
+            long intervalMax = highest < 0 ? 0 : Math.min(highestValueOf(highest), maxNanos);
+            return new Snapshot(delta, Math.max(0, count - earlier.count),
+                                Math.max(0, totalNanos - earlier.totalNanos), intervalMax);
+        }
+
+        /**
+         * Returns the value below which the given share of recorded values fall
+         *
+         * @param percentile 0 to 100, e.g. 99.9
+         * @return Upper bound of the bucket holding that rank (within ~3%), or 0 if empty
+         * @throws IllegalArgumentException if percentile is outside [0, 100]
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (!(percentile >= 0 && percentile <= 100)) {
+                throw new IllegalArgumentException("Percentile must be between 0 and 100");
+            }
+            if (count == 0) {
+                return 0;
+            }
+            long rank = Math.max(1, (long) Math.ceil(percentile / 100 * count));
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(highestValueOf(i), maxNanos);
+                }
+            }
+            return maxNanos;
+        }
+
+        /**
+         * @return One line with count, mean and p50/p90/p99/p99.9/max in microseconds
+         */
+        @Override
+        public String toString() {
+            return String.format("count=%d mean=%.1fus p50=%.1fus p90=%.1fus p99=%.1fus p99.9=%.1fus max=%.1fus",
+                count, getMeanNanos() / 1000, micros(50), micros(90), micros(99), micros(99.9), maxNanos / 1000.0);
+        }
+
+        private double micros(double percentile) {
+            return getValueAtPercentile(percentile) / 1000.0;
+        }
+    }
+}
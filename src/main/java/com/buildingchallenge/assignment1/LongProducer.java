@@ -0,0 +1,106 @@
+package com.buildingchallenge.assignment1;
+
+import java.util.PrimitiveIterator;
+
+/**
+ * LongProducer Class
+ *
+ * Purpose: Producer for a LongSharedQueue. Reads long items from a primitive iterator (e.g.
+ * LongStream.range(0, n).iterator()) and puts them on the queue without boxing, then
+ * queues a poison pill value once per downstream consumer.
+ *
+ * The poison pill is an ordinary long value, so pick one the source never produces
+ * (e.g. -1 for offsets).
+ */
+public class LongProducer implements Runnable {
+
+    private final LongSharedQueue sharedQueue;
+    private final PrimitiveIterator.OfLong source;
+    private final String producerName;
+    private final long poisonPill;
+    private final int poisonPillCount;
+
+    // Flag to control when the producer should stop producing
+    private volatile boolean isRunning = true;
+
+    // Error that ended the run early, if any
+    private volatile Exception failure;
+
+    /**
+     * Constructor - Initializes the producer with a source and an end-of-stream marker
+     *
+     * @param sharedQueue The queue where items will be placed
+     * @param source Iterator supplying the items to be produced
+     * @param producerName Name identifier for this producer
+     * @param poisonPill Value queued after the last item to stop consumers
+     * @param poisonPillCount How many times to queue the poison pill, normally one per consumer
+     * @throws IllegalArgumentException if sharedQueue or source is null, or poisonPillCount is negative
+     */
+    public LongProducer(LongSharedQueue sharedQueue, PrimitiveIterator.OfLong source, String producerName,
+               long poisonPill, int poisonPillCount) {
+        if (sharedQueue == null || source == null) {
+            throw new IllegalArgumentException("SharedQueue and source cannot be null");
+        }
+        if (poisonPillCount < 0) {
+            throw new IllegalArgumentException("Poison pill count cannot be negative");
+        }
+        this.sharedQueue = sharedQueue;
+        this.source = source;
+        this.producerName = producerName;
+        this.poisonPill = poisonPill;
+        this.poisonPillCount = poisonPillCount;
+    }
+
+    /**
+     * Puts every item of the source on the queue, then the poison pills
+     *
+     * As with Producer, poison pills are queued even if the source fails or stop() is
+     * called, but not after an interrupt.
+     */
+    @Override
+    public void run() {
+        System.out.println("Producer [" + producerName + "] started");
+
+        long itemCount = 0;
+        try {
+            while (isRunning && source.hasNext()) {
+                sharedQueue.put(source.nextLong());
+                itemCount++;
+            }
+            System.out.println("Producer [" + producerName + "] finished producing " + itemCount + " items");
+        } catch (InterruptedException e) {
+            System.out.println("Producer [" + producerName + "] was interrupted");
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            failure = e;
+            System.err.println("Producer [" + producerName + "] encountered an error: " + e.getMessage());
+            e.printStackTrace();
+        }
+
+        try {
+            for (int i = 0; i < poisonPillCount; i++) {
+                sharedQueue.put(poisonPill);
+            }
+        } catch (InterruptedException e) {
+            System.out.println("Producer [" + producerName + "] was interrupted");
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stops the producer after the item currently being queued
+     */
+    public void stop() {
+        isRunning = false;
+        System.out.println("Producer [" + producerName + "] stop requested");
+    }
+
+    /**
+     * Gets the error that ended the run early
+     * @return The exception thrown by the source, or null if the run completed normally
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+}
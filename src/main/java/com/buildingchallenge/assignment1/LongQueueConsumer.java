@@ -0,0 +1,99 @@
+package com.buildingchallenge.assignment1;
+
+import java.util.function.LongConsumer;
+
+/**
+ * LongQueueConsumer Class
+ *
+ * Purpose: Consumer for a LongSharedQueue. Takes long items and hands each to a
+ * LongConsumer without boxing, until the poison pill value is taken.
+ */
+public class LongQueueConsumer implements Runnable {
+
+    private final LongSharedQueue sharedQueue;
+    private final LongConsumer itemHandler;
+    private final String consumerName;
+    private final long poisonPill;
+
+    // Flag to control the consumer thread
+    private volatile boolean isRunning = true;
+
+    // Error that ended the run early, if any
+    private volatile Exception failure;
+
+    // Items handled so far; written only by the consumer thread
+    private volatile long itemsConsumed;
+
+    /**
+     * Constructor - Initializes the consumer with an item handler
+     *
+     * @param sharedQueue The queue from where items will be consumed
+     * @param itemHandler Callback invoked on this consumer's thread for every item
+     * @param consumerName Name identifier for this consumer
+     * @param poisonPill Value that ends the run when taken
+     * @throws IllegalArgumentException if sharedQueue or itemHandler is null
+     */
+    public LongQueueConsumer(LongSharedQueue sharedQueue, LongConsumer itemHandler,
+               String consumerName, long poisonPill) {
+        if (sharedQueue == null || itemHandler == null) {
+            throw new IllegalArgumentException("SharedQueue and itemHandler cannot be null");
+        }
+        this.sharedQueue = sharedQueue;
+        this.itemHandler = itemHandler;
+        this.consumerName = consumerName;
+        this.poisonPill = poisonPill;
+    }
+
+    /**
+     * Takes items and passes them to the handler until the poison pill arrives
+     */
+    @Override
+    public void run() {
+        System.out.println("Consumer [" + consumerName + "] started");
+
+        long consumed = 0;
+        try {
+            while (isRunning) {
+                long item = sharedQueue.take();
+                if (item == poisonPill) {
+                    break;
+                }
+                itemHandler.accept(item);
+                consumed++;
+            }
+            System.out.println("Consumer [" + consumerName + "] finished consuming " + consumed + " items");
+        } catch (InterruptedException e) {
+            System.out.println("Consumer [" + consumerName + "] was interrupted");
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            failure = e;
+            System.err.println("Consumer [" + consumerName + "] encountered an error: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            itemsConsumed = consumed;
+        }
+    }
+
+    /**
+     * Stops the consumer after the item currently being handled
+     */
+    public void stop() {
+        isRunning = false;
+        System.out.println("Consumer [" + consumerName + "] stop requested");
+    }
+
+    /**
+     * @return Number of items handled, once the run has ended
+     */
+    public long getItemsConsumed() {
+        return itemsConsumed;
+    }
+
+    /**
+     * Gets the error that ended the run early
+     * @return The exception thrown by the handler, or null if the run completed normally
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+}
@@ -0,0 +1,264 @@
+package com.buildingchallenge.assignment1;
+
+import java.util.ArrayDeque;
+import java.util.function.ToIntFunction;
+
+/**
+ * PrioritySharedQueue Class
+ *
+ * Purpose: Bounded blocking queue that lets urgent items overtake bulk ones. Items
+ * go into one FIFO bucket per priority level (0 is the most urgent) and take()
+ * serves the most urgent non-empty bucket, so both operations are O(levels), i.e.
+ * constant, instead of O(log n) for a heap. Items of equal priority stay in FIFO order.
+ *
+ * Starvation protection: each time take() passes over a non-empty bucket, that
+ * bucket's skip count goes up. A bucket that has been passed over agingThreshold
+ * times is served next, so under a steady stream of urgent items a bulk item still
+ * gets through at least once every agingThreshold + 1 takes.
+ *
+ * Backpressure: urgentReserve slots of the capacity can only be filled by level 0,
+ * so when bulk producers have filled the queue an urgent put does not block.
+ *
+ * Poison pills: a queue constructed with a poison pill recognises it by identity in
+ * put(), never passes it to the priority function, and keeps it outside the priority
+ * levels. take() returns a pill only once every level is empty, so a Consumer that
+ * stops on the pill has drained all items queued before it (and any urgent ones
+ * queued after it). Pills use the bulk capacity, like any item above level 0.
+ *
+ * Thread Safety: put/take synchronize on this queue and wait/notify like
+ * SharedQueue's BLOCKING strategy.
+ *
+ * @param <T> Type of the items queued
+ */
+public class PrioritySharedQueue<T> implements BoundedQueue<T> {
+
+    private final int maxCapacity;
+    private final int urgentReserve;
+    private final int agingThreshold;
+    private final ToIntFunction<? super T> priorityOf;
+    private final T poisonPill;
+
+    // Guarded by this
+    private final ArrayDeque<T>[] buckets;
+    private final int[] skips;
+    // Queued poison pills; count includes them
+    private int pills;
+    private int count;
+    private int waitingThreads;
+
+    /**
+     * Constructor - Priority queue with aging after 16 skips and no urgent reserve
+     * @param maxCapacity Maximum number of items the queue can hold
+     * @param levels Number of priority levels
+     * @param priorityOf Level of an item passed to put(T), from 0 (most urgent) to levels - 1
+     * @throws IllegalArgumentException if maxCapacity or levels is less than 1, or priorityOf is null
+     */
+    public PrioritySharedQueue(int maxCapacity, int levels, ToIntFunction<? super T> priorityOf) {
+        this(maxCapacity, levels, priorityOf, 16, 0);
+    }
+
+    /**
+     * Constructor - Priority queue with explicit aging and urgent reserve
+     * @param maxCapacity Maximum number of items the queue can hold
+     * @param levels Number of priority levels
+     * @param priorityOf Level of an item passed to put(T), from 0 (most urgent) to levels - 1
+     * @param agingThreshold Times a non-empty level may be passed over before it is served
+     * @param urgentReserve Slots only level 0 may use, less than maxCapacity
+     * @throws IllegalArgumentException if any argument is out of range or priorityOf is null
+     */
+    public PrioritySharedQueue(int maxCapacity, int levels, ToIntFunction<? super T> priorityOf,
+                               int agingThreshold, int urgentReserve) {
+        this(maxCapacity, levels, priorityOf, agingThreshold, urgentReserve, null);
+    }
+
+    /**
+     * Constructor - Priority queue with explicit aging and urgent reserve that delivers
+     * poison pills only after every level has drained
+     * @param maxCapacity Maximum number of items the queue can hold
+     * @param levels Number of priority levels
+     * @param priorityOf Level of an item passed to put(T), from 0 (most urgent) to levels - 1;
+     *                   never called with the poison pill
+     * @param agingThreshold Times a non-empty level may be passed over before it is served
+     * @param urgentReserve Slots only level 0 may use, less than maxCapacity
+     * @param poisonPill Shutdown signal compared by identity, or null for none
+     * @throws IllegalArgumentException if any argument is out of range or priorityOf is null
+     */
+    @SuppressWarnings("unchecked")
+    public PrioritySharedQueue(int maxCapacity, int levels, ToIntFunction<? super T> priorityOf,
+                               int agingThreshold, int urgentReserve, T poisonPill) {
+        if (maxCapacity < 1 || levels < 1) {
+            throw new IllegalArgumentException("Queue capacity and levels must be at least 1");
+        }
+        if (priorityOf == null) {
+            throw new IllegalArgumentException("Priority function cannot be null");
+        }
+        if (agingThreshold < 1) {
+            throw new IllegalArgumentException("Aging threshold must be at least 1");
+        }
+        if (urgentReserve < 0 || urgentReserve >= maxCapacity) {
+            throw new IllegalArgumentException("Urgent reserve must be between 0 and capacity - 1");
+        }
+        this.maxCapacity = maxCapacity;
+        this.urgentReserve = urgentReserve;
+        this.agingThreshold = agingThreshold;
+        this.priorityOf = priorityOf;
+        this.poisonPill = poisonPill;
+        this.buckets = new ArrayDeque[levels];
+        this.skips = new int[levels];
+        for (int i = 0; i < levels; i++) {
+            buckets[i] = new ArrayDeque<>();
+        }
+    }
+
+    /**
+     * Adds an item at the level given by the priority function. Blocks while its level has no room.
+     * The poison pill skips the priority function and is queued behind every level.
+     * @param item The item to be added to the queue
+     * @throws IllegalArgumentException if the priority function returns an unknown level
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        if (isPoisonPill(item)) {
+            putPoisonPill();
+            return;
+        }
+        put(item, priorityOf.applyAsInt(item));
+    }
+
+    /**
+     * Adds an item at an explicit level. Blocks while its level has no room.
+     * The poison pill ignores the level and is queued behind every level.
+     * @param item The item to be added to the queue
+     * @param priority 0 (most urgent) to levels - 1
+     * @throws IllegalArgumentException if priority is not a valid level
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public synchronized void put(T item, int priority) throws InterruptedException {
+        if (isPoisonPill(item)) {
+            putPoisonPill();
+            return;
+        }
+        if (priority < 0 || priority >= buckets.length) {
+            throw new IllegalArgumentException("Priority must be between 0 and " + (buckets.length - 1) + ": " + priority);
+        }
+        int limit = priority == 0 ? maxCapacity : maxCapacity - urgentReserve;
+        // WHILE, not IF: another producer may have filled the slot before this one woke up
+        while (count >= limit) {
+            waitForChange();
+        }
+        buckets[priority].addLast(item);
+        count++;
+        if (waitingThreads > 0) {
+            notifyAll();
+        }
+    }
+
+    private boolean isPoisonPill(T item) {
+        return poisonPill != null && item == poisonPill;
+    }
+
+    private synchronized void putPoisonPill() throws InterruptedException {
+        while (count >= maxCapacity - urgentReserve) {
+            waitForChange();
+        }
+        pills++;
+        count++;
+        if (waitingThreads > 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Removes the oldest item of the most urgent level, unless a less urgent level is due by aging.
+     * Returns a queued poison pill only when every level is empty.
+     * @return The item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public synchronized T take() throws InterruptedException {
+        while (count == 0) {
+            waitForChange();
+        }
+        int level = nextLevel();
+        if (level < 0) {
+            pills--;
+            count--;
+            if (waitingThreads > 0) {
+                notifyAll();
+            }
+            return poisonPill;
+        }
+        T item = buckets[level].pollFirst();
+        for (int i = 0; i < buckets.length; i++) {
+            if (i == level) {
+                skips[i] = 0;
+            } else if (!buckets[i].isEmpty()) {
+                skips[i]++;
+            }
+        }
+        count--;
+        if (waitingThreads > 0) {
+            notifyAll();
+        }
+        return item;
+    }
+
+    // Most urgent level that is due by aging, else the most urgent non-empty level
+    private int nextLevel() {
+        int first = -1;
+        for (int i = 0; i < buckets.length; i++) {
+            if (buckets[i].isEmpty()) {
+                continue;
+            }
+            if (skips[i] >= agingThreshold) {
+                return i;
+            }
+            if (first < 0) {
+                first = i;
+            }
+        }
+        return first;
+    }
+
+    private void waitForChange() throws InterruptedException {
+        waitingThreads++;
+        try {
+            wait();
+        } finally {
+            waitingThreads--;
+        }
+    }
+
+    /**
+     * @param priority Level to count
+     * @return Number of items queued at that level
+     */
+    public synchronized int size(int priority) {
+        return buckets[priority].size();
+    }
+
+    public int getLevels() {
+        return buckets.length;
+    }
+
+    @Override
+    public int getCapacity() {
+        return maxCapacity;
+    }
+
+    @Override
+    public synchronized int size() {
+        return count;
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return count == 0;
+    }
+
+    @Override
+    public synchronized boolean isFull() {
+        return count >= maxCapacity;
+    }
+}
@@ -1,5 +1,6 @@
 package com.buildingchallenge.assignment1;
 
+import java.util.Iterator;
 import java.util.List;
 
 /**
@@ -8,15 +9,32 @@ import java.util.List;
  * Purpose: Represents a producer thread that reads items from a source container
  * and places them into a shared queue. This class demonstrates the producer role
  * in the producer-consumer pattern.
+ *
+ * The source can also be an Iterator, so items can be generated lazily (e.g. blocks
+ * of lines read from a file) instead of being held in a list. An optional poison pill
+ * is queued once per downstream consumer after the last item, telling them to stop.
+ *
+ * @param <T> Type of the items produced
  */
-public class Producer implements Runnable {
+public class Producer<T> implements Runnable {
     
-    private final SharedQueue<String> sharedQueue;
-    private final List<String> sourceContainer;
+    private final BoundedQueue<T> sharedQueue;
+    private final List<T> sourceContainer;
+    private final Iterator<? extends T> source;
     private final String producerName;
+
+    // End-of-stream marker queued poisonPillCount times once the source is exhausted
+    private final T poisonPill;
+    private final int poisonPillCount;
+
+    // Whether progress and errors are printed to the console
+    private final boolean verbose;
     
     // Flag to control when the producer should stop producing
     private volatile boolean isRunning = true;
+
+    // Error that ended the run early, if any
+    private volatile Exception failure;
     
     /**
      * Constructor - Initializes the producer with source data and shared queue
@@ -26,50 +44,114 @@ public class Producer implements Runnable {
      * @param producerName Name identifier for this producer
      */
 
-    public Producer(SharedQueue<String> sharedQueue, List<String> sourceContainer, String producerName) {
+    public Producer(BoundedQueue<T> sharedQueue, List<T> sourceContainer, String producerName) {
         if (sharedQueue == null || sourceContainer == null) {
             throw new IllegalArgumentException("SharedQueue and sourceContainer cannot be null");
         }
         this.sharedQueue = sharedQueue;
         this.sourceContainer = sourceContainer;
+        this.source = null;
+        this.producerName = producerName;
+        this.poisonPill = null;
+        this.poisonPillCount = 0;
+        this.verbose = true;
+    }
+
+    /**
+     * Constructor - Initializes the producer with a lazy source and an end-of-stream marker
+     *
+     * @param sharedQueue The thread-safe queue where items will be placed
+     * @param source Iterator supplying the items to be produced
+     * @param producerName Name identifier for this producer
+     * @param poisonPill Item queued after the last one to stop consumers (compared by identity)
+     * @param poisonPillCount How many times to queue the poison pill, normally one per consumer
+     * @throws IllegalArgumentException if sharedQueue, source or poisonPill is null, or poisonPillCount is negative
+     */
+    public Producer(BoundedQueue<T> sharedQueue, Iterator<? extends T> source, String producerName,
+                    T poisonPill, int poisonPillCount) {
+        this(sharedQueue, source, producerName, poisonPill, poisonPillCount, true);
+    }
+
+    /**
+     * Constructor - Lazy source and end-of-stream marker, optionally without console output
+     *
+     * @param sharedQueue The thread-safe queue where items will be placed
+     * @param source Iterator supplying the items to be produced
+     * @param producerName Name identifier for this producer
+     * @param poisonPill Item queued after the last one to stop consumers (compared by identity)
+     * @param poisonPillCount How many times to queue the poison pill, normally one per consumer
+     * @param verbose Whether start/finish/stop lines and errors are printed; a failure is kept for getFailure() either way
+     * @throws IllegalArgumentException if sharedQueue, source or poisonPill is null, or poisonPillCount is negative
+     */
+    public Producer(BoundedQueue<T> sharedQueue, Iterator<? extends T> source, String producerName,
+                    T poisonPill, int poisonPillCount, boolean verbose) {
+        if (sharedQueue == null || source == null || poisonPill == null) {
+            throw new IllegalArgumentException("SharedQueue, source and poisonPill cannot be null");
+        }
+        if (poisonPillCount < 0) {
+            throw new IllegalArgumentException("Poison pill count cannot be negative");
+        }
+        this.sharedQueue = sharedQueue;
+        this.sourceContainer = null;
+        this.source = source;
         this.producerName = producerName;
+        this.poisonPill = poisonPill;
+        this.poisonPillCount = poisonPillCount;
+        this.verbose = verbose;
     }
     
     /** 
      * This method iterates through the source container and places each item
      * into the shared queue. If the queue is full, it will block until space
      * becomes available.
+     *
+     * Poison pills are queued even if the source fails or stop() is called, so the
+     * consumers never wait forever for items that will not come.
      * 
      * Thread Safety Precautions: Uses the thread-safe SharedQueue.put() method which handles
      * synchronization internally.
      */
     @Override
     public void run() {
-        System.out.println("Producer [" + producerName + "] started");
+        if (verbose) {
+            System.out.println("Producer [" + producerName + "] started");
+        }
         
         int itemIndex = 0;
+        // A list source is read from its state when the thread starts
+        Iterator<? extends T> items = sourceContainer != null ? sourceContainer.iterator() : source;
         
         try {
             // Continue producing items while running and items are available in the source container
-            while (isRunning && itemIndex < sourceContainer.size()) {
-                String item = sourceContainer.get(itemIndex);
+            while (isRunning && items.hasNext()) {
+                T item = items.next();
                 
                 // Attempt to place item in queue (may block if queue is full in the SharedQueue class)
                 sharedQueue.put(item);
                 itemIndex++;
             }
             
-            System.out.println("Producer [" + producerName + "] finished producing " + itemIndex + " items");
+            if (verbose) {
+                System.out.println("Producer [" + producerName + "] finished producing " + itemIndex + " items");
+            }
             
         } catch (InterruptedException e) {
             // Handle thread interruption gracefully
-            System.out.println("Producer [" + producerName + "] was interrupted");
+            if (verbose) {
+                System.out.println("Producer [" + producerName + "] was interrupted");
+            }
             Thread.currentThread().interrupt(); // Restore interrupt status
+            return;
         } catch (Exception e) {
             // Handle any other exceptions
-            System.err.println("Producer [" + producerName + "] encountered an error: " + e.getMessage());
-            e.printStackTrace();
+            failure = e;
+            if (verbose) {
+                System.err.println("Producer [" + producerName + "] encountered an error: " + e.getMessage());
+                e.printStackTrace();
+            }
         }
+
+        sendPoisonPills();
     }
     
     /**
@@ -80,6 +162,29 @@ public class Producer implements Runnable {
      */
     public void stop() {
         isRunning = false;
-        System.out.println("Producer [" + producerName + "] stop requested");
+        if (verbose) {
+            System.out.println("Producer [" + producerName + "] stop requested");
+        }
+    }
+
+    /**
+     * Gets the error that ended the run early
+     * @return The exception thrown by the source or queue, or null if the run completed normally
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    private void sendPoisonPills() {
+        try {
+            for (int i = 0; i < poisonPillCount; i++) {
+                sharedQueue.put(poisonPill);
+            }
+        } catch (InterruptedException e) {
+            if (verbose) {
+                System.out.println("Producer [" + producerName + "] was interrupted");
+            }
+            Thread.currentThread().interrupt();
+        }
     }
 }
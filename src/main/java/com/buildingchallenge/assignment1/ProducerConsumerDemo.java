@@ -25,7 +25,7 @@ public class ProducerConsumerDemo {
      * 3. Creates destination container for consumed items
      * 4. Starts producer and consumer threads
      * 5. Waits for threads to complete
-     * 6. Validates the results
+     * 6. Validates the results and prints queue latency percentiles
      */
     public static void main(String[] args) {
 
@@ -33,8 +33,10 @@ public class ProducerConsumerDemo {
         System.out.println("Producer-Consumer Pattern Demo");
         System.out.println("========================================\n");
         
-        // Step 1: Create shared queue with bounded capacity
-        SharedQueue<String> sharedQueue = new SharedQueue<>(DEFAULT_QUEUE_CAPACITY);
+        // Step 1: Create shared queue with bounded capacity and latency metrics
+        QueueMetrics metrics = new QueueMetrics();
+        SharedQueue<String> sharedQueue = new SharedQueue<>(DEFAULT_QUEUE_CAPACITY, true,
+                                                            WaitStrategy.BLOCKING, metrics);
         
         // Step 2: Prepare source data (items to be produced)
         List<String> sourceContainer = new ArrayList<>(Arrays.asList(
@@ -48,8 +50,8 @@ public class ProducerConsumerDemo {
         List<String> destinationContainer = new ArrayList<>();
         
         // Step 4: Create producer and consumer instances
-        Producer producer = new Producer(sharedQueue, sourceContainer, "Producer-1");
-        Consumer consumer = new Consumer(sharedQueue, destinationContainer, "Consumer-1", 
+        Producer<String> producer = new Producer<>(sharedQueue, sourceContainer, "Producer-1");
+        Consumer<String> consumer = new Consumer<>(sharedQueue, destinationContainer, "Consumer-1", 
                                         sourceContainer.size());
         
         // Step 5: Create and start threads
@@ -73,6 +75,9 @@ public class ProducerConsumerDemo {
             
             // Step 7: Validate results
             validateResults(sourceContainer, destinationContainer);
+
+            System.out.println("\nQueue latency:");
+            System.out.println(metrics);
             
         } catch (InterruptedException e) {
             System.err.println("Main thread was interrupted: " + e.getMessage());
@@ -0,0 +1,52 @@
+package com.buildingchallenge.assignment1;
+
+/**
+ * QueueMetrics Class
+ *
+ * Purpose: Latency histograms a SharedQueue fills in when metrics are enabled:
+ * - dwell: time an item spent in the queue, from the end of put to the end of take
+ * - putBlock: time put spent waiting for space, from the call to the insert
+ * - takeBlock: time take spent waiting for an item, from the call to the removal
+ *
+ * One instance may be shared by several queues to get combined figures.
+ *
+ * Thread Safety: All histograms are lock-free; snapshots may be taken while the
+ * queue is in use.
+ */
+public class QueueMetrics {
+
+    private final LatencyHistogram dwell = new LatencyHistogram();
+    private final LatencyHistogram putBlock = new LatencyHistogram();
+    private final LatencyHistogram takeBlock = new LatencyHistogram();
+
+    public LatencyHistogram getDwell() {
+        return dwell;
+    }
+
+    public LatencyHistogram getPutBlock() {
+        return putBlock;
+    }
+
+    public LatencyHistogram getTakeBlock() {
+        return takeBlock;
+    }
+
+    /**
+     * Clears all three histograms, e.g. after a warm-up phase
+     */
+    public void reset() {
+        dwell.reset();
+        putBlock.reset();
+        takeBlock.reset();
+    }
+
+    /**
+     * @return One line per histogram with its percentiles
+     */
+    @Override
+    public String toString() {
+        return "dwell:      " + dwell.snapshot() + System.lineSeparator()
+            + "put block:  " + putBlock.snapshot() + System.lineSeparator()
+            + "take block: " + takeBlock.snapshot();
+    }
+}
@@ -8,25 +8,101 @@ import java.util.Queue;
  * Purpose: Implements a thread-safe blocking queue for the producer-consumer pattern.
  * This class provides synchronization mechanisms to ensure safe concurrent access
  * to a shared data structure between producer and consumer threads.
+ *
+ * A WaitStrategy chooses how put/take wait for space or items: BLOCKING (the
+ * default) waits on the monitor; the spinning strategies first poll the queue size
+ * outside the lock, so a hand-off that completes within nanoseconds is picked up
+ * without a wait/notify round trip.
+ *
+ * With QueueMetrics attached, each item's enqueue time is kept in a ring parallel
+ * to the queue, and take records how long the item waited in the queue alongside
+ * how long put and take themselves were blocked.
  */
 
-public class SharedQueue<T> {
+public class SharedQueue<T> implements BoundedQueue<T> {
     private final int maxCapacity;
     
     // Local queue to store items in the SharedQueue class
     private final Queue<T> queue;
     
+    // When false, put/take do not log every item (for high-volume data pipelines)
+    private final boolean verbose;
+
+    private final WaitStrategy waitStrategy;
+
+    // Copy of queue.size(), written under the lock, read without it while spinning
+    private volatile int count;
+
+    // Threads inside wait(); notifyAll is skipped when there are none. Guarded by this
+    private int waitingThreads;
+
+    // Current SPIN_THEN_PARK spin budget; racy updates only make it less adaptive
+    private int spinLimit = INITIAL_SPINS;
+
+    // Optional latency histograms; null when metrics are off
+    private final QueueMetrics metrics;
+
+    // Enqueue time of each queued item, oldest at timeHead. Guarded by this
+    private final long[] enqueueTimes;
+    private int timeHead;
+
+    private static final int MIN_SPINS = 64;
+    private static final int INITIAL_SPINS = 1024;
+    private static final int MAX_SPINS = 1 << 16;
+    // SPIN_THEN_YIELD spins this many times before it starts yielding
+    private static final int SPINS_BEFORE_YIELD = 256;
+    
     /**
      * Constructor - Initializes the shared queue with a specified capacity
      * @param maxCapacity Maximum number of items the queue can hold
      * @throws IllegalArgumentException if maxCapacity is less than 1
      */
     public SharedQueue(int maxCapacity) {
+        this(maxCapacity, true);
+    }
+    
+    /**
+     * Constructor - Initializes the shared queue with a specified capacity and logging mode
+     * @param maxCapacity Maximum number of items the queue can hold
+     * @param verbose Whether put/take print each item and every wait to the console
+     * @throws IllegalArgumentException if maxCapacity is less than 1
+     */
+    public SharedQueue(int maxCapacity, boolean verbose) {
+        this(maxCapacity, verbose, WaitStrategy.BLOCKING);
+    }
+
+    /**
+     * Constructor - Initializes the shared queue with a capacity, logging mode and wait strategy
+     * @param maxCapacity Maximum number of items the queue can hold
+     * @param verbose Whether put/take print each item and every wait to the console
+     * @param waitStrategy How put/take wait while the queue is full/empty
+     * @throws IllegalArgumentException if maxCapacity is less than 1 or waitStrategy is null
+     */
+    public SharedQueue(int maxCapacity, boolean verbose, WaitStrategy waitStrategy) {
+        this(maxCapacity, verbose, waitStrategy, null);
+    }
+
+    /**
+     * Constructor - Initializes the shared queue with latency metrics
+     * @param maxCapacity Maximum number of items the queue can hold
+     * @param verbose Whether put/take print each item and every wait to the console
+     * @param waitStrategy How put/take wait while the queue is full/empty
+     * @param metrics Histograms to record dwell and blocking times into, or null for none
+     * @throws IllegalArgumentException if maxCapacity is less than 1 or waitStrategy is null
+     */
+    public SharedQueue(int maxCapacity, boolean verbose, WaitStrategy waitStrategy, QueueMetrics metrics) {
         if (maxCapacity < 1) {
             throw new IllegalArgumentException("Queue capacity must be at least 1");
         }
+        if (waitStrategy == null) {
+            throw new IllegalArgumentException("Wait strategy cannot be null");
+        }
         this.maxCapacity = maxCapacity;
         this.queue = new LinkedList<>();
+        this.verbose = verbose;
+        this.waitStrategy = waitStrategy;
+        this.metrics = metrics;
+        this.enqueueTimes = metrics == null ? null : new long[maxCapacity];
     }
     
     /**
@@ -34,11 +110,28 @@ public class SharedQueue<T> {
      * 
      * Thread Safety: This method uses synchronized block to ensure atomic operations.
      * If queue is full, the thread waits until space becomes available.
+     * With a spinning wait strategy it first spins outside the lock.
      * 
      * @param item The item to be added to the queue
      * @throws InterruptedException if the thread is interrupted while waiting
      */
-    public synchronized void put(T item) throws InterruptedException {
+    @Override
+    public void put(T item) throws InterruptedException {
+        long startNanos = metrics == null ? 0 : System.nanoTime();
+        while (true) {
+            boolean mayWait = waitStrategy == WaitStrategy.BLOCKING || !spin(true);
+            synchronized (this) {
+                // A spinner that lost the race to another producer goes back to spinning
+                if (mayWait || queue.size() < maxCapacity) {
+                    putLocked(item, startNanos);
+                    return;
+                }
+            }
+        }
+    }
+
+    // Caller must hold the monitor
+    private void putLocked(T item, long startNanos) throws InterruptedException {
         /**
          *  We use WHILE loop, NOT IF statement!!!
          * Scenario: Multiple producers waiting, one consumer removes item
@@ -54,16 +147,33 @@ public class SharedQueue<T> {
          */
 
         while (queue.size() >= maxCapacity) {
-            System.out.println("Queue is full. Producer waiting...");
-            wait(); 
+            if (verbose) {
+                System.out.println("Queue is full. Producer waiting...");
+            }
+            waitingThreads++;
+            try {
+                wait();
+            } finally {
+                waitingThreads--;
+            }
         }
         
         // Add item to queue
         queue.offer(item);
-        System.out.println("Produced: " + item + " | Queue size: " + queue.size());
+        count = queue.size();
+        if (metrics != null) {
+            long now = System.nanoTime();
+            enqueueTimes[(timeHead + count - 1) % maxCapacity] = now;
+            metrics.getPutBlock().record(now - startNanos);
+        }
+        if (verbose) {
+            System.out.println("Produced: " + item + " | Queue size: " + queue.size());
+        }
         
         // Notify any waiting consumer threads that an item is available
-        notifyAll();
+        if (waitingThreads > 0) {
+            notifyAll();
+        }
     }
     
     /**
@@ -71,12 +181,28 @@ public class SharedQueue<T> {
      * 
      * Thread Safety: This method uses synchronized block to ensure atomic operations.
      * If queue is empty, the thread waits until an item becomes available.
+     * With a spinning wait strategy it first spins outside the lock.
      * 
      * @return The item removed from the queue
      * @throws InterruptedException if the thread is interrupted while waiting
      */
 
-    public synchronized T take() throws InterruptedException {
+    @Override
+    public T take() throws InterruptedException {
+        long startNanos = metrics == null ? 0 : System.nanoTime();
+        while (true) {
+            boolean mayWait = waitStrategy == WaitStrategy.BLOCKING || !spin(false);
+            synchronized (this) {
+                // A spinner that lost the race to another consumer goes back to spinning
+                if (mayWait || !queue.isEmpty()) {
+                    return takeLocked(startNanos);
+                }
+            }
+        }
+    }
+
+    // Caller must hold the monitor
+    private T takeLocked(long startNanos) throws InterruptedException {
         /**
          * IMPORTANT: We use WHILE loop, NOT IF statement
          * 
@@ -94,19 +220,85 @@ public class SharedQueue<T> {
          *   // Consumer-3: rechecks, queue is NOW EMPTY, waits again
          */
         while (queue.isEmpty()) {
-            System.out.println("Queue is empty. Consumer waiting...");
-            wait(); // Releases the lock and waits for notification
+            if (verbose) {
+                System.out.println("Queue is empty. Consumer waiting...");
+            }
+            waitingThreads++;
+            try {
+                wait(); // Releases the lock and waits for notification
+            } finally {
+                waitingThreads--;
+            }
         }
         
         T item = queue.poll();
-        System.out.println("Consumed: " + item + " | Queue size: " + queue.size());
+        count = queue.size();
+        if (metrics != null) {
+            long now = System.nanoTime();
+            metrics.getDwell().record(now - enqueueTimes[timeHead]);
+            timeHead = (timeHead + 1) % maxCapacity;
+            metrics.getTakeBlock().record(now - startNanos);
+        }
+        if (verbose) {
+            System.out.println("Consumed: " + item + " | Queue size: " + queue.size());
+        }
         
         // Notify any waiting producer threads that space is available
-        notifyAll();
+        if (waitingThreads > 0) {
+            notifyAll();
+        }
         
         return item;
     }
     
+    /**
+     * Spins without the lock until put (forPut) or take could proceed
+     * @return true if it can proceed now, false if SPIN_THEN_PARK ran out of spins
+     * @throws InterruptedException if the thread is interrupted while spinning
+     */
+    private boolean spin(boolean forPut) throws InterruptedException {
+        int limit = spinLimit;
+        for (int spins = 0; ; spins++) {
+            if (forPut ? count < maxCapacity : count > 0) {
+                if (waitStrategy == WaitStrategy.SPIN_THEN_PARK && spins > 0) {
+                    spinLimit = Math.min(MAX_SPINS, limit * 2);
+                }
+                return true;
+            }
+            if (Thread.interrupted()) {
+                throw new InterruptedException();
+            }
+            if (waitStrategy == WaitStrategy.SPIN_THEN_PARK && spins >= limit) {
+                spinLimit = Math.max(MIN_SPINS, limit / 2);
+                return false;
+            }
+            if (verbose && spins == 0) {
+                System.out.println(forPut ? "Queue is full. Producer spinning..." : "Queue is empty. Consumer spinning...");
+            }
+            if (waitStrategy == WaitStrategy.SPIN_THEN_YIELD && spins >= SPINS_BEFORE_YIELD) {
+                Thread.yield();
+            } else {
+                Thread.onSpinWait();
+            }
+        }
+    }
+
+    @Override
+    public int getCapacity() {
+        return maxCapacity;
+    }
+
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * @return Histograms this queue records into, or null if metrics are off
+     */
+    public QueueMetrics getMetrics() {
+        return metrics;
+    }
+
     // Below methods are declared for using in the tests [Edge cases].
 
 
@@ -116,6 +308,7 @@ public class SharedQueue<T> {
      * @return Current number of items in the queue
      */
 
+    @Override
     public synchronized int size() {
         return queue.size();
     }
@@ -126,6 +319,7 @@ public class SharedQueue<T> {
      * @return true if queue is empty, false otherwise
      */
 
+    @Override
     public synchronized boolean isEmpty() {
         return queue.isEmpty();
     }
@@ -136,6 +330,7 @@ public class SharedQueue<T> {
      * @return true if queue is at maximum capacity, false otherwise
      */
 
+    @Override
     public synchronized boolean isFull() {
         return queue.size() >= maxCapacity;
     }
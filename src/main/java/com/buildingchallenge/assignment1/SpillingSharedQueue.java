@@ -0,0 +1,342 @@
+package com.buildingchallenge.assignment1;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+
+/**
+ * SpillingSharedQueue Class
+ *
+ * Purpose: Blocking FIFO queue that keeps up to memoryCapacity items on the heap
+ * and, instead of blocking producers when that is full, appends further items to a
+ * log of memory-mapped segment files on disk. take() returns the in-memory items
+ * first and then reads the spilled ones back in the order they were written, so
+ * the queue stays FIFO overall. While anything is spilled, new items are spilled
+ * too (even if memory has room again), otherwise they would overtake older ones.
+ *
+ * Each segment is a fixed-size mapped file of [int length][bytes] records. A fully
+ * read segment is kept in a small pool and reused for later spills rather than
+ * deleted and recreated, so a long burst does not churn files and mappings.
+ *
+ * The spill files are scratch space: close() deletes them and nothing is recovered
+ * after a restart. The disk budget is counted in whole segment files, pooled ones
+ * included, so at most maxSpillBytes / segmentSize files of segmentSize bytes exist
+ * at once; put only blocks when it needs a new segment and that limit is reached.
+ *
+ * Thread Safety: put/take synchronize on this queue and wait/notify like
+ * SharedQueue's BLOCKING strategy; disk reads and writes are copies into mapped
+ * memory made while holding the lock.
+ *
+ * @param <T> Type of the items queued
+ */
+public class SpillingSharedQueue<T> implements BoundedQueue<T>, Closeable {
+
+    public static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+    private static final int RECORD_HEADER = Integer.BYTES;
+    // Drained segments kept for reuse; any beyond this are deleted
+    private static final int MAX_RECYCLED_SEGMENTS = 2;
+
+    private final int memoryCapacity;
+    private final Path spillDirectory;
+    private final ItemCodec<T> codec;
+    private final int segmentSize;
+    private final long maxSegments;
+
+    // Guarded by this
+    private final ArrayDeque<T> memory = new ArrayDeque<>();
+    // Oldest segment first; reading happens at the head, appending at the tail
+    private final ArrayDeque<Segment> segments = new ArrayDeque<>();
+    private final ArrayDeque<Segment> recycled = new ArrayDeque<>();
+    private long spilledItems;
+    private long segmentsCreated;
+    private int waitingThreads;
+    private boolean closed;
+
+    /**
+     * Constructor - Spills to 4MB segments with no limit on disk use
+     * @param memoryCapacity Maximum number of items held on the heap
+     * @param spillDirectory Existing directory for the segment files
+     * @param codec Converts items to and from bytes
+     * @throws IllegalArgumentException if memoryCapacity is less than 1, or spillDirectory or codec is null
+     */
+    public SpillingSharedQueue(int memoryCapacity, Path spillDirectory, ItemCodec<T> codec) {
+        this(memoryCapacity, spillDirectory, codec, DEFAULT_SEGMENT_SIZE, Long.MAX_VALUE);
+    }
+
+    /**
+     * Constructor - Spills to segments of the given size, up to a disk budget
+     * @param memoryCapacity Maximum number of items held on the heap
+     * @param spillDirectory Existing directory for the segment files
+     * @param codec Converts items to and from bytes
+     * @param segmentSize Size of each mapped segment file in bytes; bounds the size of one item
+     * @param maxSpillBytes Disk budget, rounded down to whole segments; put blocks while a spill would exceed it
+     * @throws IllegalArgumentException if any size is out of range, or spillDirectory or codec is null
+     */
+    public SpillingSharedQueue(int memoryCapacity, Path spillDirectory, ItemCodec<T> codec,
+                               int segmentSize, long maxSpillBytes) {
+        if (memoryCapacity < 1) {
+            throw new IllegalArgumentException("Memory capacity must be at least 1");
+        }
+        if (spillDirectory == null || codec == null) {
+            throw new IllegalArgumentException("Spill directory and codec cannot be null");
+        }
+        if (segmentSize <= RECORD_HEADER || maxSpillBytes < segmentSize) {
+            throw new IllegalArgumentException("Segment size must exceed " + RECORD_HEADER
+                                               + " bytes and the disk budget must hold at least one segment");
+        }
+        this.memoryCapacity = memoryCapacity;
+        this.spillDirectory = spillDirectory;
+        this.codec = codec;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSpillBytes / segmentSize;
+    }
+
+    /**
+     * Adds an item, in memory if there is room and nothing is spilled, otherwise on disk.
+     * Blocks only while the disk budget is used up.
+     * @param item The item to be added to the queue
+     * @throws IllegalArgumentException if item is null or encodes to more than a segment holds
+     * @throws IllegalStateException if the queue has been closed
+     * @throws UncheckedIOException if a segment file cannot be created or mapped
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public synchronized void put(T item) throws InterruptedException {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        ensureOpen();
+        if (spilledItems == 0 && memory.size() < memoryCapacity) {
+            memory.addLast(item);
+        } else {
+            byte[] bytes = codec.encode(item);
+            int recordSize = RECORD_HEADER + bytes.length;
+            if (recordSize > segmentSize) {
+                throw new IllegalArgumentException("Item of " + bytes.length + " bytes does not fit a "
+                                                   + segmentSize + "-byte segment");
+            }
+            while (!fitsTail(recordSize) && recycled.isEmpty() && segments.size() >= maxSegments) {
+                waitForChange();
+                ensureOpen();
+            }
+            append(bytes);
+        }
+        if (waitingThreads > 0) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Removes the oldest item, from memory first and then from the spill log
+     * @return The item removed from the queue
+     * @throws IllegalStateException if the queue has been closed
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public synchronized T take() throws InterruptedException {
+        while (memory.isEmpty() && spilledItems == 0) {
+            ensureOpen();
+            waitForChange();
+        }
+        T item = memory.isEmpty() ? codec.decode(readNext()) : memory.pollFirst();
+        if (waitingThreads > 0) {
+            notifyAll();
+        }
+        return item;
+    }
+
+    /**
+     * Deletes the segment files. Items still spilled are lost; threads waiting in
+     * put or take get an IllegalStateException.
+     * @throws IOException if a segment file cannot be closed or deleted
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        notifyAll();
+        IOException failure = null;
+        for (ArrayDeque<Segment> pool : Arrays.asList(segments, recycled)) {
+            for (Segment segment : pool) {
+                try {
+                    segment.delete();
+                } catch (IOException e) {
+                    failure = failure == null ? e : failure;
+                }
+            }
+            pool.clear();
+        }
+        spilledItems = 0;
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    /**
+     * @return Items currently held on the heap
+     */
+    public synchronized int getMemorySize() {
+        return memory.size();
+    }
+
+    /**
+     * @return Items currently spilled to disk
+     */
+    public synchronized long getSpilledCount() {
+        return spilledItems;
+    }
+
+    /**
+     * @return Segment files created so far; stays flat when segments are being recycled
+     */
+    public synchronized long getSegmentsCreated() {
+        return segmentsCreated;
+    }
+
+    /**
+     * @return Maximum number of items held on the heap
+     */
+    @Override
+    public int getCapacity() {
+        return memoryCapacity;
+    }
+
+    /**
+     * Returns the number of items in memory and on disk, capped at Integer.MAX_VALUE
+     * @return Current number of items in the queue
+     */
+    @Override
+    public synchronized int size() {
+        return (int) Math.min(Integer.MAX_VALUE, memory.size() + spilledItems);
+    }
+
+    @Override
+    public synchronized boolean isEmpty() {
+        return memory.isEmpty() && spilledItems == 0;
+    }
+
+    /**
+     * @return true when memory is full and no further segment can be used; a put may
+     *         still fit in what is left of the last segment
+     */
+    @Override
+    public synchronized boolean isFull() {
+        return memory.size() >= memoryCapacity && recycled.isEmpty() && segments.size() >= maxSegments;
+    }
+
+    private boolean fitsTail(int recordSize) {
+        Segment tail = segments.peekLast();
+        return tail != null && tail.writePosition + recordSize <= segmentSize;
+    }
+
+    private void append(byte[] bytes) {
+        Segment tail = segments.peekLast();
+        if (!fitsTail(RECORD_HEADER + bytes.length)) {
+            tail = nextSegment();
+            segments.addLast(tail);
+        }
+        tail.buffer.putInt(tail.writePosition, bytes.length);
+        tail.buffer.position(tail.writePosition + RECORD_HEADER);
+        tail.buffer.put(bytes);
+        tail.writePosition += RECORD_HEADER + bytes.length;
+        spilledItems++;
+    }
+
+    private byte[] readNext() {
+        Segment head = segments.peekFirst();
+        // A segment only falls behind when the writer moved on, so there is a next one
+        while (head.readPosition >= head.writePosition) {
+            segments.pollFirst();
+            recycle(head);
+            head = segments.peekFirst();
+        }
+        int length = head.buffer.getInt(head.readPosition);
+        byte[] bytes = new byte[length];
+        head.buffer.position(head.readPosition + RECORD_HEADER);
+        head.buffer.get(bytes);
+        head.readPosition += RECORD_HEADER + length;
+        spilledItems--;
+        if (spilledItems == 0) {
+            // Fully drained: keep the segment for the next burst, starting from the top
+            segments.pollFirst();
+            recycle(head);
+        }
+        return bytes;
+    }
+
+    private Segment nextSegment() {
+        Segment segment = recycled.pollFirst();
+        if (segment != null) {
+            return segment;
+        }
+        try {
+            Path path = Files.createTempFile(spillDirectory, "spill-", ".segment");
+            segmentsCreated++;
+            return new Segment(path, segmentSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void recycle(Segment segment) {
+        segment.readPosition = 0;
+        segment.writePosition = 0;
+        if (recycled.size() < MAX_RECYCLED_SEGMENTS) {
+            recycled.addLast(segment);
+            return;
+        }
+        try {
+            segment.delete();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void waitForChange() throws InterruptedException {
+        waitingThreads++;
+        try {
+            wait();
+        } finally {
+            waitingThreads--;
+        }
+    }
+
+    private void ensureOpen() {
+        if (closed) {
+            throw new IllegalStateException("Queue has been closed");
+        }
+    }
+
+    /**
+     * Segment
+     *
+     * One mapped spill file with its read and write offsets.
+     */
+    private static final class Segment {
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int readPosition;
+        private int writePosition;
+
+        Segment(Path path, int size) throws IOException {
+            this.path = path;
+            this.channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, size);
+        }
+
+        void delete() throws IOException {
+            channel.close();
+            Files.deleteIfExists(path);
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.buildingchallenge.assignment1;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StripedSharedQueue Class
+ *
+ * Purpose: Bounded blocking queue split into independent stripes, each a small FIFO
+ * with its own lock, so N producers and M consumers mostly lock different stripes
+ * instead of all serializing on one monitor.
+ * - Each thread gets a home stripe on first use, handed out round-robin.
+ * - put(T) goes to the producer's home stripe; if that is full it moves on to the
+ *   next stripe with room and makes that its new home. put(T, key) hashes the key
+ *   instead, so items with the same key share a stripe and stay in FIFO order there.
+ * - take() polls the consumer's home stripe first, then scans the others from the
+ *   next one on.
+ *
+ * The capacity is split evenly over the stripes (rounded up), so the global bound
+ * is enforced per stripe without a shared counter: the queue never holds more than
+ * getCapacity() items. put(T) only blocks when every stripe is full; put(T, key)
+ * blocks when its own stripe is full.
+ *
+ * There is no global FIFO order: items are only ordered within a stripe.
+ *
+ * Thread Safety: The fast path takes one stripe lock and reads one volatile field;
+ * the queue monitor is only used to park producers that find every stripe full and
+ * consumers that find every stripe empty.
+ *
+ * @param <T> Type of the items queued
+ */
+public class StripedSharedQueue<T> implements BoundedQueue<T> {
+
+    private final Stripe<T>[] stripes;
+    private final int stripeCapacity;
+
+    // Hands out home stripes round-robin
+    private final AtomicInteger nextHome = new AtomicInteger();
+    private final ThreadLocal<int[]> home = ThreadLocal.withInitial(
+        () -> new int[] {Math.floorMod(nextHome.getAndIncrement(), getStripeCount())});
+
+    // Threads parked on the queue monitor; written under it, read without it to skip notifyAll
+    private volatile int waitingProducers;
+    private volatile int waitingConsumers;
+
+    /**
+     * Constructor - Creates the stripes
+     * @param maxCapacity Total number of items the queue can hold, rounded up to a multiple of stripeCount
+     * @param stripeCount Number of independent sub-queues, e.g. the number of cores
+     * @throws IllegalArgumentException if stripeCount is less than 1 or maxCapacity is less than stripeCount
+     */
+    @SuppressWarnings("unchecked")
+    public StripedSharedQueue(int maxCapacity, int stripeCount) {
+        if (stripeCount < 1) {
+            throw new IllegalArgumentException("Stripe count must be at least 1");
+        }
+        if (maxCapacity < stripeCount) {
+            throw new IllegalArgumentException("Queue capacity must be at least the stripe count");
+        }
+        this.stripeCapacity = (maxCapacity + stripeCount - 1) / stripeCount;
+        this.stripes = new Stripe[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new Stripe<>(stripeCapacity);
+        }
+    }
+
+    /**
+     * Adds an item to the calling thread's home stripe, or the next one with room.
+     * Blocks while every stripe is full.
+     * @param item The item to be added to the queue
+     * @throws IllegalArgumentException if item is null
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public void put(T item) throws InterruptedException {
+        requireItem(item);
+        int[] slot = home.get();
+        while (true) {
+            for (int i = 0; i < stripes.length; i++) {
+                int index = (slot[0] + i) % stripes.length;
+                if (stripes[index].offer(item)) {
+                    // Stay on a stripe that had room, so a full one is not retried every time
+                    slot[0] = index;
+                    signalConsumers();
+                    return;
+                }
+            }
+            awaitSpace(-1);
+        }
+    }
+
+    /**
+     * Adds an item to the stripe its key hashes to, so items with equal keys keep
+     * their relative order. Blocks while that stripe is full.
+     * @param item The item to be added to the queue
+     * @param key Key whose hashCode selects the stripe
+     * @throws IllegalArgumentException if item is null
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void put(T item, Object key) throws InterruptedException {
+        requireItem(item);
+        int index = stripeOf(key);
+        while (!stripes[index].offer(item)) {
+            awaitSpace(index);
+        }
+        signalConsumers();
+    }
+
+    /**
+     * Removes an item from the calling thread's home stripe, or the first other stripe
+     * that has one. Blocks while every stripe is empty.
+     * @return The item removed from the queue
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    @Override
+    public T take() throws InterruptedException {
+        int start = home.get()[0];
+        while (true) {
+            for (int i = 0; i < stripes.length; i++) {
+                T item = stripes[(start + i) % stripes.length].poll();
+                if (item != null) {
+                    signalProducers();
+                    return item;
+                }
+            }
+            awaitItem();
+        }
+    }
+
+    /**
+     * @param key Key as passed to put(T, Object)
+     * @return Index of the stripe the key maps to
+     */
+    public int stripeOf(Object key) {
+        int hash = key == null ? 0 : key.hashCode();
+        // Spread the high bits so keys differing only there do not share a stripe
+        return Math.floorMod(hash ^ (hash >>> 16), stripes.length);
+    }
+
+    public int getStripeCount() {
+        return stripes.length;
+    }
+
+    /**
+     * @return Total capacity: the requested capacity rounded up to a multiple of the stripe count
+     */
+    @Override
+    public int getCapacity() {
+        return stripeCapacity * stripes.length;
+    }
+
+    /**
+     * Returns the number of items in all stripes. Stripes are counted one at a time,
+     * so under concurrent puts and takes this is only an approximation.
+     * @return Current number of items in the queue
+     */
+    @Override
+    public int size() {
+        int total = 0;
+        for (Stripe<T> stripe : stripes) {
+            total += stripe.size();
+        }
+        return total;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public boolean isFull() {
+        return size() >= getCapacity();
+    }
+
+    // A producer inserts and then reads waitingConsumers; a consumer parks after
+    // raising waitingConsumers and rescanning, so one of them always sees the other
+    private void signalConsumers() {
+        if (waitingConsumers > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    private void signalProducers() {
+        if (waitingProducers > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    // index < 0 waits for room in any stripe
+    private synchronized void awaitSpace(int index) throws InterruptedException {
+        waitingProducers++;
+        try {
+            while (index < 0 ? allFull() : stripes[index].size() >= stripeCapacity) {
+                wait();
+            }
+        } finally {
+            waitingProducers--;
+        }
+    }
+
+    private synchronized void awaitItem() throws InterruptedException {
+        waitingConsumers++;
+        try {
+            while (size() == 0) {
+                wait();
+            }
+        } finally {
+            waitingConsumers--;
+        }
+    }
+
+    // null doubles as "stripe empty" in poll()
+    private static void requireItem(Object item) {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+    }
+
+    private boolean allFull() {
+        for (Stripe<T> stripe : stripes) {
+            if (stripe.size() < stripeCapacity) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Stripe
+     *
+     * Bounded FIFO guarded by its own lock.
+     */
+    private static final class Stripe<T> {
+        private final ArrayDeque<T> items;
+        private final int capacity;
+
+        Stripe(int capacity) {
+            this.items = new ArrayDeque<>(capacity);
+            this.capacity = capacity;
+        }
+
+        synchronized boolean offer(T item) {
+            if (items.size() >= capacity) {
+                return false;
+            }
+            items.addLast(item);
+            return true;
+        }
+
+        synchronized T poll() {
+            return items.pollFirst();
+        }
+
+        synchronized int size() {
+            return items.size();
+        }
+    }
+}
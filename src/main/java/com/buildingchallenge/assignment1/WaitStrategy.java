@@ -0,0 +1,34 @@
+package com.buildingchallenge.assignment1;
+
+/**
+ * WaitStrategy Enum
+ *
+ * Purpose: How a SharedQueue waits when put finds it full or take finds it empty.
+ * Spinning keeps the thread on its core and sees the other side's hand-off within
+ * nanoseconds, at the cost of burning CPU; blocking frees the core but a wake-up
+ * through wait/notify takes tens of microseconds.
+ */
+public enum WaitStrategy {
+
+    /**
+     * wait() on the queue monitor straight away (the original behaviour)
+     */
+    BLOCKING,
+
+    /**
+     * Spin until the hand-off can happen; lowest latency, one busy core per waiting thread
+     */
+    BUSY_SPIN,
+
+    /**
+     * Spin briefly, then Thread.yield() between checks so other threads can run
+     */
+    SPIN_THEN_YIELD,
+
+    /**
+     * Spin up to an adaptive limit, then wait() like BLOCKING. The limit grows while
+     * spinning succeeds and shrinks when it has to fall back to waiting, so queues
+     * whose hand-offs are usually quick spin longer than queues that sit idle.
+     */
+    SPIN_THEN_PARK
+}
@@ -0,0 +1,340 @@
+package com.buildingchallenge.assignment1;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * WorkStealingPool Class
+ *
+ * Purpose: Alternative to several Consumers sharing one SharedQueue. Each worker owns
+ * a small bounded deque; producers fill the deques round-robin, a worker takes from
+ * the head of its own deque, and a worker whose deque is empty steals from the tail
+ * of another's. Consumers therefore contend on different locks instead of one queue
+ * head, and a worker stuck on an expensive item does not hold up the items queued
+ * behind it, since idle workers steal them.
+ *
+ * Items are not processed in submission order, even from a single producer.
+ *
+ * Thread Safety: submit() may be called from any number of producer threads. Each
+ * deque has its own lock; the pool monitor is only used to park idle workers and
+ * producers that find every deque full. A read/write lock, as in KeyedDispatcher,
+ * keeps shutdown() from completing while an accepted item is not yet counted.
+ *
+ * @param <T> Type of the items processed
+ */
+public class WorkStealingPool<T> {
+
+    private final String poolName;
+    private final java.util.function.Consumer<? super T> itemHandler;
+    private final WorkDeque<T>[] deques;
+    private final List<Worker> workers;
+    private final int totalCapacity;
+
+    // Next deque for round-robin submission
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    // Items in all deques. Incremented after an insert and decremented after a removal
+    private final AtomicInteger pending = new AtomicInteger();
+
+    // Threads parked on the pool monitor; written under it, read without it to skip notifyAll
+    private volatile int idleWorkers;
+    private volatile int waitingProducers;
+
+    // Producers hold the read lock from the shutdown check until the item is counted
+    // in pending, so workers cannot see shutdown with pending == 0 and exit before it
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private volatile boolean shutdown;
+
+    // First error thrown by the handler, if any
+    private volatile Exception failure;
+
+    /**
+     * Constructor - Creates the deques and starts one thread per worker
+     * @param workerCount Number of worker threads
+     * @param dequeCapacity Maximum number of items queued per worker
+     * @param itemHandler Callback invoked on a worker thread for every item
+     * @param poolName Name prefix for the worker threads
+     * @throws IllegalArgumentException if workerCount or dequeCapacity is less than 1, or itemHandler is null
+     */
+    @SuppressWarnings("unchecked")
+    public WorkStealingPool(int workerCount, int dequeCapacity,
+                            java.util.function.Consumer<? super T> itemHandler, String poolName) {
+        if (workerCount < 1 || dequeCapacity < 1) {
+            throw new IllegalArgumentException("Worker count and deque capacity must be at least 1");
+        }
+        if (itemHandler == null) {
+            throw new IllegalArgumentException("Item handler cannot be null");
+        }
+        this.poolName = poolName;
+        this.itemHandler = itemHandler;
+        this.totalCapacity = workerCount * dequeCapacity;
+        this.deques = new WorkDeque[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            deques[i] = new WorkDeque<>(dequeCapacity);
+        }
+        List<Worker> started = new ArrayList<>(workerCount);
+        for (int i = 0; i < workerCount; i++) {
+            Worker worker = new Worker(i);
+            started.add(worker);
+            worker.thread.start();
+        }
+        this.workers = started;
+    }
+
+    /**
+     * Hands an item to the next worker in round-robin order. Blocks while every deque is full.
+     *
+     * A full deque is skipped, so a worker that has fallen behind is given fewer new items.
+     *
+     * @param item The item to process
+     * @throws IllegalArgumentException if item is null
+     * @throws IllegalStateException if the pool has been shut down
+     * @throws InterruptedException if the thread is interrupted while waiting for space
+     */
+    public void submit(T item) throws InterruptedException {
+        if (item == null) {
+            throw new IllegalArgumentException("Item cannot be null");
+        }
+        while (true) {
+            shutdownLock.readLock().lock();
+            try {
+                if (shutdown) {
+                    throw new IllegalStateException("Pool [" + poolName + "] has been shut down");
+                }
+                if (offer(item)) {
+                    return;
+                }
+            } finally {
+                shutdownLock.readLock().unlock();
+            }
+            synchronized (this) {
+                waitingProducers++;
+                try {
+                    // A worker that removes an item decrements pending and then checks waitingProducers
+                    while (pending.get() >= totalCapacity && !shutdown) {
+                        wait();
+                    }
+                } finally {
+                    waitingProducers--;
+                }
+            }
+        }
+    }
+
+    /**
+     * Stops accepting items. Workers finish everything already submitted, then exit.
+     */
+    public void shutdown() {
+        shutdownLock.writeLock().lock();
+        try {
+            shutdown = true;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        synchronized (this) {
+            notifyAll();
+        }
+    }
+
+    /**
+     * Waits for the workers to exit after shutdown()
+     * @param timeout Maximum time to wait
+     * @param unit Unit of timeout
+     * @return true if all workers exited, false if the timeout elapsed first
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Worker worker : workers) {
+            long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remaining <= 0) {
+                return !worker.thread.isAlive();
+            }
+            worker.thread.join(remaining);
+            if (worker.thread.isAlive()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int getWorkerCount() {
+        return workers.size();
+    }
+
+    /**
+     * @return Number of items queued in all deques
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * @return Items processed by all workers so far
+     */
+    public long getItemsProcessed() {
+        long total = 0;
+        for (Worker worker : workers) {
+            total += worker.itemsProcessed;
+        }
+        return total;
+    }
+
+    /**
+     * @return Items a worker took from another worker's deque
+     */
+    public long getStealCount() {
+        long total = 0;
+        for (Worker worker : workers) {
+            total += worker.itemsStolen;
+        }
+        return total;
+    }
+
+    /**
+     * Gets the first error thrown by the handler. The worker that hit it carries on
+     * with the next item, so one bad item does not strand the rest of its deque.
+     * @return The exception, or null if every item was handled normally
+     */
+    public Exception getFailure() {
+        return failure;
+    }
+
+    // Tries each deque once, starting from the round-robin cursor
+    private boolean offer(T item) {
+        int start = Math.floorMod(cursor.getAndIncrement(), deques.length);
+        for (int i = 0; i < deques.length; i++) {
+            if (deques[(start + i) % deques.length].offerLast(item)) {
+                pending.incrementAndGet();
+                if (idleWorkers > 0) {
+                    synchronized (this) {
+                        notifyAll();
+                    }
+                }
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Removal bookkeeping shared by own takes and steals
+    private void removed() {
+        pending.decrementAndGet();
+        if (waitingProducers > 0) {
+            synchronized (this) {
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Worker
+     *
+     * Takes from its own deque first, then steals from the others, then parks.
+     */
+    private final class Worker implements Runnable {
+        private final int index;
+        private final Thread thread;
+
+        // Written only by this worker's thread
+        private volatile long itemsProcessed;
+        private volatile long itemsStolen;
+
+        Worker(int index) {
+            this.index = index;
+            this.thread = new Thread(this, poolName + "-" + index);
+        }
+
+        @Override
+        public void run() {
+            while (true) {
+                T item = deques[index].pollFirst();
+                if (item == null) {
+                    item = steal();
+                }
+                if (item != null) {
+                    removed();
+                    process(item);
+                    continue;
+                }
+                synchronized (WorkStealingPool.this) {
+                    idleWorkers++;
+                    try {
+                        // A producer increments pending and then checks idleWorkers, so no wake-up is lost
+                        while (pending.get() == 0 && !shutdown) {
+                            WorkStealingPool.this.wait();
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                        return;
+                    } finally {
+                        idleWorkers--;
+                    }
+                    if (pending.get() == 0 && shutdown) {
+                        return;
+                    }
+                }
+            }
+        }
+
+        // Victims are scanned starting from the next worker so thieves spread out
+        private T steal() {
+            for (int i = 1; i < deques.length; i++) {
+                T item = deques[(index + i) % deques.length].pollLast();
+                if (item != null) {
+                    itemsStolen++;
+                    return item;
+                }
+            }
+            return null;
+        }
+
+        private void process(T item) {
+            try {
+                itemHandler.accept(item);
+            } catch (Exception e) {
+                if (failure == null) {
+                    failure = e;
+                }
+                System.err.println("Worker [" + thread.getName() + "] encountered an error: " + e.getMessage());
+            }
+            itemsProcessed++;
+        }
+    }
+
+    /**
+     * WorkDeque
+     *
+     * Bounded deque with its own lock: the owner polls the head, thieves poll the tail.
+     */
+    private static final class WorkDeque<T> {
+        private final ArrayDeque<T> items;
+        private final int capacity;
+
+        WorkDeque(int capacity) {
+            this.items = new ArrayDeque<>(capacity);
+            this.capacity = capacity;
+        }
+
+        synchronized boolean offerLast(T item) {
+            if (items.size() >= capacity) {
+                return false;
+            }
+            items.addLast(item);
+            return true;
+        }
+
+        synchronized T pollFirst() {
+            return items.pollFirst();
+        }
+
+        synchronized T pollLast() {
+            return items.pollLast();
+        }
+    }
+}
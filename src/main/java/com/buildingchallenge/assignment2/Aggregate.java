@@ -0,0 +1,15 @@
+package com.buildingchallenge.assignment2;
+
+/**
+ * Aggregate Enum
+ *
+ * Purpose: Aggregation functions supported by SalesQuery. COUNT ignores its column;
+ * every other function requires a numeric SalesColumn.
+ */
+public enum Aggregate {
+    SUM,
+    COUNT,
+    MIN,
+    MAX,
+    AVG
+}
@@ -0,0 +1,20 @@
+package com.buildingchallenge.assignment2;
+
+/**
+ * AggregationKernels Interface
+ *
+ * Purpose: Defines the primitive loops behind revenue aggregation over columnar
+ * data (amounts in cents, quantities, dictionary-encoded group ids). Keeping them
+ * behind an interface lets a SIMD implementation replace the scalar one without
+ * touching the analyzer.
+ *
+ * Implementations: ScalarAggregationKernels (default) and VectorAggregationKernels
+ * (Vector API, built with the "vector" Maven profile). See KernelSelector.
+ */
+public interface AggregationKernels {
+
+    String name();
+    long sum(long[] values, int length);
+    long sumOfProducts(long[] values, int[] multipliers, int length);
+    void groupedSumOfProducts(long[] values, int[] multipliers, int[] groups, long[] sums, int length);
+}
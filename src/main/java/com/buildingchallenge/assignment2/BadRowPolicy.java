@@ -0,0 +1,18 @@
+package com.buildingchallenge.assignment2;
+
+/**
+ * BadRowPolicy Enum
+ *
+ * Purpose: What CSVDataReader does with a row that fails validation. Every policy
+ * records the row in the reader's RowErrorReport first.
+ *
+ * SKIP: drop the row and continue.
+ * FAIL_FAST: stop reading and throw a CsvException naming the row and reason.
+ * QUARANTINE: drop the row and append it, with its row number and reason, to a
+ * quarantine CSV file for later inspection or replay.
+ */
+public enum BadRowPolicy {
+    SKIP,
+    FAIL_FAST,
+    QUARANTINE
+}
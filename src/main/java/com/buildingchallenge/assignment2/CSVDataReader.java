@@ -2,130 +2,534 @@ package com.buildingchallenge.assignment2;
 
 import com.opencsv.CSVReader;
 import com.opencsv.CSVReaderBuilder;
+import com.opencsv.CSVWriter;
+import com.opencsv.ICSVWriter;
 import com.opencsv.exceptions.CsvException;
 
+import java.io.BufferedReader;
+import java.io.Closeable;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Reader;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * CSVDataReader Class
  * Purpose: Reads and parses sales data from a CSV file, returning a list of
  * SalesRecord objects. This class handles all CSV file reading and parsing operations.
- * 
+ *
+ * Rows are streamed one at a time and validated without exceptions: a bad row
+ * yields a RowError code, is counted in the reader's RowErrorReport and is then
+ * handled by the BadRowPolicy (skip, fail fast, or quarantine to a file). One
+ * summary warning is printed per file instead of one line per bad row.
+ *
+ * Columns are found by header name once per file (CsvColumnMapping), so files with
+ * reordered or extra columns load correctly. A reader can be limited to the columns
+ * a query needs (projection): the other text fields are neither validated nor
+ * decoded and read as the SalesRecord defaults ("Unknown" / "Uncategorized").
+ *
+ * Thread Safety: one reader may load several files concurrently (SalesFileLoader);
+ * the error report and the quarantine file are shared and synchronized.
+ * Call close() when using QUARANTINE so the quarantine file is flushed and closed.
  */
-public class CSVDataReader {
-    
-    private static final String DATE_FORMAT = "yyyy-MM-dd";
-    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT);
-    
+public class CSVDataReader implements Closeable {
+
+    public static final String CSV_HEADER = "ProductID,ProductName,Category,SaleDate,Amount,Quantity,Region,SalesRep";
+    public static final int DEFAULT_MAX_ERROR_SAMPLES = 10;
+
+    // Stored columns in CSV_HEADER order, the layout of quarantined rows
+    private static final SalesColumn[] HEADER_COLUMNS = {
+        SalesColumn.PRODUCT_ID, SalesColumn.PRODUCT_NAME, SalesColumn.CATEGORY, SalesColumn.SALE_DATE,
+        SalesColumn.AMOUNT, SalesColumn.QUANTITY, SalesColumn.REGION, SalesColumn.SALES_REP};
+
+    // Product name of records read without the ProductName column; the record needs one
+    private static final String NOT_LOADED = "Unknown";
+
+    // Longest exponent accepted in amounts; larger ones would only build huge numbers
+    private static final int MAX_EXPONENT_DIGITS = 3;
+
+    private final BadRowPolicy badRowPolicy;
+    private final Path quarantineFile;
+    private final Set<SalesColumn> columns;
+    private final RowErrorReport errorReport;
+
+    // Opened on the first quarantined row; guarded by this
+    private ICSVWriter quarantineWriter;
+
+    /**
+     * Constructor - Skips invalid rows
+     */
+    public CSVDataReader() {
+        this(BadRowPolicy.SKIP);
+    }
+
+    /**
+     * Constructor - Handles invalid rows with the given policy
+     *
+     * @param badRowPolicy SKIP or FAIL_FAST
+     * @throws IllegalArgumentException if the policy is null or QUARANTINE (which needs a file)
+     */
+    public CSVDataReader(BadRowPolicy badRowPolicy) {
+        this(badRowPolicy, null);
+    }
+
+    /**
+     * Constructor - Handles invalid rows with the given policy
+     *
+     * @param badRowPolicy What to do with invalid rows
+     * @param quarantineFile CSV file invalid rows are appended to; required for QUARANTINE
+     * @throws IllegalArgumentException if the policy is null, or QUARANTINE has no file
+     */
+    public CSVDataReader(BadRowPolicy badRowPolicy, Path quarantineFile) {
+        this(badRowPolicy, quarantineFile, CsvColumnMapping.STORED_COLUMNS);
+    }
+
+    /**
+     * Constructor - Reads only the given columns (projection pushdown)
+     *
+     * Derived columns are read through their source columns (YEAR needs SaleDate,
+     * TOTAL_VALUE needs Amount and Quantity); ProductID, SaleDate, Amount and Quantity
+     * are always read. For a query, pass query.getReferencedColumns().
+     *
+     * @param badRowPolicy What to do with invalid rows
+     * @param quarantineFile CSV file invalid rows are appended to; required for QUARANTINE
+     * @param columns Columns the loaded records will be used for
+     * @throws IllegalArgumentException if the policy or columns are null, or QUARANTINE has no file
+     */
+    public CSVDataReader(BadRowPolicy badRowPolicy, Path quarantineFile, Set<SalesColumn> columns) {
+        if (columns == null) {
+            throw new IllegalArgumentException("Columns cannot be null");
+        }
+        if (badRowPolicy == null) {
+            throw new IllegalArgumentException("Bad row policy cannot be null");
+        }
+        if (badRowPolicy == BadRowPolicy.QUARANTINE && quarantineFile == null) {
+            throw new IllegalArgumentException("QUARANTINE policy requires a quarantine file");
+        }
+        this.badRowPolicy = badRowPolicy;
+        this.quarantineFile = quarantineFile;
+        this.columns = CsvColumnMapping.storedColumns(columns);
+        this.errorReport = new RowErrorReport(DEFAULT_MAX_ERROR_SAMPLES);
+    }
+
     /**
      * Reads sales data from CSV file and returns list of SalesRecord objects
-     * 
-     * @param csvFilePath Path to the CSV file
+     *
+     * Gzip-compressed files are detected by their header and decompressed on a
+     * separate thread while parsing (see DecompressingInputStream).
+     *
+     * @param csvFilePath Path to the CSV file, plain or gzip-compressed
      * @return List of parsed SalesRecord objects
      * @throws IOException if file cannot be read
-     * @throws CsvException if CSV parsing fails
+     * @throws CsvException if CSV parsing fails, or a row is invalid under FAIL_FAST
      */
     public List<SalesRecord> readSalesData(Path csvFilePath) throws IOException, CsvException {
-
-        // List to store the rows of the CSV file as SalesRecord objects.
-        List<SalesRecord> records = new ArrayList<>();
-        
-        // Read the CSV file and parse the sales records.
-        try (Reader reader = Files.newBufferedReader(csvFilePath);
-        
-        // Builder pattern to build CSVReader.
-             CSVReader csvReader = new CSVReaderBuilder(reader)
-                 .withSkipLines(1) // Skip header row
-                 .build()) {
-            
-            List<String[]> rows = csvReader.readAll();
-            
-            for (int i = 0; i < rows.size(); i++) {
-                String[] row = rows.get(i);
-                try {
-                    SalesRecord record = parseRow(row);
-                    records.add(record);
-                } catch (Exception e) {
-                    System.err.println("Warning: Skipping invalid row " + (i + 2) + ": " + e.getMessage());
-                }
-            }
-        }
-        
-        // Retunring unmodifiable list to prevent modification of the data present in the list
-        return Collections.unmodifiableList(records);
+        return read(new BufferedReader(new InputStreamReader(
+            DecompressingInputStream.open(csvFilePath), StandardCharsets.UTF_8)), csvFilePath.toString());
     }
-    
+
     /**
      * Reads sales data from InputStream (e.g., from classpath) and returns list of SalesRecord objects
-     * 
+     *
      * This method allows reading CSV data from resources packaged in the application,
      * making it work regardless of the current working directory or when packaged as a JAR.
-     * 
+     *
      * @param inputStream InputStream containing CSV data
      * @return List of parsed SalesRecord objects
      * @throws IOException if stream cannot be read
-     * @throws CsvException if CSV parsing fails
+     * @throws CsvException if CSV parsing fails, or a row is invalid under FAIL_FAST
      */
     public List<SalesRecord> readSalesData(InputStream inputStream) throws IOException, CsvException {
+        return read(new InputStreamReader(inputStream), "input stream");
+    }
+
+    /**
+     * Returns the report of every row rejected by this reader so far
+     *
+     * @return Counts by reason and the first rejected rows
+     */
+    public RowErrorReport getErrorReport() {
+        return errorReport;
+    }
+
+    public BadRowPolicy getBadRowPolicy() {
+        return badRowPolicy;
+    }
+
+    /**
+     * @return Stored columns this reader decodes
+     */
+    public Set<SalesColumn> getColumns() {
+        return columns;
+    }
+
+    /**
+     * Closes the quarantine file, if one was opened
+     *
+     * @throws IOException if the file cannot be flushed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (quarantineWriter != null) {
+            quarantineWriter.close();
+            quarantineWriter = null;
+        }
+    }
+
+    private List<SalesRecord> read(Reader reader, String source) throws IOException, CsvException {
+
+        // List to store the rows of the CSV file as SalesRecord objects.
         List<SalesRecord> records = new ArrayList<>();
-        
-        try (Reader reader = new InputStreamReader(inputStream);
-             CSVReader csvReader = new CSVReaderBuilder(reader)
-                 .withSkipLines(1) // Skip header row
-                 .build()) {
-            
-            List<String[]> rows = csvReader.readAll();
-            
-            for (int i = 0; i < rows.size(); i++) {
-                String[] row = rows.get(i);
-                try {
-                    SalesRecord record = parseRow(row);
+        RowSession session;
+
+        // Builder pattern to build CSVReader.
+        try (CSVReader csvReader = new CSVReaderBuilder(reader).build()) {
+            String[] header = csvReader.readNext();
+            if (header == null) {
+                return Collections.emptyList();
+            }
+            session = newSession(resolveColumns(header));
+
+            // Streaming row by row keeps memory flat and each row O(1)
+            long rowNumber = 2;
+            String[] row;
+            while ((row = csvReader.readNext()) != null) {
+                SalesRecord record = session.accept(row, rowNumber++);
+                if (record != null) {
                     records.add(record);
-                } catch (Exception e) {
-                    System.err.println("Warning: Skipping invalid row " + (i + 2) + ": " + e.getMessage());
                 }
             }
         }
-        
+        session.finish(source);
+        flushQuarantine();
+
+        // Retunring unmodifiable list to prevent modification of the data present in the list
         return Collections.unmodifiableList(records);
     }
-    
+
+    /**
+     * Maps this reader's columns to their positions in a file
+     *
+     * @param header Header row of the file
+     * @return Column positions for the file's rows
+     * @throws CsvException if a column this reader needs is missing from the header
+     */
+    CsvColumnMapping resolveColumns(String[] header) throws CsvException {
+        return CsvColumnMapping.resolve(header, columns);
+    }
+
+    /**
+     * Starts a validation session; one per file and thread
+     *
+     * @param mapping Column positions in the file, from resolveColumns
+     * @return New session applying this reader's policy
+     */
+    RowSession newSession(CsvColumnMapping mapping) {
+        return new RowSession(mapping);
+    }
+
+    /**
+     * Pushes quarantined rows written so far to disk
+     *
+     * @throws IOException if the file cannot be written
+     */
+    synchronized void flushQuarantine() throws IOException {
+        if (quarantineWriter != null) {
+            quarantineWriter.flush();
+        }
+    }
+
+    /**
+     * Applies the bad row policy to a rejected row
+     */
+    private void reject(String[] row, long rowNumber, RowError error, CsvColumnMapping mapping)
+            throws IOException, CsvException {
+        errorReport.record(rowNumber, error, row);
+        if (badRowPolicy == BadRowPolicy.FAIL_FAST) {
+            CsvException exception = new CsvException("Invalid row " + rowNumber + ": " + error.getDescription());
+            exception.setLineNumber(rowNumber);
+            throw exception;
+        }
+        if (badRowPolicy == BadRowPolicy.QUARANTINE) {
+            quarantine(row, rowNumber, error, mapping);
+        }
+    }
+
     /**
-     * Parses a CSV row into a SalesRecord object
-     * 
-     * Format: ProductID,ProductName,Category,SaleDate,Amount,Quantity,Region,SalesRep
-     * 
+     * Appends a rejected row to the quarantine file in CSV_HEADER column order
+     *
+     * Files may order their columns differently, so fields are written by mapping
+     * rather than copied: every row lines up with the quarantine header. Columns the
+     * reader does not map (projected out or absent) are left empty and extra columns
+     * are dropped. A malformed line is kept whole in the first column.
+     */
+    private synchronized void quarantine(String[] row, long rowNumber, RowError error, CsvColumnMapping mapping)
+            throws IOException {
+        if (quarantineWriter == null) {
+            boolean newFile = !Files.exists(quarantineFile) || Files.size(quarantineFile) == 0;
+            quarantineWriter = new CSVWriter(Files.newBufferedWriter(quarantineFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+            if (newFile) {
+                quarantineWriter.writeNext(("RowNumber,Error," + CSV_HEADER).split(","), false);
+            }
+        }
+        String[] line = new String[error == RowError.MALFORMED_LINE ? 3 : HEADER_COLUMNS.length + 2];
+        line[0] = Long.toString(rowNumber);
+        line[1] = error.name();
+        if (error == RowError.MALFORMED_LINE) {
+            line[2] = row[0];
+        } else {
+            for (int i = 0; i < HEADER_COLUMNS.length; i++) {
+                String value = mapping.valueIfPresent(row, HEADER_COLUMNS[i]);
+                line[i + 2] = value == null ? "" : value;
+            }
+        }
+        quarantineWriter.writeNext(line, false);
+    }
+
+    /**
+     * Checks a row without throwing
+     *
+     * Only mapped columns are checked; a projected-out ProductName may be blank.
+     *
      * @param row CSV row as string array
-     * @return Parsed SalesRecord
-     */
-    private SalesRecord parseRow(String[] row) {
-        if (row.length < 8) {
-            throw new IllegalArgumentException("Row must have at least 8 columns");
-        }
-        
-        String productId = row[0];
-        String productName = row[1];
-        String category = row[2];
-        
-        LocalDate saleDate = LocalDate.parse(row[3], DATE_FORMATTER);
-        BigDecimal amount = new BigDecimal(row[4]).setScale(2, RoundingMode.HALF_UP);
-        int quantity = Integer.parseInt(row[5]);
-        String region = row[6];
-        String salesRep = row[7];
-        
-        return new SalesRecord(productId, productName, category, saleDate, 
-                              amount, quantity, region, salesRep);
+     * @param mapping Column positions in the file
+     * @return null if the row can be parsed, otherwise the first problem found
+     */
+    static RowError validateRow(String[] row, CsvColumnMapping mapping) {
+        if (row.length < mapping.getMinimumRowLength()) {
+            return RowError.TOO_FEW_COLUMNS;
+        }
+        if (isBlank(mapping.value(row, SalesColumn.PRODUCT_ID))) {
+            return RowError.MISSING_PRODUCT_ID;
+        }
+        if (mapping.isMapped(SalesColumn.PRODUCT_NAME) && isBlank(mapping.value(row, SalesColumn.PRODUCT_NAME))) {
+            return RowError.MISSING_PRODUCT_NAME;
+        }
+        if (!isDate(mapping.value(row, SalesColumn.SALE_DATE))) {
+            return RowError.INVALID_DATE;
+        }
+        if (!isDecimal(mapping.value(row, SalesColumn.AMOUNT))) {
+            return RowError.INVALID_AMOUNT;
+        }
+        return checkQuantity(mapping.value(row, SalesColumn.QUANTITY));
+    }
+
+    private static boolean isBlank(String value) {
+        return value.trim().isEmpty();
+    }
+
+    // yyyy-MM-dd with a real month and a day of 1-31
+    private static boolean isDate(String value) {
+        if (value.length() != 10 || value.charAt(4) != '-' || value.charAt(7) != '-') {
+            return false;
+        }
+        int year = digits(value, 0, 4);
+        int month = digits(value, 5, 7);
+        int day = digits(value, 8, 10);
+        return year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= 31;
+    }
+
+    // Returns the number in value[start, end), or -1 if any character is not a digit
+    private static int digits(String value, int start, int end) {
+        int result = 0;
+        for (int i = start; i < end; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result;
+    }
+
+    // The BigDecimal(String) grammar: [sign] digits [. digits] [e [sign] digits]
+    private static boolean isDecimal(String value) {
+        int length = value.length();
+        int i = 0;
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        int mantissaDigits = 0;
+        boolean seenPoint = false;
+        for (; i < length; i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                mantissaDigits++;
+            } else if (c == '.' && !seenPoint) {
+                seenPoint = true;
+            } else {
+                break;
+            }
+        }
+        if (mantissaDigits == 0) {
+            return false;
+        }
+        if (i == length) {
+            return true;
+        }
+        if (value.charAt(i) != 'e' && value.charAt(i) != 'E') {
+            return false;
+        }
+        i++;
+        if (i < length && (value.charAt(i) == '+' || value.charAt(i) == '-')) {
+            i++;
+        }
+        int exponentDigits = length - i;
+        return exponentDigits >= 1 && exponentDigits <= MAX_EXPONENT_DIGITS && digits(value, i, length) >= 0;
+    }
+
+    // The Integer.parseInt grammar, range checked without parsing
+    private static RowError checkQuantity(String value) {
+        int length = value.length();
+        int start = 0;
+        boolean negative = false;
+        if (length > 0 && (value.charAt(0) == '+' || value.charAt(0) == '-')) {
+            negative = value.charAt(0) == '-';
+            start = 1;
+        }
+        int digitCount = length - start;
+        if (digitCount < 1 || digitCount > 10) {
+            return RowError.INVALID_QUANTITY;
+        }
+        long magnitude = 0;
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return RowError.INVALID_QUANTITY;
+            }
+            magnitude = magnitude * 10 + (c - '0');
+        }
+        if (magnitude > (negative ? -(long) Integer.MIN_VALUE : Integer.MAX_VALUE)) {
+            return RowError.INVALID_QUANTITY;
+        }
+        return negative && magnitude > 0 ? RowError.NEGATIVE_QUANTITY : null;
+    }
+
+    /**
+     * RowSession Class
+     *
+     * Validates and converts the rows of one file on one thread, applying the
+     * reader's policy, and counts what it rejected for the end-of-file warning.
+     * Text fields are deduplicated through a map owned by the session, so records
+     * share one copy of each name without touching the JVM-wide string table.
+     */
+    final class RowSession {
+        private final CsvColumnMapping mapping;
+        private final long[] rejectedByError = new long[RowError.values().length];
+        private final Map<String, String> strings = new HashMap<>();
+        private long rejected;
+
+        private RowSession(CsvColumnMapping mapping) {
+            this.mapping = mapping;
+        }
+
+        /**
+         * Parses a row, or rejects it according to the policy
+         *
+         * @param row CSV row as string array
+         * @param rowNumber Row number in the file (header = 1)
+         * @return Parsed record, or null if the row was rejected
+         * @throws IOException if the quarantine file cannot be written
+         * @throws CsvException if the row is invalid under FAIL_FAST
+         */
+        SalesRecord accept(String[] row, long rowNumber) throws IOException, CsvException {
+            RowError error = validateRow(row, mapping);
+            if (error == null) {
+                // Validated above, so none of these parse calls can throw
+                BigDecimal amount = new BigDecimal(mapping.value(row, SalesColumn.AMOUNT)).setScale(2, RoundingMode.HALF_UP);
+                if (amount.signum() >= 0) {
+                    return toRecord(row, amount);
+                }
+                error = RowError.NEGATIVE_AMOUNT;
+            }
+            reject(row, rowNumber, error);
+            return null;
+        }
+
+        /**
+         * Rejects a row that could not even be split into fields
+         */
+        void rejectMalformed(String line, long rowNumber) throws IOException, CsvException {
+            reject(new String[] {line}, rowNumber, RowError.MALFORMED_LINE);
+        }
+
+        long getRejectedCount() {
+            return rejected;
+        }
+
+        /**
+         * Adds another session's counts, to warn once for work split across threads
+         */
+        void absorb(RowSession other) {
+            rejected += other.rejected;
+            for (int i = 0; i < rejectedByError.length; i++) {
+                rejectedByError[i] += other.rejectedByError[i];
+            }
+        }
+
+        private void reject(String[] row, long rowNumber, RowError error) throws IOException, CsvException {
+            rejected++;
+            rejectedByError[error.ordinal()]++;
+            CSVDataReader.this.reject(row, rowNumber, error, mapping);
+        }
+
+        /**
+         * Prints one warning summarizing the rows this session rejected
+         *
+         * @param source File or stream name for the message
+         */
+        void finish(String source) {
+            if (rejected == 0) {
+                return;
+            }
+            StringBuilder reasons = new StringBuilder();
+            for (RowError error : RowError.values()) {
+                long count = rejectedByError[error.ordinal()];
+                if (count > 0) {
+                    reasons.append(reasons.length() == 0 ? "" : ", ").append(error).append('=').append(count);
+                }
+            }
+            System.err.println("Warning: Skipped " + rejected + " invalid rows in " + source + " (" + reasons + ")");
+        }
+
+        private SalesRecord toRecord(String[] row, BigDecimal amount) {
+            String date = mapping.value(row, SalesColumn.SALE_DATE);
+            int year = digits(date, 0, 4);
+            int month = digits(date, 5, 7);
+            // Like the SMART date resolver, day 29-31 past the month end means its last day
+            int day = Math.min(digits(date, 8, 10), LocalDate.of(year, month, 1).lengthOfMonth());
+            String productName = mapping.value(row, SalesColumn.PRODUCT_NAME);
+            // Unmapped category, region and rep are null and get SalesRecord's defaults
+            return new SalesRecord(shared(mapping.value(row, SalesColumn.PRODUCT_ID)),
+                                   productName != null ? shared(productName) : NOT_LOADED,
+                                   shared(mapping.value(row, SalesColumn.CATEGORY)), LocalDate.of(year, month, day),
+                                   amount, Integer.parseInt(mapping.value(row, SalesColumn.QUANTITY)),
+                                   shared(mapping.value(row, SalesColumn.REGION)),
+                                   shared(mapping.value(row, SalesColumn.SALES_REP)));
+        }
+
+        // Trimmed here so SalesRecord's own trim() returns the shared instance unchanged
+        private String shared(String value) {
+            if (value == null) {
+                return null;
+            }
+            String trimmed = value.trim();
+            String existing = strings.putIfAbsent(trimmed, trimmed);
+            return existing != null ? existing : trimmed;
+        }
     }
 }
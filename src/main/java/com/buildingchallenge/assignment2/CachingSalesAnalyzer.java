@@ -0,0 +1,315 @@
+package com.buildingchallenge.assignment2;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * CachingSalesAnalyzer Class
+ *
+ * Purpose: Memoizing decorator over any SalesAnalyzerUtil. Results are cached per
+ * method and arguments in a size-bounded LRU map, so repeated dashboard queries
+ * against unchanged data skip the full scan.
+ *
+ * Invalidation: every cached entry belongs to the data version it was computed
+ * against. When the delegate reports a new version (records appended) the whole
+ * cache is dropped before the next lookup.
+ *
+ * Thread Safety: the LRU map is guarded by this object's monitor, but results are
+ * computed outside the lock so a slow query never blocks cache hits. All returned
+ * maps and lists are unmodifiable copies and can be shared freely across threads.
+ */
+public class CachingSalesAnalyzer implements SalesAnalyzerUtil {
+
+    private static final int DEFAULT_MAX_ENTRIES = 256;
+
+    private final SalesAnalyzerUtil delegate;
+    private final int maxEntries;
+
+    // Access-ordered LinkedHashMap gives LRU eviction via removeEldestEntry
+    private final LinkedHashMap<CacheKey, Object> cache;
+
+    // Version of the delegate's data the current cache contents were computed from
+    private long cachedVersion;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Constructor - Wraps the analyzer with a cache of the default size
+     *
+     * @param delegate Analyzer whose results are cached
+     */
+    public CachingSalesAnalyzer(SalesAnalyzerUtil delegate) {
+        this(delegate, DEFAULT_MAX_ENTRIES);
+    }
+
+    /**
+     * Constructor - Wraps the analyzer with a cache holding at most maxEntries results
+     *
+     * @param delegate Analyzer whose results are cached
+     * @param maxEntries Maximum number of cached results before LRU eviction
+     * @throws IllegalArgumentException if delegate is null or maxEntries is less than 1
+     */
+    public CachingSalesAnalyzer(SalesAnalyzerUtil delegate, int maxEntries) {
+        if (delegate == null) {
+            throw new IllegalArgumentException("Delegate analyzer cannot be null");
+        }
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.cachedVersion = delegate.getDataVersion();
+        this.cache = new LinkedHashMap<CacheKey, Object>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<CacheKey, Object> eldest) {
+                if (size() > CachingSalesAnalyzer.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    // Raw records are already an immutable view owned by the delegate, nothing to memoize
+    @Override
+    public List<SalesRecord> getSalesRecords() {
+        return delegate.getSalesRecords();
+    }
+
+    @Override
+    public BigDecimal getTotalSales() {
+        return cached("getTotalSales", delegate::getTotalSales);
+    }
+
+    @Override
+    public Map<String, BigDecimal> getSalesByCategory() {
+        return cached("getSalesByCategory", () -> immutableMap(delegate.getSalesByCategory()));
+    }
+
+    @Override
+    public Map<String, Long> getSalesCountByRegion() {
+        return cached("getSalesCountByRegion", () -> immutableMap(delegate.getSalesCountByRegion()));
+    }
+
+    @Override
+    public Map<String, BigDecimal> getTopProductsBySales(int n) {
+        return cached("getTopProductsBySales", () -> immutableMap(delegate.getTopProductsBySales(n)), n);
+    }
+
+    @Override
+    public Map<String, BigDecimal> getTopSalesReps(int n) {
+        return cached("getTopSalesReps", () -> immutableMap(delegate.getTopSalesReps(n)), n);
+    }
+
+    @Override
+    public Map<String, Long> getProductCountByCategory() {
+        return cached("getProductCountByCategory", () -> immutableMap(delegate.getProductCountByCategory()));
+    }
+
+    @Override
+    public List<SalesRecord> getSalesByDateRange(LocalDate startDate, LocalDate endDate) {
+        return cached("getSalesByDateRange",
+            () -> immutableList(delegate.getSalesByDateRange(startDate, endDate)), startDate, endDate);
+    }
+
+    @Override
+    public Map<String, Long> getApproxDistinctProductsByRegion() {
+        return cached("getApproxDistinctProductsByRegion",
+            () -> immutableMap(delegate.getApproxDistinctProductsByRegion()));
+    }
+
+    @Override
+    public Map<String, Long> getApproxDistinctProductsBySalesRep() {
+        return cached("getApproxDistinctProductsBySalesRep",
+            () -> immutableMap(delegate.getApproxDistinctProductsBySalesRep()));
+    }
+
+    // Arrays have identity equality, so the ranks are keyed by their list form
+    @Override
+    public Map<Double, BigDecimal> getOrderValueQuantiles(double... quantiles) {
+        double[] ranks = quantiles.clone();
+        return cached("getOrderValueQuantiles",
+            () -> immutableMap(delegate.getOrderValueQuantiles(ranks)), Arrays.toString(ranks));
+    }
+
+    @Override
+    public SalesTimeSeries getSalesTimeSeries(TimeGrain grain) {
+        return cached("getSalesTimeSeries", () -> delegate.getSalesTimeSeries(grain), grain);
+    }
+
+    @Override
+    public Map<String, SalesTimeSeries> getSalesTimeSeriesBy(TimeGrain grain, SalesColumn dimension) {
+        return cached("getSalesTimeSeriesBy",
+            () -> immutableMap(delegate.getSalesTimeSeriesBy(grain, dimension)), grain, dimension);
+    }
+
+    @Override
+    public long getDataVersion() {
+        return delegate.getDataVersion();
+    }
+
+    /**
+     * Drops every cached result regardless of data version
+     */
+    public synchronized void invalidateAll() {
+        if (!cache.isEmpty()) {
+            invalidations.incrementAndGet();
+        }
+        cache.clear();
+    }
+
+    /**
+     * Returns a point-in-time snapshot of the cache counters
+     *
+     * @return Hit, miss, eviction and invalidation counts plus current size
+     */
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits.get(), misses.get(), evictions.get(), invalidations.get(), cache.size());
+    }
+
+    /**
+     * Looks up a cached result, computing and storing it on a miss
+     *
+     * The version is read before computing, so a result that raced with an append is
+     * never published under the newer version. A reader whose version is already older
+     * than the cache's neither clears the cache nor publishes its result.
+     */
+    @SuppressWarnings("unchecked")
+    private <R> R cached(String method, Supplier<R> loader, Object... args) {
+        CacheKey key = new CacheKey(method, args);
+        long version = delegate.getDataVersion();
+
+        synchronized (this) {
+            checkVersion(version);
+            // Entries cached for a newer version are at least as fresh as this reader expects
+            Object value = cache.get(key);
+            if (value != null) {
+                hits.incrementAndGet();
+                return (R) value;
+            }
+        }
+
+        misses.incrementAndGet();
+        R result = loader.get();
+
+        synchronized (this) {
+            // Only publish if nobody invalidated the cache while we were computing
+            if (cachedVersion == version) {
+                cache.put(key, result);
+            }
+        }
+        return result;
+    }
+
+    // Caller must hold the monitor; the version only moves forward
+    private void checkVersion(long currentVersion) {
+        if (currentVersion > cachedVersion) {
+            if (!cache.isEmpty()) {
+                invalidations.incrementAndGet();
+            }
+            cache.clear();
+            cachedVersion = currentVersion;
+        }
+    }
+
+    // LinkedHashMap copy keeps the ranking order of top-N results
+    private static <K, V> Map<K, V> immutableMap(Map<K, V> source) {
+        return Collections.unmodifiableMap(new LinkedHashMap<>(source));
+    }
+
+    private static <T> List<T> immutableList(List<T> source) {
+        return Collections.unmodifiableList(new ArrayList<>(source));
+    }
+
+    /**
+     * Cache key made of the method name and its arguments
+     */
+    private static final class CacheKey {
+        private final String method;
+        private final List<Object> args;
+        private final int hash;
+
+        CacheKey(String method, Object[] args) {
+            this.method = method;
+            this.args = Arrays.asList(args);
+            this.hash = 31 * method.hashCode() + this.args.hashCode();
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof CacheKey)) return false;
+            CacheKey that = (CacheKey) obj;
+            return method.equals(that.method) && args.equals(that.args);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * CacheStats Class
+     *
+     * Immutable snapshot of the cache counters.
+     */
+    public static final class CacheStats {
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+        private final long invalidations;
+        private final int size;
+
+        CacheStats(long hits, long misses, long evictions, long invalidations, int size) {
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+            this.invalidations = invalidations;
+            this.size = size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public long getInvalidations() {
+            return invalidations;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public double getHitRate() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("CacheStats{hits=%d, misses=%d, evictions=%d, invalidations=%d, size=%d, hitRate=%.2f}",
+                                 hits, misses, evictions, invalidations, size, getHitRate());
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.buildingchallenge.assignment2;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ColumnarSalesData Class
+ *
+ * Purpose: Column-oriented copy of a record list for aggregation kernels. Amounts
+ * are stored as long cents and quantities as ints, and the string dimensions used
+ * for revenue breakdowns are dictionary-encoded into dense int ids, so a grouped
+ * revenue sum is a loop over three primitive arrays instead of BigDecimal math per
+ * record.
+ *
+ * Amounts with sub-cent precision cannot be represented; build() then returns an
+ * instance with isCentsExact() == false and callers keep using the BigDecimal path.
+ *
+ * Thread Safety: immutable after build().
+ */
+public final class ColumnarSalesData {
+
+    static final SalesColumn[] ENCODED_COLUMNS = {
+        SalesColumn.CATEGORY, SalesColumn.REGION, SalesColumn.PRODUCT_NAME, SalesColumn.SALES_REP
+    };
+
+    private final List<SalesRecord> records;
+    private final boolean centsExact;
+    private final long[] amountCents;
+    private final int[] quantities;
+    private final Map<SalesColumn, int[]> codes;
+    private final Map<SalesColumn, String[]> dictionaries;
+
+    private ColumnarSalesData(List<SalesRecord> records, boolean centsExact, long[] amountCents, int[] quantities,
+                              Map<SalesColumn, int[]> codes, Map<SalesColumn, String[]> dictionaries) {
+        this.records = records;
+        this.centsExact = centsExact;
+        this.amountCents = amountCents;
+        this.quantities = quantities;
+        this.codes = codes;
+        this.dictionaries = dictionaries;
+    }
+
+    /**
+     * Converts records to columns in one pass
+     *
+     * @param records Records to convert; must not change afterwards
+     * @return Columnar view of the records
+     */
+    public static ColumnarSalesData build(List<SalesRecord> records) {
+        int size = records.size();
+        long[] amountCents = new long[size];
+        int[] quantities = new int[size];
+        Map<SalesColumn, int[]> codes = new EnumMap<>(SalesColumn.class);
+        Map<SalesColumn, Map<String, Integer>> encoders = new EnumMap<>(SalesColumn.class);
+        for (SalesColumn column : ENCODED_COLUMNS) {
+            codes.put(column, new int[size]);
+            encoders.put(column, new HashMap<>());
+        }
+
+        for (int row = 0; row < size; row++) {
+            SalesRecord record = records.get(row);
+            if (!record.isCentsExact()) {
+                return new ColumnarSalesData(records, false, null, null, null, null);
+            }
+            amountCents[row] = record.getAmountCents();
+            quantities[row] = record.getQuantity();
+            for (SalesColumn column : ENCODED_COLUMNS) {
+                Map<String, Integer> encoder = encoders.get(column);
+                String value = (String) column.valueOf(record);
+                Integer id = encoder.get(value);
+                if (id == null) {
+                    id = encoder.size();
+                    encoder.put(value, id);
+                }
+                codes.get(column)[row] = id;
+            }
+        }
+
+        Map<SalesColumn, String[]> dictionaries = new EnumMap<>(SalesColumn.class);
+        for (Map.Entry<SalesColumn, Map<String, Integer>> entry : encoders.entrySet()) {
+            String[] dictionary = new String[entry.getValue().size()];
+            entry.getValue().forEach((value, id) -> dictionary[id] = value);
+            dictionaries.put(entry.getKey(), dictionary);
+        }
+        return new ColumnarSalesData(records, true, amountCents, quantities, codes, dictionaries);
+    }
+
+    /**
+     * @return The record list these columns were built from
+     */
+    public List<SalesRecord> getRecords() {
+        return records;
+    }
+
+    /**
+     * @return true if every amount was representable in whole cents
+     */
+    public boolean isCentsExact() {
+        return centsExact;
+    }
+
+    public int size() {
+        return records.size();
+    }
+
+    /**
+     * Total revenue (amount x quantity) in cents
+     */
+    public long totalValueCents(AggregationKernels kernels) {
+        return kernels.sumOfProducts(amountCents, quantities, amountCents.length);
+    }
+
+    /**
+     * Revenue in cents per distinct value of an encoded column
+     *
+     * @param kernels Kernels to run the grouped sum with
+     * @param column One of CATEGORY, REGION, PRODUCT_NAME, SALES_REP
+     * @return Map from column value to revenue in cents
+     */
+    public Map<String, Long> totalValueCentsBy(AggregationKernels kernels, SalesColumn column) {
+        int[] groups = codes.get(column);
+        if (groups == null) {
+            throw new IllegalArgumentException("Column " + column + " is not dictionary-encoded");
+        }
+        String[] dictionary = dictionaries.get(column);
+        long[] sums = new long[dictionary.length];
+        kernels.groupedSumOfProducts(amountCents, quantities, groups, sums, amountCents.length);
+
+        Map<String, Long> result = new HashMap<>();
+        for (int id = 0; id < dictionary.length; id++) {
+            result.put(dictionary[id], sums[id]);
+        }
+        return result;
+    }
+
+    long[] getAmountCents() {
+        return amountCents;
+    }
+
+    int[] getQuantities() {
+        return quantities;
+    }
+
+    int[] getCodes(SalesColumn column) {
+        return codes.get(column);
+    }
+}
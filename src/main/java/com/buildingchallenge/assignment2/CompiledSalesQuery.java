@@ -0,0 +1,327 @@
+package com.buildingchallenge.assignment2;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * CompiledSalesQuery Class
+ *
+ * Purpose: Executable form of a SalesQuery. Filters, dimensions and aggregates are
+ * flattened into plain arrays once at compile time, so execution is a single fused
+ * loop over the records: test filters, look up the group, update every aggregate.
+ * No intermediate collections or per-stage streams are created.
+ *
+ * Measures are accumulated as long cents (AMOUNT, TOTAL_VALUE) or units (QUANTITY)
+ * from the record's primitive getters, the same way the hand-written reports sum,
+ * so a row allocates nothing. A group's aggregate switches to BigDecimal only when
+ * it meets a record that is not cents-exact or its long sum would overflow.
+ *
+ * Thread Safety: a compiled query is immutable and may be executed concurrently;
+ * all mutable state lives in the execute() call.
+ */
+public final class CompiledSalesQuery {
+
+    private final SalesQuery query;
+    private final SalesQuery.Filter[] filters;
+    private final SalesColumn[] dimensions;
+    private final Aggregate[] functions;
+    private final SalesColumn[] measures;
+
+    CompiledSalesQuery(SalesQuery query) {
+        this.query = query;
+        this.filters = query.getFilters().toArray(new SalesQuery.Filter[0]);
+        this.dimensions = query.getGroupBy().toArray(new SalesColumn[0]);
+
+        List<SalesQuery.AggregateSpec> specs = query.getAggregates();
+        this.functions = new Aggregate[specs.size()];
+        this.measures = new SalesColumn[specs.size()];
+        for (int i = 0; i < specs.size(); i++) {
+            functions[i] = specs.get(i).getFunction();
+            measures[i] = specs.get(i).getColumn();
+        }
+    }
+
+    /**
+     * Runs the query over the records in one pass
+     *
+     * @param records Records to scan
+     * @return Grouped aggregate rows, in order of first appearance
+     */
+    public SalesQueryResult execute(Iterable<SalesRecord> records) {
+        Accumulator accumulator = newAccumulator();
+        for (SalesRecord record : records) {
+            if (matches(record)) {
+                accumulator.add(record);
+            }
+        }
+        return accumulator.finish();
+    }
+
+    /**
+     * Runs the query using bitmap indexes to pick candidate rows
+     *
+     * Filters the index can answer are resolved by bitmap intersection; only the
+     * matching rows are visited and tested against the remaining filters. Falls back
+     * to a full scan when no filter is indexable.
+     *
+     * @param index Index built over the records to query
+     * @return Grouped aggregate rows, in row order of first appearance
+     */
+    public SalesQueryResult execute(SalesBitmapIndex index) {
+        SalesBitmapIndex.Selection selection = index.select(query.getFilters());
+        if (selection == null) {
+            return execute(index.getRecords());
+        }
+
+        List<SalesRecord> records = index.getRecords();
+        SalesQuery.Filter[] residual = selection.getResidualFilters().toArray(new SalesQuery.Filter[0]);
+        Accumulator accumulator = newAccumulator();
+        selection.getRows().forEach(row -> {
+            SalesRecord record = records.get(row);
+            if (matches(residual, record)) {
+                accumulator.add(record);
+            }
+        });
+        return accumulator.finish();
+    }
+
+    SalesQuery getQuery() {
+        return query;
+    }
+
+    /**
+     * Tests a record against every filter of the query
+     */
+    boolean matches(SalesRecord record) {
+        return matches(filters, record);
+    }
+
+    private static boolean matches(SalesQuery.Filter[] filters, SalesRecord record) {
+        for (SalesQuery.Filter filter : filters) {
+            if (!filter.test(record)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Creates the per-execution group table; callers that select rows themselves
+     * (e.g. from an index) feed matching records straight into it
+     */
+    Accumulator newAccumulator() {
+        return new Accumulator();
+    }
+
+    /**
+     * Accumulator Class
+     *
+     * Group table for one execution. The lookup key is a reused probe, so a record
+     * only allocates when it opens a new group.
+     */
+    final class Accumulator {
+        private final Map<GroupKey, GroupState> groups = new LinkedHashMap<>();
+        private final GroupKey probe = new GroupKey(new Object[dimensions.length]);
+
+        void add(SalesRecord record) {
+            for (int d = 0; d < dimensions.length; d++) {
+                probe.values[d] = dimensions[d].valueOf(record);
+            }
+            probe.rehash();
+
+            GroupState state = groups.get(probe);
+            if (state == null) {
+                state = new GroupState(functions.length);
+                groups.put(new GroupKey(probe.values.clone()), state);
+            }
+
+            state.count++;
+            BigDecimal[] slots = state.slots;
+            for (int a = 0; a < functions.length; a++) {
+                if (functions[a] == Aggregate.COUNT) {
+                    continue;
+                }
+                SalesColumn measure = measures[a];
+                if (slots[a] == null && (measure == SalesColumn.QUANTITY || record.isCentsExact())) {
+                    int scale = measure == SalesColumn.QUANTITY ? 0 : record.getAmountScale();
+                    if (state.addExact(a, functions[a], exactValueOf(measure, record), scale)) {
+                        continue;
+                    }
+                }
+                BigDecimal value = measure.numericValueOf(record);
+                BigDecimal current = slots[a] != null ? slots[a] : state.exactDecimal(a, unitScaleOf(measure));
+                switch (functions[a]) {
+                    case SUM:
+                    case AVG:
+                        slots[a] = current == null ? value : current.add(value);
+                        break;
+                    case MIN:
+                        slots[a] = current == null || value.compareTo(current) < 0 ? value : current;
+                        break;
+                    case MAX:
+                        slots[a] = current == null || value.compareTo(current) > 0 ? value : current;
+                        break;
+                    default:
+                        break;
+                }
+            }
+        }
+
+        SalesQueryResult finish() {
+            List<SalesQueryResult.Row> rows = new ArrayList<>(Math.max(groups.size(), 1));
+            for (Map.Entry<GroupKey, GroupState> entry : groups.entrySet()) {
+                rows.add(toRow(entry.getKey().values, entry.getValue()));
+            }
+            // A global aggregate over no matching rows still yields one row, as in SQL
+            if (dimensions.length == 0 && rows.isEmpty()) {
+                rows.add(toRow(new Object[0], new GroupState(functions.length)));
+            }
+            return new SalesQueryResult(query.getGroupBy(), query.getAggregates(), rows);
+        }
+
+        private SalesQueryResult.Row toRow(Object[] keys, GroupState state) {
+            BigDecimal[] values = new BigDecimal[functions.length];
+            for (int a = 0; a < functions.length; a++) {
+                BigDecimal slot = functions[a] == Aggregate.COUNT ? null
+                    : state.slots[a] != null ? state.slots[a] : state.exactDecimal(a, unitScaleOf(measures[a]));
+                switch (functions[a]) {
+                    case COUNT:
+                        values[a] = BigDecimal.valueOf(state.count);
+                        break;
+                    case SUM:
+                        values[a] = slot == null ? BigDecimal.ZERO : slot;
+                        break;
+                    case AVG:
+                        values[a] = slot == null ? null
+                            : slot.divide(BigDecimal.valueOf(state.count), 2, RoundingMode.HALF_UP);
+                        break;
+                    default:
+                        values[a] = slot;
+                        break;
+                }
+            }
+            return new SalesQueryResult.Row(Arrays.asList(keys), Arrays.asList(values));
+        }
+    }
+
+    // Measure value in its long unit: cents for AMOUNT and TOTAL_VALUE, units for QUANTITY
+    private static long exactValueOf(SalesColumn measure, SalesRecord record) {
+        switch (measure) {
+            case AMOUNT:
+                return record.getAmountCents();
+            case QUANTITY:
+                return record.getQuantity();
+            default:
+                return record.getTotalValueCents();
+        }
+    }
+
+    // Number of decimal places of the long unit of a measure
+    private static int unitScaleOf(SalesColumn measure) {
+        return measure == SalesColumn.QUANTITY ? 0 : 2;
+    }
+
+    /**
+     * Composite group key compared element-wise
+     */
+    private static final class GroupKey {
+        private final Object[] values;
+        private int hash;
+
+        GroupKey(Object[] values) {
+            this.values = values;
+            rehash();
+        }
+
+        void rehash() {
+            hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj instanceof GroupKey && Arrays.equals(values, ((GroupKey) obj).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+    /**
+     * Running aggregate values for one group; COUNT and AVG share the row count
+     *
+     * An aggregate lives in exact[] (in its measure's long unit, with the scale the
+     * BigDecimal result would have) until slots[] is set; from then on it is a BigDecimal.
+     */
+    private static final class GroupState {
+        private long count;
+        private final long[] exact;
+        private final int[] scales;
+        private final boolean[] present;
+        private final BigDecimal[] slots;
+
+        GroupState(int aggregateCount) {
+            this.exact = new long[aggregateCount];
+            this.scales = new int[aggregateCount];
+            this.present = new boolean[aggregateCount];
+            this.slots = new BigDecimal[aggregateCount];
+        }
+
+        /**
+         * Folds a value into the long accumulator
+         *
+         * @return false if the sum would overflow; the caller then continues in BigDecimal
+         */
+        boolean addExact(int slot, Aggregate function, long value, int scale) {
+            if (!present[slot]) {
+                exact[slot] = value;
+                scales[slot] = scale;
+                present[slot] = true;
+                return true;
+            }
+            switch (function) {
+                case SUM:
+                case AVG:
+                    try {
+                        exact[slot] = Math.addExact(exact[slot], value);
+                    } catch (ArithmeticException e) {
+                        return false;
+                    }
+                    // BigDecimal.add keeps the larger scale
+                    scales[slot] = Math.max(scales[slot], scale);
+                    return true;
+                case MIN:
+                    if (value < exact[slot]) {
+                        exact[slot] = value;
+                        scales[slot] = scale;
+                    }
+                    return true;
+                case MAX:
+                    if (value > exact[slot]) {
+                        exact[slot] = value;
+                        scales[slot] = scale;
+                    }
+                    return true;
+                default:
+                    return true;
+            }
+        }
+
+        /**
+         * @return The long accumulator as a BigDecimal, or null if no value was added.
+         *         Rescaling is exact: every value summed was a multiple of 10^-scale.
+         */
+        BigDecimal exactDecimal(int slot, int unitScale) {
+            if (!present[slot]) {
+                return null;
+            }
+            return BigDecimal.valueOf(exact[slot], unitScale).setScale(scales[slot]);
+        }
+    }
+}
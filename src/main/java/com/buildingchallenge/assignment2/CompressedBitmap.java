@@ -0,0 +1,434 @@
+package com.buildingchallenge.assignment2;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * CompressedBitmap Class
+ *
+ * Purpose: Compressed set of non-negative int row ids, organised the same way as a
+ * Roaring bitmap. Ids are split into a 16-bit high key and a 16-bit low value; each
+ * high key owns a container holding its low values:
+ * - ArrayContainer: sorted char[] for sparse chunks (up to 4096 values, 2 bytes each)
+ * - BitmapContainer: 1024 longs (8 KB) once a chunk is denser than that
+ *
+ * Intersections and unions are done container by container, so a query only pays
+ * for the 64K-row chunks that actually contain matches.
+ *
+ * Thread Safety: not thread-safe while being built with add(). seal() makes a bitmap
+ * read-only, after which it may be shared. and()/or() always return new sealed
+ * bitmaps; they reuse containers of sealed inputs and copy those of unsealed ones,
+ * so a later add() on an input never changes a result.
+ */
+public final class CompressedBitmap {
+
+    // Array containers switch to bitmaps above this many values (where 2 bytes/value > 8 KB)
+    private static final int ARRAY_MAX = 4096;
+
+    private char[] keys;
+    private Container[] containers;
+    private int size;
+
+    // Set by seal(); sealed bitmaps may share containers with and()/or() results
+    private boolean sealed;
+
+    public CompressedBitmap() {
+        this.keys = new char[4];
+        this.containers = new Container[4];
+    }
+
+    /**
+     * Adds a row id. Ascending ids (the normal case when indexing a list) take a
+     * constant-time append path.
+     *
+     * @param value Non-negative row id
+     * @throws IllegalArgumentException if value is negative
+     * @throws IllegalStateException if this bitmap is sealed
+     */
+    public void add(int value) {
+        if (sealed) {
+            throw new IllegalStateException("Sealed bitmaps are read-only");
+        }
+        if (value < 0) {
+            throw new IllegalArgumentException("Row id must be non-negative");
+        }
+        char high = (char) (value >>> 16);
+        int index;
+        if (size > 0 && keys[size - 1] == high) {
+            index = size - 1;
+        } else {
+            index = findKey(high);
+            if (index < 0) {
+                index = -index - 1;
+                insertContainer(index, high, new ArrayContainer(new char[4], 0));
+            }
+        }
+        containers[index] = containers[index].add((char) value);
+    }
+
+    /**
+     * Makes this bitmap read-only, so and()/or() can share its containers
+     *
+     * @return This bitmap
+     */
+    public CompressedBitmap seal() {
+        sealed = true;
+        return this;
+    }
+
+    public boolean isSealed() {
+        return sealed;
+    }
+
+    public boolean contains(int value) {
+        if (value < 0) {
+            return false;
+        }
+        int index = findKey((char) (value >>> 16));
+        return index >= 0 && containers[index].contains((char) value);
+    }
+
+    public int cardinality() {
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            total += containers[i].cardinality();
+        }
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Intersection of this bitmap and another
+     *
+     * @param other Bitmap to intersect with
+     * @return New bitmap holding ids present in both
+     */
+    public CompressedBitmap and(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size && j < other.size) {
+            if (keys[i] < other.keys[j]) {
+                i++;
+            } else if (keys[i] > other.keys[j]) {
+                j++;
+            } else {
+                Container container = containers[i].and(other.containers[j]);
+                if (container.cardinality() > 0) {
+                    result.appendContainer(keys[i], container);
+                }
+                i++;
+                j++;
+            }
+        }
+        result.sealed = true;
+        return result;
+    }
+
+    /**
+     * Union of this bitmap and another
+     *
+     * @param other Bitmap to merge with
+     * @return New bitmap holding ids present in either
+     */
+    public CompressedBitmap or(CompressedBitmap other) {
+        CompressedBitmap result = new CompressedBitmap();
+        int i = 0;
+        int j = 0;
+        while (i < size || j < other.size) {
+            if (j >= other.size || (i < size && keys[i] < other.keys[j])) {
+                result.appendContainer(keys[i], sealed ? containers[i] : containers[i].copy());
+                i++;
+            } else if (i >= size || keys[i] > other.keys[j]) {
+                result.appendContainer(other.keys[j], other.sealed ? other.containers[j] : other.containers[j].copy());
+                j++;
+            } else {
+                result.appendContainer(keys[i], containers[i].or(other.containers[j]));
+                i++;
+                j++;
+            }
+        }
+        result.sealed = true;
+        return result;
+    }
+
+    /**
+     * Visits every id in ascending order
+     *
+     * @param action Callback receiving each id
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < size; i++) {
+            containers[i].forEach(keys[i] << 16, action);
+        }
+    }
+
+    public int[] toArray() {
+        int[] values = new int[cardinality()];
+        int[] position = {0};
+        forEach(value -> values[position[0]++] = value);
+        return values;
+    }
+
+    @Override
+    public String toString() {
+        return "CompressedBitmap{cardinality=" + cardinality() + ", containers=" + size + "}";
+    }
+
+    private int findKey(char high) {
+        return Arrays.binarySearch(keys, 0, size, high);
+    }
+
+    private void insertContainer(int index, char high, Container container) {
+        ensureCapacity();
+        System.arraycopy(keys, index, keys, index + 1, size - index);
+        System.arraycopy(containers, index, containers, index + 1, size - index);
+        keys[index] = high;
+        containers[index] = container;
+        size++;
+    }
+
+    private void appendContainer(char high, Container container) {
+        ensureCapacity();
+        keys[size] = high;
+        containers[size] = container;
+        size++;
+    }
+
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, size * 2);
+            containers = Arrays.copyOf(containers, size * 2);
+        }
+    }
+
+    /**
+     * Values of one 64K chunk
+     */
+    private abstract static class Container {
+        abstract Container add(char value);
+        abstract boolean contains(char value);
+        abstract int cardinality();
+        abstract Container and(Container other);
+        abstract Container or(Container other);
+        abstract Container copy();
+        abstract void forEach(int base, IntConsumer action);
+    }
+
+    private static final class ArrayContainer extends Container {
+        private char[] values;
+        private int cardinality;
+
+        ArrayContainer(char[] values, int cardinality) {
+            this.values = values;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            int index = cardinality == 0 || values[cardinality - 1] < value
+                ? -cardinality - 1
+                : Arrays.binarySearch(values, 0, cardinality, value);
+            if (index >= 0) {
+                return this;
+            }
+            if (cardinality == ARRAY_MAX) {
+                return toBitmap().add(value);
+            }
+            index = -index - 1;
+            if (cardinality == values.length) {
+                values = Arrays.copyOf(values, Math.min(Math.max(cardinality * 2, 4), ARRAY_MAX));
+            }
+            System.arraycopy(values, index, values, index + 1, cardinality - index);
+            values[index] = value;
+            cardinality++;
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return Arrays.binarySearch(values, 0, cardinality, value) >= 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.and(this);
+            }
+            ArrayContainer that = (ArrayContainer) other;
+            char[] out = new char[Math.min(cardinality, that.cardinality)];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality && j < that.cardinality) {
+                if (values[i] < that.values[j]) {
+                    i++;
+                } else if (values[i] > that.values[j]) {
+                    j++;
+                } else {
+                    out[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            return new ArrayContainer(out, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            if (other instanceof BitmapContainer) {
+                return other.or(this);
+            }
+            ArrayContainer that = (ArrayContainer) other;
+            char[] out = new char[cardinality + that.cardinality];
+            int count = 0;
+            int i = 0;
+            int j = 0;
+            while (i < cardinality || j < that.cardinality) {
+                if (j >= that.cardinality || (i < cardinality && values[i] < that.values[j])) {
+                    out[count++] = values[i++];
+                } else if (i >= cardinality || values[i] > that.values[j]) {
+                    out[count++] = that.values[j++];
+                } else {
+                    out[count++] = values[i];
+                    i++;
+                    j++;
+                }
+            }
+            ArrayContainer merged = new ArrayContainer(out, count);
+            return count > ARRAY_MAX ? merged.toBitmap() : merged;
+        }
+
+        @Override
+        Container copy() {
+            return new ArrayContainer(Arrays.copyOf(values, cardinality), cardinality);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < cardinality; i++) {
+                action.accept(base | values[i]);
+            }
+        }
+
+        BitmapContainer toBitmap() {
+            BitmapContainer bitmap = new BitmapContainer(new long[1024], 0);
+            for (int i = 0; i < cardinality; i++) {
+                bitmap.add(values[i]);
+            }
+            return bitmap;
+        }
+    }
+
+    private static final class BitmapContainer extends Container {
+        private final long[] words;
+        private int cardinality;
+
+        BitmapContainer(long[] words, int cardinality) {
+            this.words = words;
+            this.cardinality = cardinality;
+        }
+
+        @Override
+        Container add(char value) {
+            long before = words[value >>> 6];
+            long after = before | (1L << value);
+            if (before != after) {
+                words[value >>> 6] = after;
+                cardinality++;
+            }
+            return this;
+        }
+
+        @Override
+        boolean contains(char value) {
+            return (words[value >>> 6] & (1L << value)) != 0;
+        }
+
+        @Override
+        int cardinality() {
+            return cardinality;
+        }
+
+        @Override
+        Container and(Container other) {
+            if (other instanceof ArrayContainer) {
+                ArrayContainer that = (ArrayContainer) other;
+                char[] out = new char[that.cardinality];
+                int count = 0;
+                for (int i = 0; i < that.cardinality; i++) {
+                    if (contains(that.values[i])) {
+                        out[count++] = that.values[i];
+                    }
+                }
+                return new ArrayContainer(out, count);
+            }
+            BitmapContainer that = (BitmapContainer) other;
+            long[] out = new long[1024];
+            int count = 0;
+            for (int i = 0; i < out.length; i++) {
+                out[i] = words[i] & that.words[i];
+                count += Long.bitCount(out[i]);
+            }
+            return count > ARRAY_MAX ? new BitmapContainer(out, count) : toArray(out, count);
+        }
+
+        @Override
+        Container or(Container other) {
+            long[] out = words.clone();
+            BitmapContainer result = new BitmapContainer(out, cardinality);
+            if (other instanceof ArrayContainer) {
+                ArrayContainer that = (ArrayContainer) other;
+                for (int i = 0; i < that.cardinality; i++) {
+                    result.add(that.values[i]);
+                }
+                return result;
+            }
+            BitmapContainer that = (BitmapContainer) other;
+            int count = 0;
+            for (int i = 0; i < out.length; i++) {
+                out[i] |= that.words[i];
+                count += Long.bitCount(out[i]);
+            }
+            result.cardinality = count;
+            return result;
+        }
+
+        @Override
+        Container copy() {
+            return new BitmapContainer(words.clone(), cardinality);
+        }
+
+        @Override
+        void forEach(int base, IntConsumer action) {
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    action.accept(base | (i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+        }
+
+        private static ArrayContainer toArray(long[] words, int cardinality) {
+            char[] out = new char[cardinality];
+            int count = 0;
+            for (int i = 0; i < words.length; i++) {
+                long word = words[i];
+                while (word != 0) {
+                    out[count++] = (char) ((i << 6) | Long.numberOfTrailingZeros(word));
+                    word &= word - 1;
+                }
+            }
+            return new ArrayContainer(out, count);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package com.buildingchallenge.assignment2;
+
+import com.opencsv.exceptions.CsvException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * CsvColumnMapping Class
+ *
+ * Purpose: Position of each stored SalesColumn in one CSV file, resolved once from
+ * the header row, so rows are read by index without looking at the header again.
+ * Columns may appear in any order and unknown extra columns are ignored. Header names
+ * are matched ignoring case, spaces and underscores ("Product ID", "product_id").
+ *
+ * Only the columns of the projection are mapped; CSVDataReader neither validates nor
+ * decodes the others. The key and value columns (KEY_COLUMNS) are always mapped
+ * since every SalesRecord needs them.
+ *
+ * Thread Safety: immutable.
+ */
+final class CsvColumnMapping {
+
+    /**
+     * Columns read for every record: identity, date and value
+     */
+    static final Set<SalesColumn> KEY_COLUMNS = Collections.unmodifiableSet(EnumSet.of(
+        SalesColumn.PRODUCT_ID, SalesColumn.SALE_DATE, SalesColumn.AMOUNT, SalesColumn.QUANTITY));
+
+    /**
+     * Every column present in the sales CSV
+     */
+    static final Set<SalesColumn> STORED_COLUMNS = storedColumns(EnumSet.allOf(SalesColumn.class));
+
+    private static final int NOT_MAPPED = -1;
+
+    // Field index per SalesColumn ordinal, NOT_MAPPED if the column is not read
+    private final int[] indexes;
+    private final int minimumRowLength;
+
+    private CsvColumnMapping(int[] indexes) {
+        this.indexes = indexes;
+        int maxIndex = NOT_MAPPED;
+        for (int index : indexes) {
+            maxIndex = Math.max(maxIndex, index);
+        }
+        this.minimumRowLength = maxIndex + 1;
+    }
+
+    /**
+     * Finds the projected columns in a header row
+     *
+     * @param header Header row of the file
+     * @param projection Stored columns to map (see storedColumns)
+     * @return Mapping for the rows of the file
+     * @throws CsvException if projected columns are missing from the header, or one appears twice
+     */
+    static CsvColumnMapping resolve(String[] header, Set<SalesColumn> projection) throws CsvException {
+        int[] indexes = new int[SalesColumn.values().length];
+        Arrays.fill(indexes, NOT_MAPPED);
+        for (int i = 0; i < header.length; i++) {
+            String name = normalize(header[i]);
+            for (SalesColumn column : projection) {
+                if (!name.equals(normalize(column.getCsvHeader()))) {
+                    continue;
+                }
+                if (indexes[column.ordinal()] != NOT_MAPPED) {
+                    throw new CsvException("Duplicate column " + column.getCsvHeader() + " in header");
+                }
+                indexes[column.ordinal()] = i;
+            }
+        }
+        List<String> missing = new ArrayList<>();
+        for (SalesColumn column : projection) {
+            if (indexes[column.ordinal()] == NOT_MAPPED) {
+                missing.add(column.getCsvHeader());
+            }
+        }
+        if (!missing.isEmpty()) {
+            throw new CsvException("Missing columns " + missing + " in header");
+        }
+        return new CsvColumnMapping(indexes);
+    }
+
+    /**
+     * Expands derived columns to the stored columns they need, plus KEY_COLUMNS
+     *
+     * @param columns Columns a caller will use
+     * @return Stored columns to read
+     */
+    static Set<SalesColumn> storedColumns(Collection<SalesColumn> columns) {
+        Set<SalesColumn> stored = EnumSet.copyOf(KEY_COLUMNS);
+        for (SalesColumn column : columns) {
+            stored.addAll(column.getSourceColumns());
+        }
+        return Collections.unmodifiableSet(stored);
+    }
+
+    // BOM, case, spaces and underscores do not distinguish header names
+    private static String normalize(String name) {
+        StringBuilder normalized = new StringBuilder(name.length());
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c != '\uFEFF' && c != '_' && !Character.isWhitespace(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString().toLowerCase(Locale.ROOT);
+    }
+
+    boolean isMapped(SalesColumn column) {
+        return indexes[column.ordinal()] != NOT_MAPPED;
+    }
+
+    /**
+     * @return Fewest fields a row needs to contain every mapped column
+     */
+    int getMinimumRowLength() {
+        return minimumRowLength;
+    }
+
+    /**
+     * Reads a mapped column from a row
+     *
+     * @param row Row of at least getMinimumRowLength() fields
+     * @param column Column to read
+     * @return Raw field value, or null if the column is not mapped
+     */
+    String value(String[] row, SalesColumn column) {
+        int index = indexes[column.ordinal()];
+        return index == NOT_MAPPED ? null : row[index];
+    }
+
+    /**
+     * Reads a mapped column from a row that may be too short to hold it
+     *
+     * @param row Row with any number of fields
+     * @param column Column to read
+     * @return Raw field value, or null if the column is not mapped or the row ends before it
+     */
+    String valueIfPresent(String[] row, SalesColumn column) {
+        int index = indexes[column.ordinal()];
+        return index == NOT_MAPPED || index >= row.length ? null : row[index];
+    }
+}
@@ -0,0 +1,449 @@
+package com.buildingchallenge.assignment2;
+
+import com.buildingchallenge.assignment1.Consumer;
+import com.buildingchallenge.assignment1.Producer;
+import com.buildingchallenge.assignment1.SharedQueue;
+import com.opencsv.CSVParser;
+import com.opencsv.exceptions.CsvException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.TreeMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CsvLoadPipeline Class
+ *
+ * Purpose: Loads a CSV file on several cores with the assignment 1 producer-consumer
+ * classes, connected by bounded SharedQueues:
+ *
+ *   reader Producer --(line blocks)--> parser Consumers --(record blocks)--> aggregator
+ *
+ * - One Producer reads the file (plain or gzip) in blocks of lines.
+ * - A pool of Consumers parses each block with CSVDataReader's row validation and
+ *   bad row policy.
+ * - The aggregator runs on the calling thread, puts blocks back into file order and
+ *   hands each record to a sink.
+ *
+ * Both queues hold at most two blocks per parser, so a full queue blocks the stage
+ * before it (backpressure). The reorder buffer is bounded the same way: the reader
+ * takes one of parserThreads * 2 permits before numbering a block and the aggregator
+ * returns it once the block is delivered in order, so while one parser is slow the
+ * others stop after that many blocks instead of piling their output up. Memory
+ * therefore stays bounded whatever the file size when the sink folds records into
+ * aggregates instead of keeping them.
+ *
+ * Each CSV record must be on one line (no quoted line breaks), as in the sales exports.
+ * Columns are located by header name and projected as configured on the row reader.
+ *
+ * Thread Safety: a pipeline holds only settings and can run several loads at once;
+ * the sink is only ever called from the thread that called run.
+ */
+public class CsvLoadPipeline {
+
+    public static final int DEFAULT_BLOCK_SIZE = 1024;
+    private static final int QUEUED_BLOCKS_PER_PARSER = 2;
+
+    // Poison pills, compared by identity
+    private static final LineBlock END_OF_LINES = new LineBlock(-1, -1, Collections.emptyList());
+    private static final RecordBlock END_OF_RECORDS = new RecordBlock(-1, Collections.emptyList());
+
+    private static final AtomicInteger PIPELINE_NUMBER = new AtomicInteger();
+
+    private final int parserThreads;
+    private final int blockSize;
+    private final CSVDataReader rowReader;
+
+    /**
+     * Constructor - One parser per available processor, leaving one for the reader
+     */
+    public CsvLoadPipeline() {
+        this(Math.max(1, Runtime.getRuntime().availableProcessors() - 1), DEFAULT_BLOCK_SIZE);
+    }
+
+    /**
+     * Constructor - Pipeline with the given parser pool size and block size
+     *
+     * @param parserThreads Number of parser threads
+     * @param blockSize Lines per block handed from the reader to a parser
+     * @throws IllegalArgumentException if either value is less than 1
+     */
+    public CsvLoadPipeline(int parserThreads, int blockSize) {
+        this(parserThreads, blockSize, new CSVDataReader());
+    }
+
+    /**
+     * Constructor - Pipeline validating rows with the given reader's bad row policy
+     *
+     * @param parserThreads Number of parser threads
+     * @param blockSize Lines per block handed from the reader to a parser
+     * @param rowReader Supplies the bad row policy and collects the error report
+     * @throws IllegalArgumentException if either count is less than 1 or rowReader is null
+     */
+    public CsvLoadPipeline(int parserThreads, int blockSize, CSVDataReader rowReader) {
+        if (rowReader == null) {
+            throw new IllegalArgumentException("Row reader cannot be null");
+        }
+        if (parserThreads < 1) {
+            throw new IllegalArgumentException("Parser thread count must be at least 1");
+        }
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be at least 1");
+        }
+        this.parserThreads = parserThreads;
+        this.blockSize = blockSize;
+        this.rowReader = rowReader;
+    }
+
+    /**
+     * Loads every valid record of the file, in file order
+     *
+     * @param csvFile Plain or gzip-compressed CSV file with a header row
+     * @return Parsed records
+     * @throws IOException if the file cannot be read
+     * @throws CsvException if a row is invalid under the FAIL_FAST policy
+     */
+    public List<SalesRecord> load(Path csvFile) throws IOException, CsvException {
+        List<SalesRecord> records = new ArrayList<>();
+        run(csvFile, records::add);
+        return Collections.unmodifiableList(records);
+    }
+
+    /**
+     * Streams every valid record of the file, in file order, into the sink
+     *
+     * Invalid rows are handled by the row reader's policy, as in CSVDataReader.
+     *
+     * @param csvFile Plain or gzip-compressed CSV file with a header row
+     * @param sink Receives each record on the calling thread
+     * @return Number of records passed to the sink
+     * @throws IOException if the file cannot be read
+     * @throws CsvException if a row is invalid under the FAIL_FAST policy
+     */
+    public long run(Path csvFile, java.util.function.Consumer<? super SalesRecord> sink)
+            throws IOException, CsvException {
+        int pipelineNumber = PIPELINE_NUMBER.getAndIncrement();
+        int queueCapacity = parserThreads * QUEUED_BLOCKS_PER_PARSER;
+        SharedQueue<LineBlock> lineBlocks = new SharedQueue<>(queueCapacity, false);
+        SharedQueue<RecordBlock> recordBlocks = new SharedQueue<>(queueCapacity, false);
+        // Blocks numbered by the reader but not yet delivered to the sink
+        Semaphore reorderWindow = new Semaphore(queueCapacity);
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(
+            DecompressingInputStream.open(csvFile), StandardCharsets.UTF_8));
+        List<Thread> workers = new ArrayList<>();
+        try {
+            // Columns are found by name once; the parsers then read them by index
+            String header = reader.readLine();
+            if (header == null) {
+                return 0;
+            }
+            CsvColumnMapping columns = rowReader.resolveColumns(new CSVParser().parseLine(header));
+
+            Producer<LineBlock> lineReader = new Producer<>(lineBlocks,
+                new LineBlockIterator(reader, blockSize, reorderWindow),
+                "csv-reader-" + pipelineNumber, END_OF_LINES, parserThreads, false);
+            workers.add(new Thread(lineReader, "csv-reader-" + pipelineNumber));
+
+            // The last parser to finish tells the aggregator that no more blocks will come
+            AtomicInteger runningParsers = new AtomicInteger(parserThreads);
+            List<Consumer<LineBlock>> parsers = new ArrayList<>(parserThreads);
+            List<BlockParser> blockParsers = new ArrayList<>(parserThreads);
+            for (int i = 0; i < parserThreads; i++) {
+                String name = "csv-parser-" + pipelineNumber + "-" + i;
+                BlockParser blockParser = new BlockParser(recordBlocks, rowReader.newSession(columns));
+                Consumer<LineBlock> parser = new Consumer<>(lineBlocks, blockParser, name, END_OF_LINES, false);
+                parsers.add(parser);
+                blockParsers.add(blockParser);
+                workers.add(new Thread(() -> {
+                    parser.run();
+                    if (parser.getFailure() != null) {
+                        // No point reading further; the load will fail. The failed block
+                        // is never delivered, so free the reader if it waits for a permit.
+                        lineReader.stop();
+                        reorderWindow.release(queueCapacity);
+                    }
+                    if (runningParsers.decrementAndGet() == 0) {
+                        putQuietly(recordBlocks, END_OF_RECORDS);
+                    }
+                }, name));
+            }
+
+            InOrderSink ordered = new InOrderSink(sink, reorderWindow);
+            Consumer<RecordBlock> aggregator = new Consumer<>(recordBlocks, ordered,
+                "csv-aggregator-" + pipelineNumber, END_OF_RECORDS, false);
+
+            for (Thread worker : workers) {
+                worker.setDaemon(true);
+                worker.start();
+            }
+            aggregator.run();
+
+            if (Thread.currentThread().isInterrupted()) {
+                throw new InterruptedIOException("Interrupted while loading " + csvFile);
+            }
+            if (aggregator.getFailure() != null) {
+                throw asUnchecked(aggregator.getFailure());
+            }
+            if (lineReader.getFailure() instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) lineReader.getFailure()).getCause();
+            }
+            if (lineReader.getFailure() != null) {
+                throw asUnchecked(lineReader.getFailure());
+            }
+            for (Consumer<LineBlock> parser : parsers) {
+                Exception failure = parser.getFailure();
+                if (failure instanceof RowFailure) {
+                    throw ((RowFailure) failure).getCsvException();
+                }
+                if (failure instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) failure).getCause();
+                }
+                if (failure != null) {
+                    throw asUnchecked(failure);
+                }
+            }
+
+            CSVDataReader.RowSession rejected = rowReader.newSession(columns);
+            for (BlockParser blockParser : blockParsers) {
+                rejected.absorb(blockParser.session);
+            }
+            rejected.finish(csvFile.toString());
+            rowReader.flushQuarantine();
+            return ordered.delivered;
+        } finally {
+            // Normally all workers have finished; after a failure this unblocks them
+            for (Thread worker : workers) {
+                worker.interrupt();
+            }
+            reader.close();
+        }
+    }
+
+    public int getParserThreads() {
+        return parserThreads;
+    }
+
+    public int getBlockSize() {
+        return blockSize;
+    }
+
+    /**
+     * Called on a parser thread before each block is parsed; does nothing here.
+     * Tests override it to stall a parser.
+     *
+     * @param blockSequence Position of the block in the file, from 0
+     */
+    void beforeParse(long blockSequence) {
+    }
+
+    private static <T> void putQuietly(SharedQueue<T> queue, T item) {
+        try {
+            queue.put(item);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static RuntimeException asUnchecked(Exception e) {
+        return e instanceof RuntimeException ? (RuntimeException) e : new IllegalStateException(e);
+    }
+
+    /**
+     * Lines of the file with the row number (1-based, header = 1) of the first one
+     */
+    private static final class LineBlock {
+        private final long sequence;
+        private final long firstRowNumber;
+        private final List<String> lines;
+
+        LineBlock(long sequence, long firstRowNumber, List<String> lines) {
+            this.sequence = sequence;
+            this.firstRowNumber = firstRowNumber;
+            this.lines = lines;
+        }
+    }
+
+    /**
+     * Parsed records of one LineBlock
+     */
+    private static final class RecordBlock {
+        private final long sequence;
+        private final List<SalesRecord> records;
+
+        RecordBlock(long sequence, List<SalesRecord> records) {
+            this.sequence = sequence;
+            this.records = records;
+        }
+    }
+
+    /**
+     * Reads the file lazily, blockSize lines at a time, on the reader thread
+     */
+    private static final class LineBlockIterator implements Iterator<LineBlock> {
+        private final BufferedReader reader;
+        private final int blockSize;
+        private final Semaphore reorderWindow;
+        private LineBlock next;
+        private long sequence;
+        private long rowNumber = 2; // Row 1 is the header
+        private boolean exhausted;
+
+        LineBlockIterator(BufferedReader reader, int blockSize, Semaphore reorderWindow) {
+            this.reader = reader;
+            this.blockSize = blockSize;
+            this.reorderWindow = reorderWindow;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null && !exhausted) {
+                next = readBlock();
+            }
+            return next != null;
+        }
+
+        @Override
+        public LineBlock next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            LineBlock block = next;
+            next = null;
+            return block;
+        }
+
+        private LineBlock readBlock() {
+            List<String> lines = new ArrayList<>(blockSize);
+            try {
+                String line;
+                while (lines.size() < blockSize && (line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            if (lines.size() < blockSize) {
+                exhausted = true;
+            }
+            if (lines.isEmpty()) {
+                return null;
+            }
+            try {
+                reorderWindow.acquire();
+            } catch (InterruptedException e) {
+                // The load is being torn down; end the source and let the Producer see the interrupt
+                Thread.currentThread().interrupt();
+                exhausted = true;
+                return null;
+            }
+            LineBlock block = new LineBlock(sequence++, rowNumber, lines);
+            rowNumber += lines.size();
+            return block;
+        }
+    }
+
+    /**
+     * Carries a FAIL_FAST CsvException out of a parser thread
+     */
+    private static final class RowFailure extends RuntimeException {
+        RowFailure(CsvException cause) {
+            super(cause);
+        }
+
+        CsvException getCsvException() {
+            return (CsvException) getCause();
+        }
+    }
+
+    /**
+     * Parser stage: turns a block of lines into a block of records
+     */
+    private final class BlockParser implements java.util.function.Consumer<LineBlock> {
+        private final SharedQueue<RecordBlock> output;
+        private final CSVDataReader.RowSession session;
+        // CSVParser keeps per-line state, so each parser thread has its own
+        private final CSVParser lineParser = new CSVParser();
+
+        BlockParser(SharedQueue<RecordBlock> output, CSVDataReader.RowSession session) {
+            this.output = output;
+            this.session = session;
+        }
+
+        @Override
+        public void accept(LineBlock block) {
+            beforeParse(block.sequence);
+            List<SalesRecord> records = new ArrayList<>(block.lines.size());
+            try {
+                for (int i = 0; i < block.lines.size(); i++) {
+                    String line = block.lines.get(i);
+                    long rowNumber = block.firstRowNumber + i;
+                    String[] row;
+                    try {
+                        row = lineParser.parseLine(line);
+                    } catch (IOException e) {
+                        // opencsv reports an unterminated quote this way
+                        session.rejectMalformed(line, rowNumber);
+                        continue;
+                    }
+                    SalesRecord record = session.accept(row, rowNumber);
+                    if (record != null) {
+                        records.add(record);
+                    }
+                }
+            } catch (CsvException e) {
+                throw new RowFailure(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            try {
+                output.put(new RecordBlock(block.sequence, records));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while handing off parsed records", e);
+            }
+        }
+    }
+
+    /**
+     * Aggregator stage: restores file order across parsers before feeding the sink
+     */
+    private static final class InOrderSink implements java.util.function.Consumer<RecordBlock> {
+        private final java.util.function.Consumer<? super SalesRecord> sink;
+        private final Semaphore reorderWindow;
+        // Never more blocks than the reorder window has permits
+        private final TreeMap<Long, List<SalesRecord>> pending = new TreeMap<>();
+        private long nextSequence;
+        private long delivered;
+
+        InOrderSink(java.util.function.Consumer<? super SalesRecord> sink, Semaphore reorderWindow) {
+            this.sink = sink;
+            this.reorderWindow = reorderWindow;
+        }
+
+        @Override
+        public void accept(RecordBlock block) {
+            pending.put(block.sequence, block.records);
+            List<SalesRecord> records;
+            while ((records = pending.remove(nextSequence)) != null) {
+                for (SalesRecord record : records) {
+                    sink.accept(record);
+                }
+                delivered += records.size();
+                nextSequence++;
+                reorderWindow.release();
+            }
+        }
+    }
+}
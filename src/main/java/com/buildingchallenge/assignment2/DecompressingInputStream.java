@@ -0,0 +1,178 @@
+package com.buildingchallenge.assignment2;
+
+import com.buildingchallenge.assignment1.SharedQueue;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * DecompressingInputStream Class
+ *
+ * Purpose: Reads compressed CSV input with decompression pipelined against parsing.
+ * A background thread inflates the input into fixed-size chunks and hands them to
+ * the reading thread through a bounded SharedQueue, so the CSV parser works on one
+ * chunk while the next is being decompressed, and at most QUEUE_CAPACITY chunks are
+ * ever buffered.
+ *
+ * open / wrap detect the format from the leading magic bytes:
+ * - gzip (1F 8B): decompressed with java.util.zip, pipelined as above;
+ * - zstd (28 B5 2F FD): rejected with an IOException, since the JDK ships no zstd codec;
+ * - anything else: returned unchanged as plain text.
+ *
+ * Thread Safety: a single thread reads the stream; the decompressor thread is
+ * internal. close() stops the decompressor even if it is blocked on a full queue.
+ */
+public final class DecompressingInputStream extends InputStream {
+
+    static final int CHUNK_SIZE = 64 * 1024;
+    static final int QUEUE_CAPACITY = 8;
+
+    // Empty chunk marks end of input (or failure, see failure)
+    private static final byte[] END_OF_INPUT = new byte[0];
+
+    private static final byte[] GZIP_MAGIC = {(byte) 0x1F, (byte) 0x8B};
+    private static final byte[] ZSTD_MAGIC = {(byte) 0x28, (byte) 0xB5, (byte) 0x2F, (byte) 0xFD};
+
+    private static final AtomicInteger THREAD_NUMBER = new AtomicInteger();
+
+    private final SharedQueue<byte[]> chunks = new SharedQueue<>(QUEUE_CAPACITY, false);
+    private final Thread decompressor;
+
+    // Set by the decompressor before it queues END_OF_INPUT
+    private volatile IOException failure;
+
+    private byte[] current = new byte[0];
+    private int position;
+    private boolean finished;
+
+    private DecompressingInputStream(InputStream decompressed) {
+        this.decompressor = new Thread(() -> pump(decompressed),
+                                       "csv-decompressor-" + THREAD_NUMBER.getAndIncrement());
+        this.decompressor.setDaemon(true);
+        this.decompressor.start();
+    }
+
+    /**
+     * Opens a file, decompressing it on a background thread if it is gzip
+     *
+     * @param file Plain or gzip-compressed CSV file
+     * @return Stream of uncompressed bytes
+     * @throws IOException if the file cannot be read or uses an unsupported compression
+     */
+    public static InputStream open(Path file) throws IOException {
+        return wrap(Files.newInputStream(file));
+    }
+
+    /**
+     * Wraps a raw stream, decompressing it on a background thread if it is gzip
+     *
+     * @param raw Plain or gzip-compressed input; closed when the returned stream is closed
+     * @return Stream of uncompressed bytes
+     * @throws IOException if the stream cannot be read or uses an unsupported compression
+     */
+    public static InputStream wrap(InputStream raw) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(raw, CHUNK_SIZE);
+        in.mark(ZSTD_MAGIC.length);
+        byte[] header = in.readNBytes(ZSTD_MAGIC.length);
+        in.reset();
+
+        if (startsWith(header, GZIP_MAGIC)) {
+            return new DecompressingInputStream(new GZIPInputStream(in, CHUNK_SIZE));
+        }
+        if (startsWith(header, ZSTD_MAGIC)) {
+            in.close();
+            throw new IOException("zstd-compressed input is not supported; decompress it first or use gzip");
+        }
+        return in;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) {
+            return -1;
+        }
+        return current[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) {
+            return 0;
+        }
+        if (!fill()) {
+            return -1;
+        }
+        int count = Math.min(length, current.length - position);
+        System.arraycopy(current, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public void close() {
+        finished = true;
+        decompressor.interrupt();
+    }
+
+    // Moves to the next chunk when the current one is used up; false at end of input
+    private boolean fill() throws IOException {
+        while (!finished && position == current.length) {
+            try {
+                current = chunks.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for decompressed data", e);
+            }
+            position = 0;
+            if (current == END_OF_INPUT) {
+                finished = true;
+            }
+        }
+        if (finished && failure != null) {
+            throw new IOException("Decompression failed", failure);
+        }
+        return !finished;
+    }
+
+    // Runs on the decompressor thread
+    private void pump(InputStream decompressed) {
+        try (InputStream in = decompressed) {
+            while (true) {
+                byte[] chunk = new byte[CHUNK_SIZE];
+                int length = in.readNBytes(chunk, 0, CHUNK_SIZE);
+                if (length == 0) {
+                    break;
+                }
+                chunks.put(length == CHUNK_SIZE ? chunk : Arrays.copyOf(chunk, length));
+            }
+        } catch (IOException e) {
+            failure = e;
+        } catch (InterruptedException e) {
+            // Reader closed the stream early; nobody is waiting for the end marker
+            return;
+        }
+        try {
+            chunks.put(END_OF_INPUT);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static boolean startsWith(byte[] data, byte[] prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (data[i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,64 @@
+package com.buildingchallenge.assignment2;
+
+/**
+ * KernelSelector Class
+ *
+ * Purpose: Picks the AggregationKernels implementation from the "sales.kernels"
+ * system property:
+ * - scalar (default): portable loops
+ * - vector: Vector API kernels; requires building with -Pvector and running with
+ *   --add-modules jdk.incubator.vector
+ *
+ * If the vector kernels are requested but cannot be loaded, a warning is printed
+ * and the scalar kernels are used, so the flag can be set fleet-wide safely.
+ */
+public final class KernelSelector {
+
+    public static final String KERNELS_PROPERTY = "sales.kernels";
+
+    private static final String VECTOR_KERNELS_CLASS = "com.buildingchallenge.assignment2.VectorAggregationKernels";
+
+    private KernelSelector() {
+    }
+
+    /**
+     * @return Kernels selected by the sales.kernels system property
+     */
+    public static AggregationKernels defaultKernels() {
+        return byName(System.getProperty(KERNELS_PROPERTY, "scalar"));
+    }
+
+    /**
+     * Returns kernels by name, falling back to scalar when unavailable
+     *
+     * @param name "scalar" or "vector"
+     * @return Selected kernels
+     * @throws IllegalArgumentException if the name is unknown
+     */
+    public static AggregationKernels byName(String name) {
+        if ("scalar".equalsIgnoreCase(name)) {
+            return ScalarAggregationKernels.INSTANCE;
+        }
+        if ("vector".equalsIgnoreCase(name)) {
+            AggregationKernels vector = vectorKernelsOrNull();
+            if (vector == null) {
+                System.err.println("Warning: Vector API kernels unavailable, using scalar kernels");
+                return ScalarAggregationKernels.INSTANCE;
+            }
+            return vector;
+        }
+        throw new IllegalArgumentException("Unknown kernels: " + name + " (expected scalar or vector)");
+    }
+
+    /**
+     * @return Vector API kernels, or null if they were not built or the incubator
+     *         module is not on the module path
+     */
+    static AggregationKernels vectorKernelsOrNull() {
+        try {
+            return (AggregationKernels) Class.forName(VECTOR_KERNELS_CLASS).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,240 @@
+package com.buildingchallenge.assignment2;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * KllQuantileSketch Class
+ *
+ * Purpose: Mergeable quantile sketch (Karnin, Lang, Liberty 2016). Values are kept in
+ * a stack of compactors; an item on level h stands for 2^h input values. When the
+ * sketch is over capacity, the lowest full level is sorted and every other item
+ * (random offset) is promoted to the next level, halving it. Level capacities shrink
+ * geometrically towards the bottom, so memory stays O(k) while the rank error is
+ * about 1.65 / k (k = 200: ~1%).
+ *
+ * Small inputs are never compacted and are answered exactly.
+ *
+ * Thread Safety: not thread-safe; build per thread and merge.
+ */
+public final class KllQuantileSketch {
+
+    public static final int DEFAULT_K = 200;
+
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_LEVEL_CAPACITY = 8;
+
+    private final int k;
+    private final SplittableRandom random;
+    private double[][] levels;
+    private int[] levelSizes;
+    private int levelCount;
+    private long count;
+    private double min = Double.NaN;
+    private double max = Double.NaN;
+
+    public KllQuantileSketch() {
+        this(DEFAULT_K);
+    }
+
+    /**
+     * @param k Accuracy parameter; larger is more accurate and uses more memory
+     * @throws IllegalArgumentException if k is less than 8
+     */
+    public KllQuantileSketch(int k) {
+        if (k < MIN_LEVEL_CAPACITY) {
+            throw new IllegalArgumentException("k must be at least " + MIN_LEVEL_CAPACITY);
+        }
+        this.k = k;
+        // Fixed seed keeps results reproducible run to run
+        this.random = new SplittableRandom(k);
+        this.levels = new double[1][k];
+        this.levelSizes = new int[1];
+        this.levelCount = 1;
+    }
+
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else {
+            min = Math.min(min, value);
+            max = Math.max(max, value);
+        }
+        count++;
+        append(0, value);
+        compressIfNeeded();
+    }
+
+    /**
+     * Folds another sketch into this one
+     *
+     * @param other Sketch to merge; it is left unchanged
+     */
+    public void merge(KllQuantileSketch other) {
+        if (other.count == 0) {
+            return;
+        }
+        for (int level = 0; level < other.levelCount; level++) {
+            for (int i = 0; i < other.levelSizes[level]; i++) {
+                append(level, other.levels[level][i]);
+            }
+        }
+        min = count == 0 ? other.min : Math.min(min, other.min);
+        max = count == 0 ? other.max : Math.max(max, other.max);
+        count += other.count;
+        compressIfNeeded();
+    }
+
+    /**
+     * Returns the approximate value at the given rank fraction
+     *
+     * @param fraction Rank between 0 and 1 (0.5 = median, 0.99 = p99)
+     * @return Estimated quantile, or NaN if the sketch is empty
+     * @throws IllegalArgumentException if fraction is outside [0, 1]
+     */
+    public double quantile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        if (fraction == 0) {
+            return min;
+        }
+        if (fraction == 1) {
+            return max;
+        }
+
+        int retained = retainedItems();
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int n = 0;
+        for (int level = 0; level < levelCount; level++) {
+            for (int i = 0; i < levelSizes[level]; i++) {
+                values[n] = levels[level][i];
+                weights[n] = 1L << level;
+                n++;
+            }
+        }
+        sortTogether(values, weights);
+
+        long totalWeight = 0;
+        for (long weight : weights) {
+            totalWeight += weight;
+        }
+        double target = fraction * totalWeight;
+        long cumulative = 0;
+        for (int i = 0; i < n; i++) {
+            cumulative += weights[i];
+            if (cumulative >= target) {
+                return values[i];
+            }
+        }
+        return max;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        return min;
+    }
+
+    public double getMax() {
+        return max;
+    }
+
+    int retainedItems() {
+        int total = 0;
+        for (int level = 0; level < levelCount; level++) {
+            total += levelSizes[level];
+        }
+        return total;
+    }
+
+    private void append(int level, double value) {
+        while (level >= levelCount) {
+            addLevel();
+        }
+        if (levelSizes[level] == levels[level].length) {
+            levels[level] = Arrays.copyOf(levels[level], levels[level].length * 2);
+        }
+        levels[level][levelSizes[level]++] = value;
+    }
+
+    private void addLevel() {
+        if (levelCount == levels.length) {
+            levels = Arrays.copyOf(levels, levelCount * 2);
+            levelSizes = Arrays.copyOf(levelSizes, levelCount * 2);
+        }
+        levels[levelCount] = new double[MIN_LEVEL_CAPACITY];
+        levelSizes[levelCount] = 0;
+        levelCount++;
+    }
+
+    private int capacity(int level) {
+        int depth = levelCount - 1 - level;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int totalCapacity() {
+        int total = 0;
+        for (int level = 0; level < levelCount; level++) {
+            total += capacity(level);
+        }
+        return total;
+    }
+
+    private void compressIfNeeded() {
+        while (retainedItems() > totalCapacity()) {
+            for (int level = 0; level < levelCount; level++) {
+                if (levelSizes[level] >= capacity(level)) {
+                    compact(level);
+                    break;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sorts a level and promotes every other item; an odd item out stays behind
+     */
+    private void compact(int level) {
+        int size = levelSizes[level];
+        double[] items = levels[level];
+        Arrays.sort(items, 0, size);
+
+        int keep = size % 2;
+        double leftover = keep == 1 ? items[size - 1] : 0;
+        int offset = random.nextBoolean() ? 1 : 0;
+        for (int i = offset; i < size - keep; i += 2) {
+            append(level + 1, items[i]);
+        }
+        // addLevel() may have replaced the outer array, so index through the field
+        levels[level][0] = leftover;
+        levelSizes[level] = keep;
+    }
+
+    // Sorts the parallel value/weight arrays by value; only O(k log n) retained items
+    private static void sortTogether(double[] values, long[] weights) {
+        Integer[] order = new Integer[values.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        double[] sortedValues = new double[values.length];
+        long[] sortedWeights = new long[weights.length];
+        for (int i = 0; i < order.length; i++) {
+            sortedValues[i] = values[order[i]];
+            sortedWeights[i] = weights[order[i]];
+        }
+        System.arraycopy(sortedValues, 0, values, 0, values.length);
+        System.arraycopy(sortedWeights, 0, weights, 0, weights.length);
+    }
+}
@@ -0,0 +1,30 @@
+package com.buildingchallenge.assignment2;
+
+/**
+ * RowError Enum
+ *
+ * Purpose: Reasons a CSV row is rejected. Validation returns one of these codes
+ * instead of throwing, so dirty files cost a comparison per bad row rather than an
+ * exception with a stack trace and a formatted message.
+ */
+public enum RowError {
+    TOO_FEW_COLUMNS("Row ends before the last column the header maps"),
+    MALFORMED_LINE("Line is not valid CSV"),
+    MISSING_PRODUCT_ID("Product ID is empty"),
+    MISSING_PRODUCT_NAME("Product name is empty"),
+    INVALID_DATE("Sale date is not a valid yyyy-MM-dd date"),
+    INVALID_AMOUNT("Amount is not a number"),
+    NEGATIVE_AMOUNT("Amount is negative"),
+    INVALID_QUANTITY("Quantity is not an integer"),
+    NEGATIVE_QUANTITY("Quantity is negative");
+
+    private final String description;
+
+    RowError(String description) {
+        this.description = description;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
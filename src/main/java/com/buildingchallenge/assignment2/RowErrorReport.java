@@ -0,0 +1,121 @@
+package com.buildingchallenge.assignment2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * RowErrorReport Class
+ *
+ * Purpose: Bounded summary of rejected CSV rows: a count per RowError plus the first
+ * few rows as samples. Memory stays constant however many rows are rejected; only
+ * sampled rows are ever turned into strings.
+ *
+ * Thread Safety: thread-safe; files loaded in parallel can share one report.
+ */
+public class RowErrorReport {
+
+    private final int maxSamples;
+    private final long[] counts = new long[RowError.values().length];
+    private final List<Sample> samples = new ArrayList<>();
+
+    /**
+     * @param maxSamples Number of rejected rows kept verbatim
+     * @throws IllegalArgumentException if maxSamples is negative
+     */
+    public RowErrorReport(int maxSamples) {
+        if (maxSamples < 0) {
+            throw new IllegalArgumentException("Sample count cannot be negative");
+        }
+        this.maxSamples = maxSamples;
+    }
+
+    /**
+     * Records a rejected row
+     *
+     * @param rowNumber Row number in the file (header = 1)
+     * @param error Reason for rejection
+     * @param row Row fields; only read if the row becomes a sample
+     */
+    public synchronized void record(long rowNumber, RowError error, String[] row) {
+        counts[error.ordinal()]++;
+        if (samples.size() < maxSamples) {
+            samples.add(new Sample(rowNumber, error, String.join(",", row)));
+        }
+    }
+
+    public synchronized long getTotalErrors() {
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        return total;
+    }
+
+    public synchronized long getCount(RowError error) {
+        return counts[error.ordinal()];
+    }
+
+    /**
+     * @return Count per reason, for reasons that occurred
+     */
+    public synchronized Map<RowError, Long> getCounts() {
+        Map<RowError, Long> result = new EnumMap<>(RowError.class);
+        for (RowError error : RowError.values()) {
+            if (counts[error.ordinal()] > 0) {
+                result.put(error, counts[error.ordinal()]);
+            }
+        }
+        return result;
+    }
+
+    public synchronized List<Sample> getSamples() {
+        return Collections.unmodifiableList(new ArrayList<>(samples));
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringBuilder text = new StringBuilder();
+        text.append(getTotalErrors()).append(" invalid rows ").append(getCounts());
+        for (Sample sample : samples) {
+            text.append(System.lineSeparator()).append("  ").append(sample);
+        }
+        return text.toString();
+    }
+
+    /**
+     * Sample Class
+     *
+     * One rejected row as read from the file.
+     */
+    public static final class Sample {
+        private final long rowNumber;
+        private final RowError error;
+        private final String row;
+
+        Sample(long rowNumber, RowError error, String row) {
+            this.rowNumber = rowNumber;
+            this.error = error;
+            this.row = row;
+        }
+
+        public long getRowNumber() {
+            return rowNumber;
+        }
+
+        public RowError getError() {
+            return error;
+        }
+
+        public String getRow() {
+            return row;
+        }
+
+        @Override
+        public String toString() {
+            return "row " + rowNumber + " " + error + ": " + row;
+        }
+    }
+}
@@ -7,6 +7,7 @@ import java.io.InputStream;
 import java.math.BigDecimal;
 import java.nio.file.Path;
 import java.time.LocalDate;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,10 +20,20 @@ import java.util.stream.Collectors;
  * Contains all declarations and implementation details including
  * all query logic using Java Streams API.
  *
+ * Concurrency: the data lives in an immutable SalesSnapshot published through one
+ * volatile field. Every query reads that field once and works on that snapshot only,
+ * so queries never block and never see a half-applied append. addSalesRecords is the
+ * single writer: it builds the next snapshot off to the side and swaps it in. Use
+ * snapshot() to run several queries against the same version.
+ *
  */
 public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
     
-    private final List<SalesRecord> salesRecords;
+    // Records, version and derived structures; replaced (never mutated) on append
+    private volatile SalesSnapshot snapshot;
+    
+    // Scalar unless -Dsales.kernels=vector selects the Vector API kernels
+    private final AggregationKernels kernels = KernelSelector.defaultKernels();
     
     /**
      * Constructor - Creates analyzer and loads data from CSV file
@@ -33,7 +44,7 @@ public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
      */
     public SalesAnalyzerImpl(Path csvFilePath) throws IOException, CsvException {
         CSVDataReader dataReader = new CSVDataReader();
-        this.salesRecords = dataReader.readSalesData(csvFilePath);
+        this.snapshot = new SalesSnapshot(dataReader.readSalesData(csvFilePath), 0);
     }
     
     /**
@@ -48,7 +59,34 @@ public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
      */
     public SalesAnalyzerImpl(InputStream inputStream) throws IOException, CsvException {
         CSVDataReader dataReader = new CSVDataReader();
-        this.salesRecords = dataReader.readSalesData(inputStream);
+        this.snapshot = new SalesSnapshot(dataReader.readSalesData(inputStream), 0);
+    }
+    
+    /**
+     * Constructor - Creates analyzer and loads every CSV file in a directory or glob
+     * 
+     * Files are parsed in parallel by the loader; keep the loader to pick up later
+     * files with loadFiles without re-reading the ones already loaded.
+     * 
+     * @param loader Loader that tracks which files have been loaded
+     * @param directoryOrGlob Directory, single file, or glob such as data/sales-*.csv
+     * @throws IOException if a file cannot be read
+     * @throws CsvException if CSV parsing fails
+     */
+    public SalesAnalyzerImpl(SalesFileLoader loader, Path directoryOrGlob) throws IOException, CsvException {
+        this.snapshot = new SalesSnapshot(loader.loadNew(directoryOrGlob).getAddedRecords(), 0);
+    }
+    
+    /**
+     * Constructor - Creates analyzer and loads a CSV file through the multi-threaded pipeline
+     * 
+     * @param pipeline Reader / parser pool / aggregator pipeline to load with
+     * @param csvFilePath Path to CSV file, plain or gzip-compressed
+     * @throws IOException if file cannot be read
+     * @throws CsvException if a row is invalid under the pipeline's FAIL_FAST policy
+     */
+    public SalesAnalyzerImpl(CsvLoadPipeline pipeline, Path csvFilePath) throws IOException, CsvException {
+        this.snapshot = new SalesSnapshot(pipeline.load(csvFilePath), 0);
     }
     
     /**
@@ -57,19 +95,101 @@ public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
      * @param salesRecords List of sales records to use
      */
     SalesAnalyzerImpl(List<SalesRecord> salesRecords) {
-        this.salesRecords = salesRecords;
+        this.snapshot = new SalesSnapshot(salesRecords, 0);
+    }
+    
+    private SalesAnalyzerImpl(SalesSnapshot snapshot) {
+        this.snapshot = snapshot;
+    }
+    
+    /**
+     * Appends new sales records to the analyzer
+     * 
+     * The next snapshot is built from a copy of the record list and swapped in with
+     * one volatile write, so queries already running keep using the previous one. The
+     * new snapshot has the next data version, which invalidates any results cached
+     * against the previous version.
+     * 
+     * @param newRecords Records to append
+     * @throws IllegalArgumentException if newRecords is null
+     */
+    public synchronized void addSalesRecords(List<SalesRecord> newRecords) {
+        if (newRecords == null) {
+            throw new IllegalArgumentException("New records cannot be null");
+        }
+        if (newRecords.isEmpty()) {
+            return;
+        }
+        this.snapshot = snapshot.append(newRecords);
+    }
+    
+    /**
+     * Appends the records of every file the loader has not loaded before
+     * 
+     * A loaded file that has changed since is re-read and its new records replace the
+     * ones it contributed before, so appended or corrected rows are not double-counted.
+     * 
+     * @param loader Loader that tracks which files have been loaded
+     * @param directoryOrGlob Directory, single file, or glob such as data/sales-*.csv
+     * @return Number of records added, including the re-read records of changed files
+     * @throws IOException if a file cannot be read
+     * @throws CsvException if CSV parsing fails
+     */
+    public int loadFiles(SalesFileLoader loader, Path directoryOrGlob) throws IOException, CsvException {
+        SalesFileLoader.LoadResult loaded = loader.loadNew(directoryOrGlob);
+        if (!loaded.getRemovedRecords().isEmpty()) {
+            replaceSalesRecords(loaded.getRemovedRecords(), loaded.getAddedRecords());
+        } else {
+            addSalesRecords(loaded.getAddedRecords());
+        }
+        return loaded.getAddedRecords().size();
+    }
+    
+    private synchronized void replaceSalesRecords(List<SalesRecord> removed, List<SalesRecord> added) {
+        this.snapshot = snapshot.replace(removed, added);
+    }
+    
+    @Override
+    public long getDataVersion() {
+        return snapshot.getVersion();
+    }
+    
+    /**
+     * Returns the current version of the data
+     * 
+     * @return Immutable snapshot; later appends do not change it
+     */
+    public SalesSnapshot getSnapshot() {
+        return snapshot;
+    }
+    
+    /**
+     * Returns an analyzer pinned to the current snapshot
+     * 
+     * Queries on the returned analyzer all see the same data, however many records
+     * are appended to this one meanwhile. It shares the snapshot's derived structures,
+     * so pinning is cheap.
+     * 
+     * @return Analyzer over the current snapshot
+     */
+    public SalesAnalyzerImpl snapshot() {
+        return new SalesAnalyzerImpl(snapshot);
     }
     
     // Query1: Get the sales records.
     @Override
     public List<SalesRecord> getSalesRecords() {
-        return salesRecords;
+        return snapshot.getRecords();
     }
     
     // Query2: Get the total sales.
     @Override
     public BigDecimal getTotalSales() {
-        return salesRecords.stream()
+        ColumnarSalesData columns = getColumnarData();
+        if (columns.isCentsExact()) {
+            return BigDecimal.valueOf(columns.totalValueCents(kernels), 2);
+        }
+        return columns.getRecords().stream()
             .map(SalesRecord::getTotalValue)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
@@ -77,7 +197,11 @@ public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
     // Query3: Get the sales by category.
     @Override
     public Map<String, BigDecimal> getSalesByCategory() {
-        return salesRecords.stream()
+        ColumnarSalesData columns = getColumnarData();
+        if (columns.isCentsExact()) {
+            return toAmounts(columns.totalValueCentsBy(kernels, SalesColumn.CATEGORY));
+        }
+        return columns.getRecords().stream()
             .collect(Collectors.groupingBy(
                 SalesRecord::getCategory,
                 Collectors.reducing(
@@ -91,7 +215,7 @@ public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
     // Query4: Get the sales count by region.
     @Override
     public Map<String, Long> getSalesCountByRegion() {
-        return salesRecords.stream()
+        return snapshot.getRecords().stream()
             .collect(Collectors.groupingBy(
                 SalesRecord::getRegion,
                 Collectors.counting()
@@ -101,12 +225,15 @@ public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
     // Query5: Get the top products by sales.
     @Override
     public Map<String, BigDecimal> getTopProductsBySales(int n) {
-        Map<String, BigDecimal> totals = salesRecords.stream()
-            .collect(Collectors.groupingBy(
-                SalesRecord::getProductName,
-                Collectors.mapping(SalesRecord::getTotalValue,
-                    Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
-            ));
+        ColumnarSalesData columns = getColumnarData();
+        Map<String, BigDecimal> totals = columns.isCentsExact()
+            ? toAmounts(columns.totalValueCentsBy(kernels, SalesColumn.PRODUCT_NAME))
+            : columns.getRecords().stream()
+                .collect(Collectors.groupingBy(
+                    SalesRecord::getProductName,
+                    Collectors.mapping(SalesRecord::getTotalValue,
+                        Collectors.reducing(BigDecimal.ZERO, BigDecimal::add))
+                ));
 
         return totals.entrySet().stream()
             .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
@@ -122,16 +249,19 @@ public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
     // Query6: Get the top sales reps by revenue.
     @Override
     public Map<String, BigDecimal> getTopSalesReps(int n) {
-        return salesRecords.stream()
-            .collect(Collectors.groupingBy(
-                SalesRecord::getSalesRep,
-                Collectors.reducing(
-                    BigDecimal.ZERO,
-                    SalesRecord::getTotalValue,
-                    BigDecimal::add
-                )
-            ))
-            .entrySet().stream()
+        ColumnarSalesData columns = getColumnarData();
+        Map<String, BigDecimal> totals = columns.isCentsExact()
+            ? toAmounts(columns.totalValueCentsBy(kernels, SalesColumn.SALES_REP))
+            : columns.getRecords().stream()
+                .collect(Collectors.groupingBy(
+                    SalesRecord::getSalesRep,
+                    Collectors.reducing(
+                        BigDecimal.ZERO,
+                        SalesRecord::getTotalValue,
+                        BigDecimal::add
+                    )
+                ));
+        return totals.entrySet().stream()
             .sorted(Map.Entry.<String, BigDecimal>comparingByValue().reversed())
             .limit(n)
             .collect(Collectors.toMap(
@@ -145,7 +275,7 @@ public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
     // Query7: Get the product count by category.
     @Override
     public Map<String, Long> getProductCountByCategory() {
-        return salesRecords.stream()
+        return snapshot.getRecords().stream()
             .collect(Collectors.groupingBy(
                 SalesRecord::getCategory,
                 Collectors.counting()
@@ -155,9 +285,138 @@ public class SalesAnalyzerImpl implements SalesAnalyzerUtil {
     // Query8: Get the sales by date range.
     @Override
     public List<SalesRecord> getSalesByDateRange(LocalDate startDate, LocalDate endDate) {
-        return salesRecords.stream()
-            .filter(record -> !record.getSaleDate().isBefore(startDate) &&
-                            !record.getSaleDate().isAfter(endDate))
+        long startDay = startDate.toEpochDay();
+        long endDay = endDate.toEpochDay();
+        return snapshot.getRecords().stream()
+            .filter(record -> record.getEpochDay() >= startDay &&
+                            record.getEpochDay() <= endDay)
             .collect(Collectors.toList());
     }
+    
+    @Override
+    public Map<String, Long> getApproxDistinctProductsByRegion() {
+        return getSketches().getApproxDistinctProductsByRegion();
+    }
+    
+    @Override
+    public Map<String, Long> getApproxDistinctProductsBySalesRep() {
+        return getSketches().getApproxDistinctProductsBySalesRep();
+    }
+    
+    /**
+     * Returns approximate order values (quantity * amount) at the requested ranks
+     * 
+     * @param quantiles Ranks between 0 and 1, e.g. 0.5, 0.95, 0.99
+     * @return Value per requested rank in request order; empty if there are no records
+     * @throws IllegalArgumentException if a rank is outside [0, 1]
+     */
+    @Override
+    public Map<Double, BigDecimal> getOrderValueQuantiles(double... quantiles) {
+        SalesSketches current = getSketches();
+        Map<Double, BigDecimal> result = new LinkedHashMap<>();
+        for (double quantile : quantiles) {
+            BigDecimal value = current.getOrderValueQuantile(quantile);
+            if (value != null) {
+                result.put(quantile, value);
+            }
+        }
+        return result;
+    }
+    
+    /**
+     * Returns revenue, quantity and sale count per bucket from the precomputed rollups
+     * 
+     * @param grain Day, week or month
+     * @return Dense series from the first to the last bucket with a sale
+     * @throws IllegalArgumentException if grain is null
+     */
+    @Override
+    public SalesTimeSeries getSalesTimeSeries(TimeGrain grain) {
+        if (grain == null) {
+            throw new IllegalArgumentException("Time grain cannot be null");
+        }
+        return getRollups().getTimeSeries(grain);
+    }
+    
+    /**
+     * Returns one time series per category or region, aligned on the same buckets
+     * 
+     * @param grain Day, week or month
+     * @param dimension SalesColumn.CATEGORY or SalesColumn.REGION
+     * @return Series per dimension value
+     * @throws IllegalArgumentException if grain is null or the dimension is not supported
+     */
+    @Override
+    public Map<String, SalesTimeSeries> getSalesTimeSeriesBy(TimeGrain grain, SalesColumn dimension) {
+        if (grain == null) {
+            throw new IllegalArgumentException("Time grain cannot be null");
+        }
+        return getRollups().getTimeSeriesBy(grain, dimension);
+    }
+    
+    /**
+     * Runs an ad-hoc grouped/filtered aggregation in a single pass over the records
+     * 
+     * Queries with filters go through the bitmap indexes so only matching rows are
+     * visited; unfiltered queries scan the records directly.
+     * 
+     * @param query Query to execute
+     * @return Grouped aggregate rows
+     */
+    public SalesQueryResult query(SalesQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        SalesSnapshot current = snapshot;
+        if (query.getFilters().isEmpty()) {
+            return query.compile().execute(current.getRecords());
+        }
+        return query.compile().execute(current.getBitmapIndex());
+    }
+    
+    /**
+     * Returns the bitmap indexes over the current records, building them on first use
+     * 
+     * The index belongs to the snapshot it was built from, so a query that races with
+     * an append sees either the old or the new data consistently, never a mix.
+     * 
+     * @return Bitmap index over the current records
+     */
+    public SalesBitmapIndex getBitmapIndex() {
+        return snapshot.getBitmapIndex();
+    }
+    
+    /**
+     * Returns the columnar copy of the current records, building it on first use
+     * 
+     * @return Columnar view of the current records
+     */
+    ColumnarSalesData getColumnarData() {
+        return snapshot.getColumnarData();
+    }
+    
+    /**
+     * Returns the sketches over the current records, building them on first use
+     * 
+     * @return Sketches over the current records
+     */
+    SalesSketches getSketches() {
+        return snapshot.getSketches();
+    }
+    
+    /**
+     * Returns the time-series rollups over the current records, built when they were loaded
+     * 
+     * @return Rollups over the current records
+     */
+    SalesRollups getRollups() {
+        return snapshot.getRollups();
+    }
+    
+    // Converts kernel output in cents back to the BigDecimal amounts the interface returns
+    private static Map<String, BigDecimal> toAmounts(Map<String, Long> cents) {
+        Map<String, BigDecimal> amounts = new HashMap<>();
+        cents.forEach((key, value) -> amounts.put(key, BigDecimal.valueOf(value, 2)));
+        return amounts;
+    }
 }
@@ -20,6 +20,16 @@ import java.util.Map;
  * query7: Get the product count by category.
  * query8: Get the sales by date range.
  * 
+ * Approximate (sketch-based, constant memory per group):
+ * getApproxDistinctProductsByRegion, getApproxDistinctProductsBySalesRep and
+ * getOrderValueQuantiles (e.g. p50/p95/p99 of quantity * amount per sale).
+ * 
+ * Time series (materialized rollups, dense arrays per day / week / month):
+ * getSalesTimeSeries and getSalesTimeSeriesBy (per category or region).
+ * 
+ * getDataVersion: Monotonic counter bumped whenever the underlying records change,
+ * used by decorators (e.g. CachingSalesAnalyzer) to detect stale results.
+ * 
  */
 public interface SalesAnalyzerUtil {
     
@@ -31,4 +41,10 @@ public interface SalesAnalyzerUtil {
     Map<String, BigDecimal> getTopSalesReps(int n);
     Map<String, Long> getProductCountByCategory();
     List<SalesRecord> getSalesByDateRange(LocalDate startDate, LocalDate endDate);
+    Map<String, Long> getApproxDistinctProductsByRegion();
+    Map<String, Long> getApproxDistinctProductsBySalesRep();
+    Map<Double, BigDecimal> getOrderValueQuantiles(double... quantiles);
+    SalesTimeSeries getSalesTimeSeries(TimeGrain grain);
+    Map<String, SalesTimeSeries> getSalesTimeSeriesBy(TimeGrain grain, SalesColumn dimension);
+    long getDataVersion();
 }
@@ -0,0 +1,217 @@
+package com.buildingchallenge.assignment2;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * SalesBitmapIndex Class
+ *
+ * Purpose: Per-value bitmap indexes over the low-cardinality columns of a loaded
+ * record list (category, region, sales rep, year, month), plus a year-month index
+ * used to prune date ranges. Each distinct value maps to a CompressedBitmap of the
+ * row positions holding it, so a filter such as "Electronics in North during Q1"
+ * becomes a handful of bitmap intersections followed by a visit of matching rows.
+ *
+ * The index is bound to the exact list it was built from; row ids are positions in
+ * that list.
+ *
+ * Thread Safety: immutable after build(), safe to share between query threads. Every
+ * bitmap is sealed at the end of build(), so the ones lookup() returns are read-only.
+ */
+public final class SalesBitmapIndex {
+
+    static final Set<SalesColumn> INDEXED_COLUMNS = Collections.unmodifiableSet(EnumSet.of(
+        SalesColumn.CATEGORY, SalesColumn.REGION, SalesColumn.SALES_REP, SalesColumn.YEAR, SalesColumn.MONTH));
+
+    private final List<SalesRecord> records;
+    private final Map<SalesColumn, Map<Object, CompressedBitmap>> columnIndexes;
+
+    // Key is year * 12 + (month - 1); sorted so a date range maps to a sub-map
+    private final TreeMap<Integer, CompressedBitmap> yearMonthIndex;
+
+    private SalesBitmapIndex(List<SalesRecord> records,
+                             Map<SalesColumn, Map<Object, CompressedBitmap>> columnIndexes,
+                             TreeMap<Integer, CompressedBitmap> yearMonthIndex) {
+        this.records = records;
+        this.columnIndexes = columnIndexes;
+        this.yearMonthIndex = yearMonthIndex;
+    }
+
+    /**
+     * Builds all indexes in one pass over the records
+     *
+     * @param records Records to index; must not change afterwards
+     * @return Index over the records
+     */
+    public static SalesBitmapIndex build(List<SalesRecord> records) {
+        Map<SalesColumn, Map<Object, CompressedBitmap>> columnIndexes = new EnumMap<>(SalesColumn.class);
+        for (SalesColumn column : INDEXED_COLUMNS) {
+            columnIndexes.put(column, new HashMap<>());
+        }
+        TreeMap<Integer, CompressedBitmap> yearMonthIndex = new TreeMap<>();
+
+        for (int row = 0; row < records.size(); row++) {
+            SalesRecord record = records.get(row);
+            for (Map.Entry<SalesColumn, Map<Object, CompressedBitmap>> entry : columnIndexes.entrySet()) {
+                entry.getValue()
+                    .computeIfAbsent(entry.getKey().valueOf(record), value -> new CompressedBitmap())
+                    .add(row);
+            }
+            int yearMonth = (int) TimeGrain.MONTH.bucketOf(record.getEpochDay());
+            yearMonthIndex.computeIfAbsent(yearMonth, key -> new CompressedBitmap()).add(row);
+        }
+        for (Map<Object, CompressedBitmap> index : columnIndexes.values()) {
+            index.values().forEach(CompressedBitmap::seal);
+        }
+        yearMonthIndex.values().forEach(CompressedBitmap::seal);
+        return new SalesBitmapIndex(records, columnIndexes, yearMonthIndex);
+    }
+
+    /**
+     * @return The record list this index was built from
+     */
+    public List<SalesRecord> getRecords() {
+        return records;
+    }
+
+    public boolean isIndexed(SalesColumn column) {
+        return columnIndexes.containsKey(column);
+    }
+
+    /**
+     * Returns the rows holding a value in an indexed column
+     *
+     * @param column Indexed column
+     * @param value Column value
+     * @return Matching rows as a sealed bitmap (empty if the value never occurs)
+     * @throws IllegalArgumentException if the column is not indexed
+     */
+    public CompressedBitmap lookup(SalesColumn column, Object value) {
+        Map<Object, CompressedBitmap> index = columnIndexes.get(column);
+        if (index == null) {
+            throw new IllegalArgumentException("Column " + column + " is not indexed");
+        }
+        CompressedBitmap rows = index.get(value);
+        return rows != null ? rows : new CompressedBitmap().seal();
+    }
+
+    /**
+     * Returns the distinct values of an indexed column
+     */
+    public Set<Object> getDistinctValues(SalesColumn column) {
+        Map<Object, CompressedBitmap> index = columnIndexes.get(column);
+        if (index == null) {
+            throw new IllegalArgumentException("Column " + column + " is not indexed");
+        }
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * Answers as many filters as possible from the indexes
+     *
+     * Equality, IN and range filters on indexed columns are answered exactly. Date
+     * ranges are answered at month granularity, so they narrow the candidates but
+     * remain in the residual list to trim partial months.
+     *
+     * @param filters Query filters
+     * @return Candidate rows plus the filters still to test per row, or null when no
+     *         filter could use an index
+     */
+    Selection select(List<SalesQuery.Filter> filters) {
+        CompressedBitmap rows = null;
+        List<SalesQuery.Filter> residual = new ArrayList<>();
+
+        for (SalesQuery.Filter filter : filters) {
+            CompressedBitmap candidates = null;
+            boolean exact = false;
+
+            if (isIndexed(filter.getColumn()) && filter.getValues() != null) {
+                candidates = union(filter.getColumn(), filter.getValues());
+                exact = true;
+            } else if (isIndexed(filter.getColumn()) && filter.getLowerBound() != null) {
+                candidates = unionInRange(filter.getColumn(), filter.getLowerBound(), filter.getUpperBound());
+                exact = true;
+            } else if (filter.getColumn() == SalesColumn.SALE_DATE && filter.getLowerBound() instanceof LocalDate) {
+                candidates = unionOfMonths((LocalDate) filter.getLowerBound(), (LocalDate) filter.getUpperBound());
+            }
+
+            if (candidates == null) {
+                residual.add(filter);
+                continue;
+            }
+            rows = rows == null ? candidates : rows.and(candidates);
+            if (!exact) {
+                residual.add(filter);
+            }
+        }
+        return rows == null ? null : new Selection(rows, residual);
+    }
+
+    private CompressedBitmap union(SalesColumn column, Set<Object> values) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (Object value : values) {
+            CompressedBitmap rows = columnIndexes.get(column).get(value);
+            if (rows != null) {
+                result = result.or(rows);
+            }
+        }
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private CompressedBitmap unionInRange(SalesColumn column, Comparable lower, Comparable upper) {
+        CompressedBitmap result = new CompressedBitmap();
+        for (Map.Entry<Object, CompressedBitmap> entry : columnIndexes.get(column).entrySet()) {
+            if (lower.compareTo(entry.getKey()) <= 0 && upper.compareTo(entry.getKey()) >= 0) {
+                result = result.or(entry.getValue());
+            }
+        }
+        return result;
+    }
+
+    private CompressedBitmap unionOfMonths(LocalDate start, LocalDate end) {
+        CompressedBitmap result = new CompressedBitmap();
+        if (start.isAfter(end)) {
+            return result;
+        }
+        for (CompressedBitmap rows : yearMonthIndex.subMap(yearMonthKey(start), true, yearMonthKey(end), true).values()) {
+            result = result.or(rows);
+        }
+        return result;
+    }
+
+    private static int yearMonthKey(LocalDate date) {
+        return date.getYear() * 12 + date.getMonthValue() - 1;
+    }
+
+    /**
+     * Selection Class
+     *
+     * Rows picked by the indexes and the filters the indexes could not fully answer.
+     */
+    static final class Selection {
+        private final CompressedBitmap rows;
+        private final List<SalesQuery.Filter> residualFilters;
+
+        Selection(CompressedBitmap rows, List<SalesQuery.Filter> residualFilters) {
+            this.rows = rows;
+            this.residualFilters = residualFilters;
+        }
+
+        CompressedBitmap getRows() {
+            return rows;
+        }
+
+        List<SalesQuery.Filter> getResidualFilters() {
+            return residualFilters;
+        }
+    }
+}
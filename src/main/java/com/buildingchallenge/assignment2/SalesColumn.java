@@ -0,0 +1,146 @@
+package com.buildingchallenge.assignment2;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * SalesColumn Enum
+ *
+ * Purpose: Names every attribute of a SalesRecord that can be filtered on, grouped by
+ * or aggregated in a SalesQuery. Derived columns (YEAR, MONTH, TOTAL_VALUE) are
+ * exposed alongside the stored ones so time and revenue breakdowns need no extra code.
+ *
+ * Stored columns also carry their CSV header name, which CSVDataReader uses to find
+ * them in a file; derived columns name the stored columns they are computed from.
+ */
+public enum SalesColumn {
+
+    PRODUCT_ID(SalesRecord::getProductId, String.class, false, "ProductID"),
+    PRODUCT_NAME(SalesRecord::getProductName, String.class, false, "ProductName"),
+    CATEGORY(SalesRecord::getCategory, String.class, false, "Category"),
+    SALE_DATE(SalesRecord::getSaleDate, LocalDate.class, false, "SaleDate"),
+    YEAR(SalesRecord::getYear, Integer.class, false, null),
+    MONTH(SalesRecord::getMonth, Integer.class, false, null),
+    REGION(SalesRecord::getRegion, String.class, false, "Region"),
+    SALES_REP(SalesRecord::getSalesRep, String.class, false, "SalesRep"),
+    AMOUNT(SalesRecord::getAmount, BigDecimal.class, true, "Amount"),
+    QUANTITY(SalesRecord::getQuantity, Integer.class, true, "Quantity"),
+    TOTAL_VALUE(SalesRecord::getTotalValue, BigDecimal.class, true, null);
+
+    private final Function<SalesRecord, Object> extractor;
+    private final Class<?> valueType;
+    private final boolean numeric;
+    private final String csvHeader;
+
+    SalesColumn(Function<SalesRecord, Object> extractor, Class<?> valueType, boolean numeric, String csvHeader) {
+        this.extractor = extractor;
+        this.valueType = valueType;
+        this.numeric = numeric;
+        this.csvHeader = csvHeader;
+    }
+
+    /**
+     * Reads this column's value from a record
+     *
+     * @param record Sales record
+     * @return Column value (String, LocalDate, Integer or BigDecimal)
+     */
+    public Object valueOf(SalesRecord record) {
+        return extractor.apply(record);
+    }
+
+    /**
+     * Reads this column as a number for aggregation
+     *
+     * @param record Sales record
+     * @return Column value as BigDecimal
+     * @throws IllegalStateException if the column is not numeric
+     */
+    public BigDecimal numericValueOf(SalesRecord record) {
+        switch (this) {
+            case AMOUNT:
+                return record.getAmount();
+            case QUANTITY:
+                return BigDecimal.valueOf(record.getQuantity());
+            case TOTAL_VALUE:
+                return record.getTotalValue();
+            default:
+                throw new IllegalStateException("Column " + this + " is not numeric");
+        }
+    }
+
+    /**
+     * @return Type of the values valueOf returns for this column
+     */
+    public Class<?> getValueType() {
+        return valueType;
+    }
+
+    /**
+     * Converts a filter value to this column's type so it can be compared with stored values
+     *
+     * Integer columns accept any whole Number (2024L for YEAR), decimal columns any
+     * Number; other columns need a value of their own type.
+     *
+     * @param value Filter value
+     * @return The value as an instance of getValueType()
+     * @throws IllegalArgumentException if the value is null or cannot be represented in this column's type
+     */
+    public Object normalize(Object value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Filter value for " + this + " cannot be null");
+        }
+        if (valueType.isInstance(value)) {
+            return value;
+        }
+        if (value instanceof Number && (valueType == Integer.class || valueType == BigDecimal.class)) {
+            try {
+                BigDecimal decimal = new BigDecimal(value.toString());
+                return valueType == Integer.class ? Integer.valueOf(decimal.intValueExact()) : decimal;
+            } catch (ArithmeticException | NumberFormatException e) {
+                throw new IllegalArgumentException("Value " + value + " is not a valid " + this + " value", e);
+            }
+        }
+        throw new IllegalArgumentException("Column " + this + " holds " + valueType.getSimpleName()
+                                           + " values, got " + value.getClass().getSimpleName());
+    }
+
+    public boolean isNumeric() {
+        return numeric;
+    }
+
+    /**
+     * @return true if the column is read from the CSV file rather than derived
+     */
+    public boolean isStored() {
+        return csvHeader != null;
+    }
+
+    /**
+     * @return Header name of the column in the sales CSV, or null for derived columns
+     */
+    public String getCsvHeader() {
+        return csvHeader;
+    }
+
+    /**
+     * Returns the stored columns this column is read or computed from
+     *
+     * @return The column itself if stored, otherwise the columns it is derived from
+     */
+    public Set<SalesColumn> getSourceColumns() {
+        switch (this) {
+            case YEAR:
+            case MONTH:
+                return Collections.unmodifiableSet(EnumSet.of(SALE_DATE));
+            case TOTAL_VALUE:
+                return Collections.unmodifiableSet(EnumSet.of(AMOUNT, QUANTITY));
+            default:
+                return Collections.unmodifiableSet(EnumSet.of(this));
+        }
+    }
+}
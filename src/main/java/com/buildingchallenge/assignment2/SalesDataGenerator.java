@@ -0,0 +1,233 @@
+package com.buildingchallenge.assignment2;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
+
+/**
+ * SalesDataGenerator Class
+ *
+ * Purpose: Produces synthetic sales data for benchmarks and load tests. The same
+ * seed and settings always produce the same rows, so measurements are repeatable.
+ * Rows are generated one at a time, so writing a 100M-row CSV needs no more memory
+ * than writing a 30-row one.
+ *
+ * Each product belongs to exactly one category and has a base price; a sale varies
+ * that price by up to +/-20%. Categories, regions and reps are uniformly chosen.
+ *
+ * Usage: java com.buildingchallenge.assignment2.SalesDataGenerator output.csv rows [seed]
+ */
+public final class SalesDataGenerator {
+
+    public static final String CSV_HEADER = CSVDataReader.CSV_HEADER;
+
+    // Upper bound the generator is tested and documented for
+    public static final long MAX_ROWS = 100_000_000L;
+
+    private final long seed;
+    private final long rows;
+    private final int productCount;
+    private final int categoryCount;
+    private final int regionCount;
+    private final int salesRepCount;
+    private final LocalDate startDate;
+    private final int days;
+
+    private SalesDataGenerator(Builder builder) {
+        this.seed = builder.seed;
+        this.rows = builder.rows;
+        this.productCount = builder.productCount;
+        this.categoryCount = builder.categoryCount;
+        this.regionCount = builder.regionCount;
+        this.salesRepCount = builder.salesRepCount;
+        this.startDate = builder.startDate;
+        this.days = builder.days;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Generates every row in order and hands it to the action
+     *
+     * @param action Callback receiving each generated record
+     */
+    public void forEach(Consumer<SalesRecord> action) {
+        SplittableRandom random = new SplittableRandom(seed);
+        long[] basePriceCents = basePrices();
+        for (long i = 0; i < rows; i++) {
+            action.accept(nextRecord(random, basePriceCents));
+        }
+    }
+
+    /**
+     * Generates all rows into memory; only sensible for sizes that fit the heap
+     *
+     * @return Generated records
+     * @throws IllegalStateException if more than Integer.MAX_VALUE - 8 rows are configured
+     */
+    public List<SalesRecord> generate() {
+        if (rows > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many rows to hold in a list: " + rows);
+        }
+        List<SalesRecord> records = new ArrayList<>((int) rows);
+        forEach(records::add);
+        return records;
+    }
+
+    /**
+     * Streams all rows to a CSV file in the format CSVDataReader reads
+     *
+     * @param output File to create or overwrite
+     * @throws IOException if the file cannot be written
+     */
+    public void writeCsv(Path output) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(output)) {
+            writer.write(CSV_HEADER);
+            writer.newLine();
+            SplittableRandom random = new SplittableRandom(seed);
+            long[] basePriceCents = basePrices();
+            StringBuilder line = new StringBuilder(96);
+            for (long i = 0; i < rows; i++) {
+                SalesRecord record = nextRecord(random, basePriceCents);
+                line.setLength(0);
+                line.append(record.getProductId()).append(',')
+                    .append(record.getProductName()).append(',')
+                    .append(record.getCategory()).append(',')
+                    .append(record.getSaleDate()).append(',')
+                    .append(record.getAmount().toPlainString()).append(',')
+                    .append(record.getQuantity()).append(',')
+                    .append(record.getRegion()).append(',')
+                    .append(record.getSalesRep());
+                writer.append(line);
+                writer.newLine();
+            }
+        }
+    }
+
+    // Prices come from their own seed so changing the row count does not change them
+    private long[] basePrices() {
+        SplittableRandom random = new SplittableRandom(seed ^ 0x5DEECE66DL);
+        long[] prices = new long[productCount];
+        for (int p = 0; p < productCount; p++) {
+            prices[p] = 500 + random.nextLong(200_000);
+        }
+        return prices;
+    }
+
+    private SalesRecord nextRecord(SplittableRandom random, long[] basePriceCents) {
+        int product = random.nextInt(productCount);
+        long cents = basePriceCents[product] * (80 + random.nextInt(41)) / 100;
+        return new SalesRecord(
+            String.format("P%06d", product),
+            "Product " + product,
+            "Category " + (product % categoryCount),
+            startDate.plusDays(random.nextInt(days)),
+            BigDecimal.valueOf(cents, 2),
+            1 + random.nextInt(20),
+            "Region " + random.nextInt(regionCount),
+            "Rep " + random.nextInt(salesRepCount));
+    }
+
+    /**
+     * Command-line entry point: writes a synthetic CSV file
+     *
+     * @param args output path, row count and optional seed
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: SalesDataGenerator <output.csv> <rows> [seed]");
+            System.exit(1);
+        }
+        Builder builder = builder().rows(Long.parseLong(args[1]));
+        if (args.length > 2) {
+            builder.seed(Long.parseLong(args[2]));
+        }
+        Path output = Paths.get(args[0]);
+        long start = System.nanoTime();
+        builder.build().writeCsv(output);
+        System.out.printf("Wrote %s rows to %s in %d ms%n", args[1], output, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * Builder Class
+     *
+     * Defaults: seed 42, 10,000 rows, 500 products in 10 categories, 8 regions,
+     * 50 sales reps, sales spread over the three years starting 2022-01-01.
+     */
+    public static final class Builder {
+        private long seed = 42L;
+        private long rows = 10_000L;
+        private int productCount = 500;
+        private int categoryCount = 10;
+        private int regionCount = 8;
+        private int salesRepCount = 50;
+        private LocalDate startDate = LocalDate.of(2022, 1, 1);
+        private int days = 3 * 365;
+
+        private Builder() {
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        public Builder rows(long rows) {
+            if (rows < 0 || rows > MAX_ROWS) {
+                throw new IllegalArgumentException("Rows must be between 0 and " + MAX_ROWS);
+            }
+            this.rows = rows;
+            return this;
+        }
+
+        public Builder products(int productCount) {
+            this.productCount = requirePositive(productCount, "Product count");
+            return this;
+        }
+
+        public Builder categories(int categoryCount) {
+            this.categoryCount = requirePositive(categoryCount, "Category count");
+            return this;
+        }
+
+        public Builder regions(int regionCount) {
+            this.regionCount = requirePositive(regionCount, "Region count");
+            return this;
+        }
+
+        public Builder salesReps(int salesRepCount) {
+            this.salesRepCount = requirePositive(salesRepCount, "Sales rep count");
+            return this;
+        }
+
+        public Builder dateRange(LocalDate startDate, int days) {
+            if (startDate == null) {
+                throw new IllegalArgumentException("Start date cannot be null");
+            }
+            this.startDate = startDate;
+            this.days = requirePositive(days, "Day count");
+            return this;
+        }
+
+        public SalesDataGenerator build() {
+            return new SalesDataGenerator(this);
+        }
+
+        private static int requirePositive(int value, String name) {
+            if (value < 1) {
+                throw new IllegalArgumentException(name + " must be at least 1");
+            }
+            return value;
+        }
+    }
+}
@@ -0,0 +1,374 @@
+package com.buildingchallenge.assignment2;
+
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * SalesFileLoader Class
+ *
+ * Purpose: Loads many CSV files - a directory of daily exports or a glob such as
+ * data/sales-2024-*.csv, plain or gzip-compressed - with a bounded number of files
+ * parsed concurrently, and returns their records merged in file-name order.
+ *
+ * The loader remembers what it has already loaded, per path, so calling it again on
+ * the same directory only picks up what changed:
+ * - a file whose path, size and modification time are unchanged is skipped without
+ *   being opened;
+ * - otherwise the file is read, and skipped if its size and SHA-256 digest match
+ *   another loaded file (a copied file) or its own earlier content (a touched file).
+ *   The digest is computed while the file is parsed, so this costs no extra pass;
+ * - a loaded file whose content did change (rows appended or fixed in place)
+ *   replaces its earlier records: the result lists both, so the caller can swap them.
+ *
+ * Thread Safety: load calls are serialized on this object; parsing within one call
+ * runs on a private pool of at most parallelism threads.
+ */
+public class SalesFileLoader {
+
+    private static final String DEFAULT_PATTERN = "*.{csv,csv.gz}";
+
+    private final int parallelism;
+    private final CSVDataReader dataReader = new CSVDataReader();
+
+    // What each loaded path last contributed
+    private final Map<Path, LoadedFile> loadedFiles = new HashMap<>();
+
+    // Path whose records stand for each distinct content loaded so far
+    private final Map<ContentKey, Path> contentOwners = new HashMap<>();
+
+    private long skippedFiles;
+
+    /**
+     * Constructor - One parsing thread per available processor
+     */
+    public SalesFileLoader() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructor - Parses at most parallelism files at a time
+     *
+     * @param parallelism Maximum number of files parsed concurrently
+     * @throws IllegalArgumentException if parallelism is less than 1
+     */
+    public SalesFileLoader(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Loads every file not loaded before and re-reads every loaded file that changed
+     *
+     * @param directoryOrGlob A directory (all *.csv and *.csv.gz files in it), a single
+     *                        file, or a glob whose last element is the file-name pattern
+     * @return Records added and, for changed files, the earlier records they replace
+     * @throws IOException if a file cannot be read or the directory cannot be listed
+     * @throws CsvException if CSV parsing fails
+     */
+    public synchronized LoadResult loadNew(Path directoryOrGlob) throws IOException, CsvException {
+        List<Path> candidates = new ArrayList<>();
+        for (Path file : resolve(directoryOrGlob)) {
+            LoadedFile previous = loadedFiles.get(file);
+            if (previous != null && FileStamp.of(file).equals(previous.stamp)) {
+                skippedFiles++;
+            } else {
+                candidates.add(file);
+            }
+        }
+        if (candidates.isEmpty()) {
+            return LoadResult.EMPTY;
+        }
+
+        List<SalesRecord> added = new ArrayList<>();
+        List<SalesRecord> removed = new ArrayList<>();
+        List<Path> changedFiles = new ArrayList<>();
+        for (LoadedFile loaded : parseAll(candidates)) {
+            LoadedFile previous = loadedFiles.get(loaded.file);
+            if (previous != null && previous.content.equals(loaded.content)) {
+                // Touched but not modified: keep the earlier records, remember the new stamp
+                loadedFiles.put(loaded.file, previous.withStamp(loaded.stamp));
+                skippedFiles++;
+                continue;
+            }
+            if (previous != null) {
+                changedFiles.add(loaded.file);
+                Path heir = contentOwners.remove(previous.content, loaded.file)
+                    ? findCopy(previous.content, loaded.file) : null;
+                if (heir != null) {
+                    // A copy of the old content is still loaded and takes over its records
+                    contentOwners.put(previous.content, heir);
+                    loadedFiles.put(heir, loadedFiles.get(heir).withRecords(previous.records));
+                } else {
+                    removed.addAll(previous.records);
+                }
+            }
+            if (contentOwners.putIfAbsent(loaded.content, loaded.file) == null) {
+                added.addAll(loaded.records);
+                loadedFiles.put(loaded.file, loaded);
+            } else {
+                // Same content as another loaded file: contributes no records of its own
+                loadedFiles.put(loaded.file, loaded.withRecords(Collections.emptyList()));
+                skippedFiles++;
+            }
+        }
+        return new LoadResult(added, removed, changedFiles);
+    }
+
+    public synchronized int getLoadedFileCount() {
+        return loadedFiles.size();
+    }
+
+    /**
+     * @return Files skipped because they were unchanged or duplicated other loaded content
+     */
+    public synchronized long getSkippedFileCount() {
+        return skippedFiles;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    private Path findCopy(ContentKey content, Path excluded) {
+        for (LoadedFile loaded : loadedFiles.values()) {
+            if (!loaded.file.equals(excluded) && loaded.content.equals(content)) {
+                return loaded.file;
+            }
+        }
+        return null;
+    }
+
+    private List<LoadedFile> parseAll(List<Path> files) throws IOException, CsvException {
+        ExecutorService pool = Executors.newFixedThreadPool(Math.min(parallelism, files.size()));
+        try {
+            List<Future<LoadedFile>> futures = new ArrayList<>(files.size());
+            for (Path file : files) {
+                futures.add(pool.submit(() -> parse(file)));
+            }
+            List<LoadedFile> loaded = new ArrayList<>(files.size());
+            for (Future<LoadedFile> future : futures) {
+                loaded.add(await(future));
+            }
+            return loaded;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private LoadedFile parse(Path file) throws IOException, CsvException {
+        // Stamp first: a file rewritten while we read it is re-read, and its records replaced, next time
+        FileStamp stamp = FileStamp.of(file);
+        MessageDigest digest = sha256();
+        List<SalesRecord> records;
+        InputStream raw = new DigestInputStream(Files.newInputStream(file), digest);
+        try (InputStream in = DecompressingInputStream.wrap(raw)) {
+            // The parser reads to end of stream, so every stored byte passes through the digest
+            records = dataReader.readSalesData(in);
+        }
+        return new LoadedFile(file, stamp, new ContentKey(stamp.size, digest.digest()), records);
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to provide SHA-256
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static LoadedFile await(Future<LoadedFile> future) throws IOException, CsvException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Interrupted while loading files", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof CsvException) {
+                throw (CsvException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("File load failed", cause);
+        }
+    }
+
+    // Sorted so the merged dataset does not depend on directory listing order
+    private static List<Path> resolve(Path directoryOrGlob) throws IOException {
+        Path directory;
+        String pattern;
+        if (Files.isDirectory(directoryOrGlob)) {
+            directory = directoryOrGlob;
+            pattern = DEFAULT_PATTERN;
+        } else if (Files.isRegularFile(directoryOrGlob)) {
+            return Collections.singletonList(directoryOrGlob);
+        } else {
+            Path parent = directoryOrGlob.getParent();
+            directory = parent == null ? Path.of("") : parent;
+            pattern = directoryOrGlob.getFileName().toString();
+        }
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, pattern)) {
+            for (Path file : stream) {
+                if (Files.isRegularFile(file)) {
+                    files.add(file);
+                }
+            }
+        }
+        Collections.sort(files);
+        return files;
+    }
+
+    /**
+     * Size and modification time of a file
+     */
+    private static final class FileStamp {
+        private final long size;
+        private final long lastModifiedMillis;
+
+        private FileStamp(long size, long lastModifiedMillis) {
+            this.size = size;
+            this.lastModifiedMillis = lastModifiedMillis;
+        }
+
+        static FileStamp of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            return new FileStamp(attributes.size(), attributes.lastModifiedTime().toMillis());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof FileStamp)) return false;
+            FileStamp that = (FileStamp) obj;
+            return size == that.size && lastModifiedMillis == that.lastModifiedMillis;
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(size) * 31 + Long.hashCode(lastModifiedMillis);
+        }
+    }
+
+    /**
+     * Size and SHA-256 digest of a file's stored bytes
+     */
+    private static final class ContentKey {
+        private final long size;
+        private final byte[] sha256;
+
+        ContentKey(long size, byte[] sha256) {
+            this.size = size;
+            this.sha256 = sha256;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (this == obj) return true;
+            if (!(obj instanceof ContentKey)) return false;
+            ContentKey that = (ContentKey) obj;
+            return size == that.size && Arrays.equals(sha256, that.sha256);
+        }
+
+        @Override
+        public int hashCode() {
+            return Long.hashCode(size) * 31 + Arrays.hashCode(sha256);
+        }
+    }
+
+    /**
+     * Result of parsing one file, and what it contributes to the loaded data
+     */
+    private static final class LoadedFile {
+        private final Path file;
+        private final FileStamp stamp;
+        private final ContentKey content;
+        private final List<SalesRecord> records;
+
+        LoadedFile(Path file, FileStamp stamp, ContentKey content, List<SalesRecord> records) {
+            this.file = file;
+            this.stamp = stamp;
+            this.content = content;
+            this.records = records;
+        }
+
+        LoadedFile withStamp(FileStamp newStamp) {
+            return new LoadedFile(file, newStamp, content, records);
+        }
+
+        LoadedFile withRecords(List<SalesRecord> newRecords) {
+            return new LoadedFile(file, stamp, content, newRecords);
+        }
+    }
+
+    /**
+     * LoadResult Class
+     *
+     * What one loadNew call changed: records of new and changed files, in file-name
+     * order, and the records the changed files contributed before. Apply it by removing
+     * the removed records (they are the same instances loadNew returned earlier) and
+     * appending the added ones, as SalesAnalyzerImpl.loadFiles does.
+     */
+    public static final class LoadResult {
+        static final LoadResult EMPTY =
+            new LoadResult(Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+
+        private final List<SalesRecord> addedRecords;
+        private final List<SalesRecord> removedRecords;
+        private final List<Path> changedFiles;
+
+        LoadResult(List<SalesRecord> addedRecords, List<SalesRecord> removedRecords, List<Path> changedFiles) {
+            this.addedRecords = Collections.unmodifiableList(addedRecords);
+            this.removedRecords = Collections.unmodifiableList(removedRecords);
+            this.changedFiles = Collections.unmodifiableList(changedFiles);
+        }
+
+        /**
+         * @return Records of newly loaded files and the new content of changed files
+         */
+        public List<SalesRecord> getAddedRecords() {
+            return addedRecords;
+        }
+
+        /**
+         * @return Records previously loaded from files that have since changed
+         */
+        public List<SalesRecord> getRemovedRecords() {
+            return removedRecords;
+        }
+
+        /**
+         * @return Loaded files whose content changed and was re-read
+         */
+        public List<Path> getChangedFiles() {
+            return changedFiles;
+        }
+    }
+}
@@ -0,0 +1,285 @@
+package com.buildingchallenge.assignment2;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.math.BigDecimal;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.Predicate;
+
+/**
+ * SalesQuery Class
+ *
+ * Purpose: Declarative description of an ad-hoc report over sales records:
+ * filters on any column, group-by on zero or more dimensions and a list of
+ * aggregates. A query is immutable; build one with {@link #builder()} and run it
+ * through {@link #compile()} or SalesAnalyzerImpl.query().
+ *
+ * Example - revenue and order count by region and month for Electronics:
+ * <pre>
+ * SalesQuery query = SalesQuery.builder()
+ *     .whereEquals(SalesColumn.CATEGORY, "Electronics")
+ *     .groupBy(SalesColumn.REGION, SalesColumn.MONTH)
+ *     .aggregate(Aggregate.SUM, SalesColumn.TOTAL_VALUE)
+ *     .aggregate(Aggregate.COUNT, SalesColumn.TOTAL_VALUE)
+ *     .build();
+ * </pre>
+ */
+public final class SalesQuery {
+
+    private final List<Filter> filters;
+    private final List<SalesColumn> groupBy;
+    private final List<AggregateSpec> aggregates;
+
+    private SalesQuery(Builder builder) {
+        this.filters = Collections.unmodifiableList(new ArrayList<>(builder.filters));
+        this.groupBy = Collections.unmodifiableList(new ArrayList<>(builder.groupBy));
+        this.aggregates = Collections.unmodifiableList(new ArrayList<>(builder.aggregates));
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Compiles this query into a reusable single-pass executor
+     *
+     * @return Compiled query
+     */
+    public CompiledSalesQuery compile() {
+        return new CompiledSalesQuery(this);
+    }
+
+    public List<Filter> getFilters() {
+        return filters;
+    }
+
+    public List<SalesColumn> getGroupBy() {
+        return groupBy;
+    }
+
+    public List<AggregateSpec> getAggregates() {
+        return aggregates;
+    }
+
+    /**
+     * Returns every column the query filters on, groups by or aggregates
+     *
+     * Pass the result to CSVDataReader to decode only these columns when loading.
+     *
+     * @return Referenced columns, derived ones included
+     */
+    public Set<SalesColumn> getReferencedColumns() {
+        Set<SalesColumn> columns = EnumSet.noneOf(SalesColumn.class);
+        for (Filter filter : filters) {
+            columns.add(filter.getColumn());
+        }
+        columns.addAll(groupBy);
+        for (AggregateSpec aggregate : aggregates) {
+            columns.add(aggregate.getColumn());
+        }
+        return Collections.unmodifiableSet(columns);
+    }
+
+    /**
+     * Filter Class
+     *
+     * A predicate over one column. Equality and IN filters also keep their value set,
+     * and range filters their bounds, so executors can answer them from an index
+     * instead of testing every record.
+     */
+    public static final class Filter {
+        private final SalesColumn column;
+        private final Predicate<Object> predicate;
+        private final Set<Object> values;
+        private final Comparable<?> lowerBound;
+        private final Comparable<?> upperBound;
+
+        private Filter(SalesColumn column, Predicate<Object> predicate, Set<Object> values,
+                       Comparable<?> lowerBound, Comparable<?> upperBound) {
+            this.column = column;
+            this.predicate = predicate;
+            this.values = values;
+            this.lowerBound = lowerBound;
+            this.upperBound = upperBound;
+        }
+
+        public SalesColumn getColumn() {
+            return column;
+        }
+
+        public boolean test(SalesRecord record) {
+            return predicate.test(column.valueOf(record));
+        }
+
+        /**
+         * @return Accepted values for equality / IN filters, null for other filters
+         */
+        public Set<Object> getValues() {
+            return values;
+        }
+
+        /**
+         * @return Inclusive lower bound for range filters, null otherwise
+         */
+        public Comparable<?> getLowerBound() {
+            return lowerBound;
+        }
+
+        /**
+         * @return Inclusive upper bound for range filters, null otherwise
+         */
+        public Comparable<?> getUpperBound() {
+            return upperBound;
+        }
+    }
+
+    /**
+     * AggregateSpec Class
+     *
+     * One aggregate function applied to one column.
+     */
+    public static final class AggregateSpec {
+        private final Aggregate function;
+        private final SalesColumn column;
+
+        AggregateSpec(Aggregate function, SalesColumn column) {
+            this.function = function;
+            this.column = column;
+        }
+
+        public Aggregate getFunction() {
+            return function;
+        }
+
+        public SalesColumn getColumn() {
+            return column;
+        }
+
+        @Override
+        public String toString() {
+            return function + "(" + column + ")";
+        }
+    }
+
+    /**
+     * Builder Class
+     *
+     * Collects filters, dimensions and aggregates and validates them on build().
+     */
+    public static final class Builder {
+        private final List<Filter> filters = new ArrayList<>();
+        private final List<SalesColumn> groupBy = new ArrayList<>();
+        private final List<AggregateSpec> aggregates = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        /**
+         * Keeps records whose column value satisfies an arbitrary predicate
+         */
+        public Builder where(SalesColumn column, Predicate<Object> predicate) {
+            requireColumn(column);
+            if (predicate == null) {
+                throw new IllegalArgumentException("Predicate cannot be null");
+            }
+            filters.add(new Filter(column, predicate, null, null, null));
+            return this;
+        }
+
+        /**
+         * Keeps records whose column value equals the given value
+         *
+         * The value is converted to the column's type first, so 2024L matches YEAR and
+         * new BigDecimal("10") matches an AMOUNT of 10.00.
+         *
+         * @throws IllegalArgumentException if the value does not fit the column's type
+         */
+        public Builder whereEquals(SalesColumn column, Object value) {
+            return whereIn(column, Collections.singleton(value));
+        }
+
+        /**
+         * Keeps records whose column value is one of the given values
+         *
+         * @throws IllegalArgumentException if a value does not fit the column's type
+         */
+        public Builder whereIn(SalesColumn column, Collection<?> values) {
+            requireColumn(column);
+            if (values == null || values.isEmpty()) {
+                throw new IllegalArgumentException("Filter values cannot be null or empty");
+            }
+            // BigDecimal equals() also compares scale, so decimal columns match by compareTo
+            Set<Object> normalized = column.getValueType() == BigDecimal.class ? new TreeSet<>() : new HashSet<>();
+            for (Object value : values) {
+                normalized.add(column.normalize(value));
+            }
+            Set<Object> accepted = Collections.unmodifiableSet(normalized);
+            filters.add(new Filter(column, accepted::contains, accepted, null, null));
+            return this;
+        }
+
+        /**
+         * Keeps records whose column value lies within [lower, upper], both inclusive
+         *
+         * @throws IllegalArgumentException if a bound does not fit the column's type
+         */
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        public <C extends Comparable<? super C>> Builder whereBetween(SalesColumn column, C lower, C upper) {
+            requireColumn(column);
+            if (lower == null || upper == null) {
+                throw new IllegalArgumentException("Range bounds cannot be null");
+            }
+            Comparable lowerBound = (Comparable) column.normalize(lower);
+            Comparable upperBound = (Comparable) column.normalize(upper);
+            Predicate<Object> inRange = value ->
+                ((Comparable) value).compareTo(lowerBound) >= 0 && ((Comparable) value).compareTo(upperBound) <= 0;
+            filters.add(new Filter(column, inRange, null, lowerBound, upperBound));
+            return this;
+        }
+
+        /**
+         * Groups results by the given dimensions, in order
+         */
+        public Builder groupBy(SalesColumn... columns) {
+            for (SalesColumn column : columns) {
+                requireColumn(column);
+            }
+            groupBy.addAll(Arrays.asList(columns));
+            return this;
+        }
+
+        /**
+         * Adds an aggregate output column
+         */
+        public Builder aggregate(Aggregate function, SalesColumn column) {
+            if (function == null) {
+                throw new IllegalArgumentException("Aggregate function cannot be null");
+            }
+            requireColumn(column);
+            if (function != Aggregate.COUNT && !column.isNumeric()) {
+                throw new IllegalArgumentException(function + " requires a numeric column, got " + column);
+            }
+            aggregates.add(new AggregateSpec(function, column));
+            return this;
+        }
+
+        public SalesQuery build() {
+            if (aggregates.isEmpty()) {
+                throw new IllegalStateException("Query must have at least one aggregate");
+            }
+            return new SalesQuery(this);
+        }
+
+        private static void requireColumn(SalesColumn column) {
+            if (column == null) {
+                throw new IllegalArgumentException("Column cannot be null");
+            }
+        }
+    }
+}
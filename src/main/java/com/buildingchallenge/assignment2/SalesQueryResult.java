@@ -0,0 +1,99 @@
+package com.buildingchallenge.assignment2;
+
+import java.math.BigDecimal;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SalesQueryResult Class
+ *
+ * Purpose: Immutable output of a SalesQuery. Each row carries one key per group-by
+ * dimension and one value per aggregate, in the order they were declared.
+ * COUNT values are returned as whole BigDecimals so every aggregate column has the
+ * same type; MIN/MAX/AVG of an empty group are null.
+ */
+public final class SalesQueryResult {
+
+    private final List<SalesColumn> dimensions;
+    private final List<SalesQuery.AggregateSpec> aggregates;
+    private final List<Row> rows;
+
+    SalesQueryResult(List<SalesColumn> dimensions, List<SalesQuery.AggregateSpec> aggregates, List<Row> rows) {
+        this.dimensions = dimensions;
+        this.aggregates = aggregates;
+        this.rows = Collections.unmodifiableList(rows);
+    }
+
+    public List<SalesColumn> getDimensions() {
+        return dimensions;
+    }
+
+    public List<SalesQuery.AggregateSpec> getAggregates() {
+        return aggregates;
+    }
+
+    public List<Row> getRows() {
+        return rows;
+    }
+
+    public int size() {
+        return rows.size();
+    }
+
+    /**
+     * Returns one aggregate column keyed by the group keys
+     *
+     * @param aggregateIndex Position of the aggregate in the query
+     * @return Map from group keys to that aggregate's value, in row order
+     */
+    public Map<List<Object>, BigDecimal> toMap(int aggregateIndex) {
+        Map<List<Object>, BigDecimal> map = new LinkedHashMap<>();
+        for (Row row : rows) {
+            map.put(row.getKeys(), row.getValue(aggregateIndex));
+        }
+        return Collections.unmodifiableMap(map);
+    }
+
+    @Override
+    public String toString() {
+        return "SalesQueryResult{dimensions=" + dimensions + ", aggregates=" + aggregates + ", rows=" + rows + "}";
+    }
+
+    /**
+     * Row Class
+     *
+     * One output group.
+     */
+    public static final class Row {
+        private final List<Object> keys;
+        private final List<BigDecimal> values;
+
+        Row(List<Object> keys, List<BigDecimal> values) {
+            this.keys = Collections.unmodifiableList(keys);
+            this.values = Collections.unmodifiableList(values);
+        }
+
+        public List<Object> getKeys() {
+            return keys;
+        }
+
+        public Object getKey(int dimensionIndex) {
+            return keys.get(dimensionIndex);
+        }
+
+        public List<BigDecimal> getValues() {
+            return values;
+        }
+
+        public BigDecimal getValue(int aggregateIndex) {
+            return values.get(aggregateIndex);
+        }
+
+        @Override
+        public String toString() {
+            return keys + "=" + values;
+        }
+    }
+}
@@ -9,15 +9,31 @@ import java.time.LocalDate;
  * Purpose: Represents a single sales record from the CSV file.
  * This is a data model class that encapsulates all attributes of a sales transaction.
  *
+ * Storage is compact: the date is kept as an epoch day, the amount and the total
+ * value (amount * quantity) as long cents computed once. Text fields are stored as
+ * given (trimmed); CSVDataReader deduplicates them per load, so millions of records
+ * share one copy of each name without going through the JVM string table. Getters
+ * still return LocalDate / BigDecimal; aggregation code uses the primitive getters
+ * (getEpochDay, getAmountCents, getTotalValueCents) and allocates nothing.
+ * Amounts with sub-cent precision fall back to a stored BigDecimal (isCentsExact).
+ *
  */
 
 public class SalesRecord {
     
+    private static final long DAYS_0000_03_01_TO_EPOCH = 719468;
+    private static final long DAYS_PER_400_YEARS = 146097;
+    
     private final String productId;
     private final String productName;
     private final String category;
-    private final LocalDate saleDate;
-    private final BigDecimal amount;
+    private final int epochDay;
+    private final long amountCents;
+    private final long totalValueCents;
+    // Scale the amount was given with, so getAmount returns the same BigDecimal value
+    private final byte amountScale;
+    // Only set when the amount (or total) does not fit in long cents
+    private final BigDecimal inexactAmount;
     private final int quantity;
     private final String region;
     private final String salesRep;
@@ -58,11 +74,29 @@ public class SalesRecord {
         this.productId = productId.trim();
         this.productName = productName.trim();
         this.category = category != null ? category.trim() : "Uncategorized";
-        this.saleDate = saleDate;
-        this.amount = amount;
+        this.epochDay = Math.toIntExact(saleDate.toEpochDay());
         this.quantity = quantity;
         this.region = region != null ? region.trim() : "Unknown";
         this.salesRep = salesRep != null ? salesRep.trim() : "Unknown";
+        
+        long cents;
+        long totalCents;
+        BigDecimal inexact = null;
+        try {
+            if (amount.scale() < Byte.MIN_VALUE || amount.scale() > Byte.MAX_VALUE) {
+                throw new ArithmeticException("Scale out of range");
+            }
+            cents = amount.movePointRight(2).longValueExact();
+            totalCents = Math.multiplyExact(cents, quantity);
+        } catch (ArithmeticException e) {
+            cents = 0;
+            totalCents = 0;
+            inexact = amount;
+        }
+        this.amountCents = cents;
+        this.totalValueCents = totalCents;
+        this.amountScale = (byte) amount.scale();
+        this.inexactAmount = inexact;
     }
     
     // Getters for all fields
@@ -80,11 +114,47 @@ public class SalesRecord {
     }
     
     public LocalDate getSaleDate() {
-        return saleDate;
+        return LocalDate.ofEpochDay(epochDay);
+    }
+    
+    public int getEpochDay() {
+        return epochDay;
     }
  
     public BigDecimal getAmount() {
-        return amount;
+        if (inexactAmount != null) {
+            return inexactAmount;
+        }
+        return withAmountScale(BigDecimal.valueOf(amountCents, 2));
+    }
+    
+    /**
+     * @return true if the amount and total value are whole cents within long range,
+     *         i.e. getAmountCents and getTotalValueCents are valid
+     */
+    public boolean isCentsExact() {
+        return inexactAmount == null;
+    }
+    
+    /**
+     * @return Amount in cents; only valid when isCentsExact() is true
+     */
+    public long getAmountCents() {
+        return amountCents;
+    }
+    
+    /**
+     * @return Amount * quantity in cents, computed once; only valid when isCentsExact() is true
+     */
+    public long getTotalValueCents() {
+        return totalValueCents;
+    }
+    
+    /**
+     * @return Scale of the amount as given, which getAmount and getTotalValue keep
+     */
+    int getAmountScale() {
+        return inexactAmount != null ? inexactAmount.scale() : amountScale;
     }
     
     public int getQuantity() {
@@ -100,15 +170,56 @@ public class SalesRecord {
     }
 
     public BigDecimal getTotalValue() {
-        return amount.multiply(BigDecimal.valueOf(quantity));
+        if (inexactAmount != null) {
+            return inexactAmount.multiply(BigDecimal.valueOf(quantity));
+        }
+        return withAmountScale(BigDecimal.valueOf(totalValueCents, 2));
     }
 
     public int getYear() {
-        return saleDate.getYear();
+        return yearOf(epochDay);
     }
 
     public int getMonth() {
-        return saleDate.getMonthValue();
+        return monthOf(epochDay);
+    }
+    
+    // Year and month come straight from the epoch day with the civil-from-days
+    // arithmetic LocalDate.ofEpochDay uses, so YEAR / MONTH grouping and monthly
+    // rollups allocate nothing. Years are counted from March so the leap day falls
+    // at the end of one.
+    static int yearOf(long epochDay) {
+        int marchBasedYear = marchBasedYear(epochDay);
+        return monthOf(epochDay) <= 2 ? marchBasedYear + 1 : marchBasedYear;
+    }
+
+    static int monthOf(long epochDay) {
+        int monthIndex = marchBasedMonthIndex(epochDay);
+        return monthIndex < 10 ? monthIndex + 3 : monthIndex - 9;
+    }
+
+    private static int marchBasedYear(long epochDay) {
+        long days = epochDay + DAYS_0000_03_01_TO_EPOCH;
+        long era = Math.floorDiv(days, DAYS_PER_400_YEARS);
+        return (int) (era * 400 + yearOfEra(days - era * DAYS_PER_400_YEARS));
+    }
+
+    // 0 = March ... 11 = February
+    private static int marchBasedMonthIndex(long epochDay) {
+        long days = epochDay + DAYS_0000_03_01_TO_EPOCH;
+        long dayOfEra = Math.floorMod(days, DAYS_PER_400_YEARS);
+        long yearOfEra = yearOfEra(dayOfEra);
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        return (int) ((5 * dayOfYear + 2) / 153);
+    }
+
+    private static long yearOfEra(long dayOfEra) {
+        return (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    }
+    
+    // Exact: the value is whole cents, so changing the scale never rounds
+    private BigDecimal withAmountScale(BigDecimal cents) {
+        return amountScale == 2 ? cents : cents.setScale(amountScale);
     }
  
     @Override
@@ -116,8 +227,8 @@ public class SalesRecord {
         return String.format("SalesRecord{productId='%s', productName='%s', " +
                            "category='%s', date=%s, amount=%.2f, quantity=%d, " +
                            "region='%s', salesRep='%s'}", 
-                           productId, productName, category, saleDate, 
-                           amount, quantity, region, salesRep);
+                           productId, productName, category, getSaleDate(), 
+                           getAmount(), quantity, region, salesRep);
     }
 
     @Override
@@ -127,16 +238,20 @@ public class SalesRecord {
         
         SalesRecord that = (SalesRecord) obj;
         
-        return productId.equals(that.productId) &&
-               saleDate.equals(that.saleDate) &&
-               amount.compareTo(that.amount) == 0;
+        if (!productId.equals(that.productId) || epochDay != that.epochDay) {
+            return false;
+        }
+        if (inexactAmount == null && that.inexactAmount == null) {
+            return amountCents == that.amountCents;
+        }
+        return getAmount().compareTo(that.getAmount()) == 0;
     }
     
+    // Amount is left out: equal amounts can differ in scale, and BigDecimal hashes include the scale
     @Override
     public int hashCode() {
         int result = productId.hashCode();
-        result = 31 * result + saleDate.hashCode();
-        result = 31 * result + amount.hashCode();
+        result = 31 * result + epochDay;
         return result;
     }
 }
@@ -0,0 +1,235 @@
+package com.buildingchallenge.assignment2;
+
+import java.math.RoundingMode;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * SalesRollups Class
+ *
+ * Purpose: Materialized time-series rollups - revenue, quantity and sale count per
+ * day, ISO week and month, overall and per category and region. Built in one pass,
+ * then extended with plus() when records are appended, so a trend query copies
+ * ready-made arrays instead of scanning every record.
+ *
+ * Series are dense from the first to the last bucket with a sale, so one record with
+ * a far-off date widens every series of that grain.
+ *
+ * Rollups built over disjoint slices of the data (shards) can be merged into the
+ * rollups of the whole.
+ *
+ * Thread Safety: not thread-safe while building; treat as read-only once published.
+ * plus() leaves the receiver unchanged.
+ */
+public final class SalesRollups {
+
+    /**
+     * Columns that can break a time series down
+     */
+    public static final Set<SalesColumn> DIMENSIONS = Collections.unmodifiableSet(
+        EnumSet.of(SalesColumn.CATEGORY, SalesColumn.REGION));
+
+    private final List<SalesRecord> records;
+    private final Map<TimeGrain, Series> totals = new EnumMap<>(TimeGrain.class);
+    private final Map<TimeGrain, Map<SalesColumn, Map<String, Series>>> byDimension = new EnumMap<>(TimeGrain.class);
+
+    private SalesRollups(List<SalesRecord> records) {
+        this.records = records;
+        for (TimeGrain grain : TimeGrain.values()) {
+            totals.put(grain, new Series());
+            Map<SalesColumn, Map<String, Series>> dimensions = new EnumMap<>(SalesColumn.class);
+            for (SalesColumn dimension : DIMENSIONS) {
+                dimensions.put(dimension, new HashMap<>());
+            }
+            byDimension.put(grain, dimensions);
+        }
+    }
+
+    /**
+     * Builds rollups over the given records
+     *
+     * @param records Records to roll up
+     * @return Rollups bound to that list
+     */
+    public static SalesRollups build(List<SalesRecord> records) {
+        SalesRollups rollups = new SalesRollups(records);
+        for (SalesRecord record : records) {
+            rollups.add(record);
+        }
+        return rollups;
+    }
+
+    /**
+     * Creates rollups for the union of several disjoint record sets
+     *
+     * @param parts Rollups to combine; each is left unchanged
+     * @return Merged rollups, not bound to any record list
+     */
+    public static SalesRollups merge(List<SalesRollups> parts) {
+        SalesRollups merged = new SalesRollups(null);
+        for (SalesRollups part : parts) {
+            merged.addAll(part);
+        }
+        return merged;
+    }
+
+    /**
+     * Returns these rollups extended with appended records
+     *
+     * @param added Records appended since these rollups were built
+     * @param allRecords The full list after the append
+     * @return New rollups bound to allRecords; this instance is unchanged
+     */
+    public SalesRollups plus(List<SalesRecord> added, List<SalesRecord> allRecords) {
+        SalesRollups extended = new SalesRollups(allRecords);
+        extended.addAll(this);
+        for (SalesRecord record : added) {
+            extended.add(record);
+        }
+        return extended;
+    }
+
+    /**
+     * @return The list these rollups cover, or null for merged rollups
+     */
+    public List<SalesRecord> getRecords() {
+        return records;
+    }
+
+    /**
+     * Returns the series over all records
+     *
+     * @param grain Bucket size
+     * @return Series from the first to the last bucket with a sale
+     */
+    public SalesTimeSeries getTimeSeries(TimeGrain grain) {
+        Series total = totals.get(grain);
+        return total.window(grain, total.firstBucket, total.length);
+    }
+
+    /**
+     * Returns one series per value of a dimension, all over the same buckets
+     *
+     * @param grain Bucket size
+     * @param dimension CATEGORY or REGION
+     * @return Series per value, sorted by value; index i is the same bucket in every series
+     * @throws IllegalArgumentException if the dimension is not in DIMENSIONS
+     */
+    public Map<String, SalesTimeSeries> getTimeSeriesBy(TimeGrain grain, SalesColumn dimension) {
+        if (!DIMENSIONS.contains(dimension)) {
+            throw new IllegalArgumentException("Time series cannot be broken down by " + dimension);
+        }
+        Series total = totals.get(grain);
+        Map<String, SalesTimeSeries> result = new TreeMap<>();
+        byDimension.get(grain).get(dimension).forEach(
+            (value, series) -> result.put(value, series.window(grain, total.firstBucket, total.length)));
+        return result;
+    }
+
+    private void add(SalesRecord record) {
+        long cents = record.isCentsExact()
+            ? record.getTotalValueCents()
+            : record.getTotalValue().setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+        for (TimeGrain grain : TimeGrain.values()) {
+            long bucket = grain.bucketOf(record.getEpochDay());
+            totals.get(grain).add(bucket, cents, record.getQuantity(), 1);
+            Map<SalesColumn, Map<String, Series>> dimensions = byDimension.get(grain);
+            dimensions.get(SalesColumn.CATEGORY).computeIfAbsent(record.getCategory(), value -> new Series())
+                .add(bucket, cents, record.getQuantity(), 1);
+            dimensions.get(SalesColumn.REGION).computeIfAbsent(record.getRegion(), value -> new Series())
+                .add(bucket, cents, record.getQuantity(), 1);
+        }
+    }
+
+    private void addAll(SalesRollups other) {
+        for (TimeGrain grain : TimeGrain.values()) {
+            totals.get(grain).addAll(other.totals.get(grain));
+            for (SalesColumn dimension : DIMENSIONS) {
+                Map<String, Series> target = byDimension.get(grain).get(dimension);
+                other.byDimension.get(grain).get(dimension).forEach(
+                    (value, series) -> target.computeIfAbsent(value, key -> new Series()).addAll(series));
+            }
+        }
+    }
+
+    /**
+     * Series Class
+     *
+     * Growable dense arrays covering buckets [firstBucket, firstBucket + length).
+     * Spare capacity is kept at the end, where appends of recent sales land.
+     */
+    private static final class Series {
+        private long firstBucket;
+        private int length;
+        private long[] revenueCents = new long[0];
+        private long[] quantities = new long[0];
+        private long[] counts = new long[0];
+
+        void add(long bucket, long cents, long quantity, long count) {
+            int index = ensureBucket(bucket);
+            revenueCents[index] += cents;
+            quantities[index] += quantity;
+            counts[index] += count;
+        }
+
+        void addAll(Series other) {
+            for (int i = 0; i < other.length; i++) {
+                if (other.counts[i] != 0) {
+                    add(other.firstBucket + i, other.revenueCents[i], other.quantities[i], other.counts[i]);
+                }
+            }
+        }
+
+        // Widens the covered range to include the bucket and returns its index
+        private int ensureBucket(long bucket) {
+            if (length == 0) {
+                firstBucket = bucket;
+            }
+            long start = Math.min(firstBucket, bucket);
+            long end = Math.max(firstBucket + length, bucket + 1);
+            int newLength = Math.toIntExact(end - start);
+            if (start == firstBucket && newLength <= counts.length) {
+                length = newLength;
+                return (int) (bucket - firstBucket);
+            }
+            int capacity = Math.max(newLength, counts.length * 2);
+            int shift = (int) (firstBucket - start);
+            revenueCents = grow(revenueCents, capacity, shift, length);
+            quantities = grow(quantities, capacity, shift, length);
+            counts = grow(counts, capacity, shift, length);
+            firstBucket = start;
+            length = newLength;
+            return (int) (bucket - firstBucket);
+        }
+
+        private static long[] grow(long[] values, int capacity, int shift, int length) {
+            long[] grown = new long[capacity];
+            System.arraycopy(values, 0, grown, shift, length);
+            return grown;
+        }
+
+        // Copies buckets [from, from + size) into a series, zero outside this range
+        SalesTimeSeries window(TimeGrain grain, long from, int size) {
+            long[] windowRevenue = new long[size];
+            long[] windowQuantities = new long[size];
+            long[] windowCounts = new long[size];
+            long overlapStart = Math.max(from, firstBucket);
+            long overlapEnd = Math.min(from + size, firstBucket + length);
+            if (overlapStart < overlapEnd) {
+                int source = (int) (overlapStart - firstBucket);
+                int target = (int) (overlapStart - from);
+                int count = (int) (overlapEnd - overlapStart);
+                System.arraycopy(revenueCents, source, windowRevenue, target, count);
+                System.arraycopy(quantities, source, windowQuantities, target, count);
+                System.arraycopy(counts, source, windowCounts, target, count);
+            }
+            return new SalesTimeSeries(grain, from, windowRevenue, windowQuantities, windowCounts);
+        }
+    }
+}
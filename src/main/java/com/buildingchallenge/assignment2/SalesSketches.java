@@ -0,0 +1,107 @@
+package com.buildingchallenge.assignment2;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * SalesSketches Class
+ *
+ * Purpose: Approximate statistics built in one pass over the records:
+ * distinct products per region and per sales rep (HyperLogLog) and the order value
+ * distribution (KLL quantiles). Memory depends on the number of regions and reps,
+ * not on the number of rows or distinct products.
+ *
+ * Sketches built over disjoint slices of the data (shards, files) can be merged into
+ * the sketches of the whole.
+ *
+ * Thread Safety: not thread-safe while building; treat as read-only once published.
+ */
+public final class SalesSketches {
+
+    private final List<SalesRecord> records;
+    private final Map<String, HyperLogLog> productsByRegion = new HashMap<>();
+    private final Map<String, HyperLogLog> productsBySalesRep = new HashMap<>();
+    private final KllQuantileSketch orderValues = new KllQuantileSketch();
+
+    private SalesSketches(List<SalesRecord> records) {
+        this.records = records;
+    }
+
+    /**
+     * Builds sketches over the given records
+     *
+     * @param records Records to summarize
+     * @return Sketches bound to that list
+     */
+    public static SalesSketches build(List<SalesRecord> records) {
+        SalesSketches sketches = new SalesSketches(records);
+        for (SalesRecord record : records) {
+            sketches.add(record);
+        }
+        return sketches;
+    }
+
+    /**
+     * Creates sketches for the union of several disjoint record sets
+     *
+     * @param parts Sketches to combine; each is left unchanged
+     * @return Merged sketches, not bound to any record list
+     */
+    public static SalesSketches merge(List<SalesSketches> parts) {
+        SalesSketches merged = new SalesSketches(null);
+        for (SalesSketches part : parts) {
+            mergeInto(merged.productsByRegion, part.productsByRegion);
+            mergeInto(merged.productsBySalesRep, part.productsBySalesRep);
+            merged.orderValues.merge(part.orderValues);
+        }
+        return merged;
+    }
+
+    /**
+     * @return The list these sketches were built from, or null for merged sketches
+     */
+    public List<SalesRecord> getRecords() {
+        return records;
+    }
+
+    public Map<String, Long> getApproxDistinctProductsByRegion() {
+        return estimates(productsByRegion);
+    }
+
+    public Map<String, Long> getApproxDistinctProductsBySalesRep() {
+        return estimates(productsBySalesRep);
+    }
+
+    /**
+     * @param fraction Rank between 0 and 1
+     * @return Approximate order value at that rank, or null if there are no records
+     */
+    public BigDecimal getOrderValueQuantile(double fraction) {
+        double value = orderValues.quantile(fraction);
+        return Double.isNaN(value) ? null : BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    private void add(SalesRecord record) {
+        long productHash = HyperLogLog.hash64(record.getProductId());
+        productsByRegion.computeIfAbsent(record.getRegion(), key -> new HyperLogLog()).addHash(productHash);
+        productsBySalesRep.computeIfAbsent(record.getSalesRep(), key -> new HyperLogLog()).addHash(productHash);
+        orderValues.add(record.isCentsExact()
+            ? record.getTotalValueCents() / 100.0
+            : record.getTotalValue().doubleValue());
+    }
+
+    private static void mergeInto(Map<String, HyperLogLog> target, Map<String, HyperLogLog> source) {
+        source.forEach((key, sketch) -> target.computeIfAbsent(key, k -> new HyperLogLog()).merge(sketch));
+    }
+
+    // Sorted by key so the output is stable for display
+    private static Map<String, Long> estimates(Map<String, HyperLogLog> sketches) {
+        Map<String, Long> result = new TreeMap<>();
+        sketches.forEach((key, sketch) -> result.put(key, sketch.estimate()));
+        return result;
+    }
+}
@@ -0,0 +1,138 @@
+package com.buildingchallenge.assignment2;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * SalesSnapshot Class
+ *
+ * Purpose: One immutable version of an analyzer's data: the record list, its version
+ * number and the structures derived from it (bitmap index, columnar copy, sketches,
+ * rollups). SalesAnalyzerImpl publishes snapshots through a single volatile field, so
+ * a query reads the field once and sees one consistent version from start to end,
+ * without locks, while a writer prepares the next version with append().
+ *
+ * Rollups are built with the snapshot, so the first trend query after a load finds
+ * them ready, and each append extends the previous version's rollups instead of
+ * rescanning. The other derived structures are built lazily on first use and then
+ * shared by every query on the snapshot. Two threads may both build one the first
+ * time; either result is correct and the last one stored wins.
+ *
+ * Thread Safety: immutable apart from the lazily built caches, which are safe to race on.
+ */
+public final class SalesSnapshot {
+
+    private final List<SalesRecord> records;
+    private final long version;
+
+    private volatile SalesBitmapIndex bitmapIndex;
+    private volatile ColumnarSalesData columnarData;
+    private volatile SalesSketches sketches;
+    private final SalesRollups rollups;
+
+    /**
+     * Creates a snapshot and builds its rollups in one pass over the records
+     *
+     * @param records Records of this version; copied, so the caller may keep using the list
+     * @param version Data version number
+     */
+    SalesSnapshot(List<SalesRecord> records, long version) {
+        this(Collections.unmodifiableList(new ArrayList<>(records)), version, null);
+    }
+
+    // records must already be an unmodifiable list owned by this snapshot;
+    // rollups are built from them when null
+    private SalesSnapshot(List<SalesRecord> records, long version, SalesRollups rollups) {
+        this.records = records;
+        this.version = version;
+        this.rollups = rollups != null ? rollups : SalesRollups.build(records);
+    }
+
+    /**
+     * Creates the next version with records appended (copy-on-write)
+     *
+     * Rollups are extended with the new records rather than rebuilt; the other
+     * derived structures are rebuilt lazily on the new snapshot.
+     *
+     * @param newRecords Records to append
+     * @return Next snapshot; this one is unchanged
+     */
+    SalesSnapshot append(List<SalesRecord> newRecords) {
+        List<SalesRecord> merged = new ArrayList<>(records.size() + newRecords.size());
+        merged.addAll(records);
+        merged.addAll(newRecords);
+        List<SalesRecord> nextRecords = Collections.unmodifiableList(merged);
+        return new SalesSnapshot(nextRecords, version + 1, rollups.plus(newRecords, nextRecords));
+    }
+
+    /**
+     * Creates the next version with some records swapped for others
+     *
+     * Removed records are matched by identity, so equal records from other sources
+     * stay. Rollups cannot subtract, so they are rebuilt.
+     *
+     * @param removedRecords Records of this snapshot to drop
+     * @param addedRecords Records to append
+     * @return Next snapshot; this one is unchanged
+     */
+    SalesSnapshot replace(List<SalesRecord> removedRecords, List<SalesRecord> addedRecords) {
+        if (removedRecords.isEmpty()) {
+            return append(addedRecords);
+        }
+        Set<SalesRecord> removed = Collections.newSetFromMap(new IdentityHashMap<>());
+        removed.addAll(removedRecords);
+        List<SalesRecord> merged = new ArrayList<>(records.size() - removed.size() + addedRecords.size());
+        for (SalesRecord record : records) {
+            if (!removed.contains(record)) {
+                merged.add(record);
+            }
+        }
+        merged.addAll(addedRecords);
+        return new SalesSnapshot(Collections.unmodifiableList(merged), version + 1, null);
+    }
+
+    public List<SalesRecord> getRecords() {
+        return records;
+    }
+
+    /**
+     * @return Number of appends and replacements since the analyzer was loaded
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    SalesBitmapIndex getBitmapIndex() {
+        SalesBitmapIndex index = bitmapIndex;
+        if (index == null) {
+            index = SalesBitmapIndex.build(records);
+            bitmapIndex = index;
+        }
+        return index;
+    }
+
+    ColumnarSalesData getColumnarData() {
+        ColumnarSalesData columns = columnarData;
+        if (columns == null) {
+            columns = ColumnarSalesData.build(records);
+            columnarData = columns;
+        }
+        return columns;
+    }
+
+    SalesSketches getSketches() {
+        SalesSketches current = sketches;
+        if (current == null) {
+            current = SalesSketches.build(records);
+            sketches = current;
+        }
+        return current;
+    }
+
+    SalesRollups getRollups() {
+        return rollups;
+    }
+}
@@ -0,0 +1,82 @@
+package com.buildingchallenge.assignment2;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * SalesTimeSeries Class
+ *
+ * Purpose: Revenue, quantity and sale count per time bucket as dense primitive
+ * arrays, ready to plot. Index i covers the bucket starting at getBucketStart(i);
+ * buckets without sales are present with zeros, so there are no gaps to fill.
+ * Revenue is in cents (quantity * amount, see SalesRecord.getTotalValueCents).
+ *
+ * Thread Safety: immutable; the array getters return copies.
+ */
+public final class SalesTimeSeries {
+
+    private final TimeGrain grain;
+    private final long firstBucket;
+    private final long[] revenueCents;
+    private final long[] quantities;
+    private final long[] counts;
+
+    SalesTimeSeries(TimeGrain grain, long firstBucket, long[] revenueCents, long[] quantities, long[] counts) {
+        this.grain = grain;
+        this.firstBucket = firstBucket;
+        this.revenueCents = revenueCents;
+        this.quantities = quantities;
+        this.counts = counts;
+    }
+
+    public TimeGrain getGrain() {
+        return grain;
+    }
+
+    /**
+     * @return Number of buckets
+     */
+    public int size() {
+        return counts.length;
+    }
+
+    /**
+     * @return First day of the first bucket, or null if the series is empty
+     */
+    public LocalDate getStartDate() {
+        return size() == 0 ? null : grain.startOf(firstBucket);
+    }
+
+    /**
+     * @param index Bucket index, 0 to size() - 1
+     * @return First day of that bucket
+     */
+    public LocalDate getBucketStart(int index) {
+        return grain.startOf(firstBucket + index);
+    }
+
+    public long[] getRevenueCents() {
+        return revenueCents.clone();
+    }
+
+    public long[] getQuantities() {
+        return quantities.clone();
+    }
+
+    public long[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * @param index Bucket index, 0 to size() - 1
+     * @return Revenue of that bucket
+     */
+    public BigDecimal getRevenue(int index) {
+        return BigDecimal.valueOf(revenueCents[index], 2);
+    }
+
+    @Override
+    public String toString() {
+        return "SalesTimeSeries{" + grain + " from " + getStartDate() + ", " + size() + " buckets}";
+    }
+}
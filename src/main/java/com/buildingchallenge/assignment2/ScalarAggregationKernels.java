@@ -0,0 +1,43 @@
+package com.buildingchallenge.assignment2;
+
+/**
+ * ScalarAggregationKernels Class
+ *
+ * Purpose: Plain-loop implementation of AggregationKernels. Always available and
+ * used whenever the Vector API implementation is disabled or missing. The loops are
+ * simple enough for HotSpot's auto-vectorizer to pick up the ungrouped sums.
+ */
+public final class ScalarAggregationKernels implements AggregationKernels {
+
+    static final ScalarAggregationKernels INSTANCE = new ScalarAggregationKernels();
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public long sum(long[] values, int length) {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public long sumOfProducts(long[] values, int[] multipliers, int length) {
+        long sum = 0;
+        for (int i = 0; i < length; i++) {
+            sum += values[i] * multipliers[i];
+        }
+        return sum;
+    }
+
+    @Override
+    public void groupedSumOfProducts(long[] values, int[] multipliers, int[] groups, long[] sums, int length) {
+        for (int i = 0; i < length; i++) {
+            sums[groups[i]] += values[i] * multipliers[i];
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.buildingchallenge.assignment2;
+
+import com.opencsv.exceptions.CsvException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+
+/**
+ * ShardedSalesAnalyzer Class
+ *
+ * Purpose: Partitioned SalesAnalyzerUtil. Records are split into shards, each its own
+ * SalesAnalyzerImpl; every query runs on all shards in parallel and the partial
+ * results are merged (scatter-gather). Sums and counts add up, distinct-count and
+ * quantile sketches merge, and top-N lists are combined through a bounded heap.
+ *
+ * Partitioning:
+ * - HASH_BY_PRODUCT: by product name, so each product lives in exactly one shard and
+ *   top products are merged from per-shard top-N lists instead of full maps.
+ * - BY_MONTH: by sale month, round-robin over shards, so date-range queries only
+ *   visit the shards that hold the requested months.
+ *
+ * Lists returned by getSalesRecords and getSalesByDateRange are concatenated shard
+ * by shard, so their order differs from the input order.
+ *
+ * Thread Safety: queries may run concurrently with each other and with
+ * addSalesRecords. The shard array is replaced as a whole on append, so a query sees
+ * every shard either before or after an append, never a mix. Call close() to stop
+ * the shard worker threads.
+ */
+public class ShardedSalesAnalyzer implements SalesAnalyzerUtil, AutoCloseable {
+
+    /**
+     * How records are assigned to shards
+     */
+    public enum Partitioning {
+        HASH_BY_PRODUCT,
+        BY_MONTH
+    }
+
+    // Each shard pinned to one snapshot; the array is replaced, never mutated, on append
+    private volatile SalesAnalyzerImpl[] shards;
+    private final int shardCount;
+    private final Partitioning partitioning;
+    private final ExecutorService executor;
+
+    /**
+     * Constructor - Loads a CSV file and partitions its records
+     *
+     * @param csvFilePath Path to CSV file
+     * @param shardCount Number of shards (and worker threads)
+     * @param partitioning How records are assigned to shards
+     * @throws IOException if file cannot be read
+     * @throws CsvException if CSV parsing fails
+     */
+    public ShardedSalesAnalyzer(Path csvFilePath, int shardCount, Partitioning partitioning)
+            throws IOException, CsvException {
+        this(new CSVDataReader().readSalesData(csvFilePath), shardCount, partitioning);
+    }
+
+    /**
+     * Constructor - Partitions the given records
+     *
+     * @param records Records to distribute over the shards
+     * @param shardCount Number of shards (and worker threads)
+     * @param partitioning How records are assigned to shards
+     * @throws IllegalArgumentException if records or partitioning is null or shardCount is less than 1
+     */
+    public ShardedSalesAnalyzer(List<SalesRecord> records, int shardCount, Partitioning partitioning) {
+        if (records == null) {
+            throw new IllegalArgumentException("Records cannot be null");
+        }
+        if (partitioning == null) {
+            throw new IllegalArgumentException("Partitioning cannot be null");
+        }
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be at least 1");
+        }
+        this.partitioning = partitioning;
+        this.shardCount = shardCount;
+        SalesAnalyzerImpl[] initial = new SalesAnalyzerImpl[shardCount];
+        List<List<SalesRecord>> parts = partition(records);
+        for (int i = 0; i < shardCount; i++) {
+            initial[i] = new SalesAnalyzerImpl(Collections.unmodifiableList(parts.get(i)));
+        }
+        this.shards = initial;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(shardCount, task -> {
+            Thread thread = new Thread(task, "sales-shard-" + threadNumber.getAndIncrement());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Routes new records to their shards and publishes the new shard versions together
+     *
+     * @param newRecords Records to append
+     * @throws IllegalArgumentException if newRecords is null
+     */
+    public synchronized void addSalesRecords(List<SalesRecord> newRecords) {
+        if (newRecords == null) {
+            throw new IllegalArgumentException("New records cannot be null");
+        }
+        SalesAnalyzerImpl[] current = shards;
+        List<List<SalesRecord>> parts = partition(newRecords);
+        SalesAnalyzerImpl[] next = current.clone();
+        for (int i = 0; i < next.length; i++) {
+            if (!parts.get(i).isEmpty()) {
+                // Fork the shard's snapshot so queries on the current array are unaffected
+                next[i] = current[i].snapshot();
+                next[i].addSalesRecords(parts.get(i));
+            }
+        }
+        shards = next;
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public Partitioning getPartitioning() {
+        return partitioning;
+    }
+
+    // Sum of the shard versions: any append to any shard changes it
+    @Override
+    public long getDataVersion() {
+        long version = 0;
+        for (SalesAnalyzerImpl shard : shards) {
+            version += shard.getDataVersion();
+        }
+        return version;
+    }
+
+    @Override
+    public List<SalesRecord> getSalesRecords() {
+        List<SalesRecord> all = new ArrayList<>();
+        for (SalesAnalyzerImpl shard : shards) {
+            all.addAll(shard.getSalesRecords());
+        }
+        return Collections.unmodifiableList(all);
+    }
+
+    @Override
+    public BigDecimal getTotalSales() {
+        return scatter(SalesAnalyzerImpl::getTotalSales).stream()
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+    }
+
+    @Override
+    public Map<String, BigDecimal> getSalesByCategory() {
+        return mergeMaps(scatter(SalesAnalyzerImpl::getSalesByCategory), BigDecimal::add);
+    }
+
+    @Override
+    public Map<String, Long> getSalesCountByRegion() {
+        return mergeMaps(scatter(SalesAnalyzerImpl::getSalesCountByRegion), Long::sum);
+    }
+
+    @Override
+    public Map<String, BigDecimal> getTopProductsBySales(int n) {
+        requireNonNegative(n);
+        // A product never spans shards under hash partitioning, so each shard's top n
+        // already contains every candidate for the global top n
+        int perShard = partitioning == Partitioning.HASH_BY_PRODUCT ? n : Integer.MAX_VALUE;
+        return topN(mergeMaps(scatter(shard -> shard.getTopProductsBySales(perShard)), BigDecimal::add), n);
+    }
+
+    // Reps span shards under both partitionings, so full per-shard totals are merged
+    @Override
+    public Map<String, BigDecimal> getTopSalesReps(int n) {
+        requireNonNegative(n);
+        return topN(mergeMaps(scatter(shard -> shard.getTopSalesReps(Integer.MAX_VALUE)), BigDecimal::add), n);
+    }
+
+    @Override
+    public Map<String, Long> getProductCountByCategory() {
+        return mergeMaps(scatter(SalesAnalyzerImpl::getProductCountByCategory), Long::sum);
+    }
+
+    @Override
+    public List<SalesRecord> getSalesByDateRange(LocalDate startDate, LocalDate endDate) {
+        boolean[] visit = shardsForRange(startDate, endDate);
+        SalesAnalyzerImpl[] current = shards;
+        List<Future<List<SalesRecord>>> futures = new ArrayList<>();
+        for (int i = 0; i < current.length; i++) {
+            if (visit[i]) {
+                SalesAnalyzerImpl shard = current[i];
+                futures.add(executor.submit(() -> shard.getSalesByDateRange(startDate, endDate)));
+            }
+        }
+        List<SalesRecord> matches = new ArrayList<>();
+        for (Future<List<SalesRecord>> future : futures) {
+            matches.addAll(await(future));
+        }
+        return matches;
+    }
+
+    @Override
+    public Map<String, Long> getApproxDistinctProductsByRegion() {
+        return mergedSketches().getApproxDistinctProductsByRegion();
+    }
+
+    @Override
+    public Map<String, Long> getApproxDistinctProductsBySalesRep() {
+        return mergedSketches().getApproxDistinctProductsBySalesRep();
+    }
+
+    @Override
+    public Map<Double, BigDecimal> getOrderValueQuantiles(double... quantiles) {
+        SalesSketches merged = mergedSketches();
+        Map<Double, BigDecimal> result = new LinkedHashMap<>();
+        for (double quantile : quantiles) {
+            BigDecimal value = merged.getOrderValueQuantile(quantile);
+            if (value != null) {
+                result.put(quantile, value);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public SalesTimeSeries getSalesTimeSeries(TimeGrain grain) {
+        if (grain == null) {
+            throw new IllegalArgumentException("Time grain cannot be null");
+        }
+        return mergedRollups().getTimeSeries(grain);
+    }
+
+    @Override
+    public Map<String, SalesTimeSeries> getSalesTimeSeriesBy(TimeGrain grain, SalesColumn dimension) {
+        if (grain == null) {
+            throw new IllegalArgumentException("Time grain cannot be null");
+        }
+        return mergedRollups().getTimeSeriesBy(grain, dimension);
+    }
+
+    /**
+     * Stops the shard worker threads; queries fail afterwards
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+    }
+
+    private SalesSketches mergedSketches() {
+        return SalesSketches.merge(scatter(SalesAnalyzerImpl::getSketches));
+    }
+
+    private SalesRollups mergedRollups() {
+        return SalesRollups.merge(scatter(SalesAnalyzerImpl::getRollups));
+    }
+
+    private List<List<SalesRecord>> partition(List<SalesRecord> records) {
+        List<List<SalesRecord>> parts = new ArrayList<>(shardCount);
+        for (int i = 0; i < shardCount; i++) {
+            parts.add(new ArrayList<>(records.size() / shardCount + 1));
+        }
+        for (SalesRecord record : records) {
+            parts.get(shardOf(record)).add(record);
+        }
+        return parts;
+    }
+
+    private int shardOf(SalesRecord record) {
+        if (partitioning == Partitioning.HASH_BY_PRODUCT) {
+            return (int) Long.remainderUnsigned(HyperLogLog.hash64(record.getProductName()), shardCount);
+        }
+        return shardOfMonth(record.getSaleDate());
+    }
+
+    private int shardOfMonth(LocalDate date) {
+        return Math.floorMod(date.getYear() * 12 + date.getMonthValue() - 1, shardCount);
+    }
+
+    private boolean[] shardsForRange(LocalDate startDate, LocalDate endDate) {
+        boolean[] visit = new boolean[shardCount];
+        if (partitioning != Partitioning.BY_MONTH) {
+            Arrays.fill(visit, true);
+            return visit;
+        }
+        // Once as many months as shards are covered every shard is hit anyway
+        LocalDate month = startDate.withDayOfMonth(1);
+        for (int i = 0; i < shardCount && !month.isAfter(endDate); i++) {
+            visit[shardOfMonth(month)] = true;
+            month = month.plusMonths(1);
+        }
+        return visit;
+    }
+
+    // Runs the query on every shard of one shard array in parallel and collects the partial results
+    private <R> List<R> scatter(Function<SalesAnalyzerImpl, R> query) {
+        List<Future<R>> futures = new ArrayList<>(shardCount);
+        for (SalesAnalyzerImpl shard : shards) {
+            futures.add(executor.submit(() -> query.apply(shard)));
+        }
+        List<R> results = new ArrayList<>(shardCount);
+        for (Future<R> future : futures) {
+            results.add(await(future));
+        }
+        return results;
+    }
+
+    private static <R> R await(Future<R> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for shard results", e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException("Shard query failed", cause);
+        }
+    }
+
+    private static <V> Map<String, V> mergeMaps(List<Map<String, V>> partials, BinaryOperator<V> combine) {
+        Map<String, V> merged = new HashMap<>();
+        for (Map<String, V> partial : partials) {
+            partial.forEach((key, value) -> merged.merge(key, value, combine));
+        }
+        return merged;
+    }
+
+    // Min-heap of size n keeps the n largest without sorting every entry
+    private static Map<String, BigDecimal> topN(Map<String, BigDecimal> totals, int n) {
+        Comparator<Map.Entry<String, BigDecimal>> byValue = Map.Entry.comparingByValue();
+        PriorityQueue<Map.Entry<String, BigDecimal>> heap = new PriorityQueue<>(byValue);
+        for (Map.Entry<String, BigDecimal> entry : totals.entrySet()) {
+            if (heap.size() < n) {
+                heap.add(entry);
+            } else if (n > 0 && entry.getValue().compareTo(heap.peek().getValue()) > 0) {
+                heap.poll();
+                heap.add(entry);
+            }
+        }
+        List<Map.Entry<String, BigDecimal>> top = new ArrayList<>(heap);
+        top.sort(byValue.reversed());
+        Map<String, BigDecimal> result = new LinkedHashMap<>();
+        for (Map.Entry<String, BigDecimal> entry : top) {
+            result.put(entry.getKey(), entry.getValue());
+        }
+        return result;
+    }
+
+    private static void requireNonNegative(int n) {
+        if (n < 0) {
+            throw new IllegalArgumentException("n must not be negative");
+        }
+    }
+}
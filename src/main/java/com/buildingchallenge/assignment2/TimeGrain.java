@@ -0,0 +1,54 @@
+package com.buildingchallenge.assignment2;
+
+import java.time.LocalDate;
+
+/**
+ * TimeGrain Enum
+ *
+ * Purpose: Bucket sizes for time-series rollups. Each grain numbers its buckets
+ * consecutively (day, ISO week starting Monday, calendar month), so a series over
+ * any period is a dense array indexed by bucket - first bucket.
+ */
+public enum TimeGrain {
+    DAY,
+    WEEK,
+    MONTH;
+
+    // 1970-01-01 (epoch day 0) was a Thursday; the Monday before it is epoch day -3
+    private static final int EPOCH_WEEK_OFFSET = 3;
+
+    /**
+     * Returns the bucket containing a day
+     *
+     * @param epochDay Day as LocalDate.toEpochDay()
+     * @return Bucket number for this grain
+     */
+    public long bucketOf(long epochDay) {
+        switch (this) {
+            case DAY:
+                return epochDay;
+            case WEEK:
+                return Math.floorDiv(epochDay + EPOCH_WEEK_OFFSET, 7);
+            default:
+                // Same arithmetic as SalesRecord.getYear/getMonth; no LocalDate per record
+                return SalesRecord.yearOf(epochDay) * 12L + SalesRecord.monthOf(epochDay) - 1;
+        }
+    }
+
+    /**
+     * Returns the first day of a bucket
+     *
+     * @param bucket Bucket number for this grain
+     * @return Day the bucket starts on
+     */
+    public LocalDate startOf(long bucket) {
+        switch (this) {
+            case DAY:
+                return LocalDate.ofEpochDay(bucket);
+            case WEEK:
+                return LocalDate.ofEpochDay(bucket * 7 - EPOCH_WEEK_OFFSET);
+            default:
+                return LocalDate.of(Math.toIntExact(Math.floorDiv(bucket, 12)), (int) Math.floorMod(bucket, 12) + 1, 1);
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Consumer Autoscaler Unit Tests")
+class ConsumerAutoscalerTest {
+
+    /**
+     * Purpose:
+     * Proves the scaling decisions follow the watermarks, streak lengths and bounds.
+     *
+     * How it works:
+     * Consumers block in the handler until a latch opens, so the test controls the
+     * queue depth exactly and calls sample() itself (the supervisor's interval is an
+     * hour). Depth between the watermarks resets the streaks, a full queue never pushes
+     * past the maximum, and once drained the pool steps back down to the minimum.
+     */
+    @Test
+    @DisplayName("Scales by hysteresis within min/max bounds")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void scalesWithHysteresis() throws Exception {
+        SharedQueue<Integer> queue = new SharedQueue<>(8, false);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicLong handled = new AtomicLong();
+        ConsumerAutoscaler<Integer> autoscaler = ConsumerAutoscaler.builder(queue, (Integer item) -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            handled.incrementAndGet();
+        }).consumers(1, 3).watermarks(0.25, 0.75).hysteresis(2, 2)
+          .sampleInterval(Duration.ofHours(1)).name("scaling").build();
+        autoscaler.start();
+        assertEquals(1, autoscaler.getConsumerCount());
+
+        // The first consumer holds one item, leaving 6 of 8 slots filled
+        fill(queue, 7);
+        awaitTrue(() -> queue.size() == 6);
+        autoscaler.sample();
+        assertEquals(1, autoscaler.getConsumerCount(), "one hot sample is not enough");
+        autoscaler.sample();
+        assertEquals(2, autoscaler.getConsumerCount());
+
+        // The new consumer takes an item: 5 of 8 is between the watermarks
+        awaitTrue(() -> queue.size() == 5);
+        autoscaler.sample();
+        fill(queue, 1);
+        autoscaler.sample();
+        assertEquals(2, autoscaler.getConsumerCount(), "streak was reset by the middle sample");
+        autoscaler.sample();
+        assertEquals(3, autoscaler.getConsumerCount());
+
+        awaitTrue(() -> queue.size() == 5);
+        fill(queue, 3);
+        for (int i = 0; i < 5; i++) {
+            autoscaler.sample();
+        }
+        assertEquals(3, autoscaler.getConsumerCount(), "never above the maximum");
+
+        release.countDown();
+        awaitTrue(queue::isEmpty);
+        for (int i = 0; i < 10; i++) {
+            autoscaler.sample();
+        }
+        assertEquals(1, autoscaler.getConsumerCount(), "never below the minimum");
+        assertEquals(2, autoscaler.getScaleUpCount());
+        assertEquals(2, autoscaler.getScaleDownCount());
+
+        assertTrue(autoscaler.shutdown(5, TimeUnit.SECONDS));
+        assertEquals(11, handled.get());
+        assertNull(autoscaler.getFailure());
+    }
+
+    /**
+     * Purpose:
+     * Proves the supervisor thread tracks a burst of load on its own.
+     *
+     * How it works:
+     * A producer floods a small queue whose items each take a few milliseconds, so
+     * the pool should grow to its maximum; after the burst the queue drains and the
+     * pool should shrink back to one consumer. Every item is handled exactly once.
+     */
+    @Test
+    @DisplayName("Supervisor grows the pool under load and shrinks it when idle")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void supervisorTracksLoad() throws Exception {
+        int items = 300;
+        SharedQueue<Integer> queue = new SharedQueue<>(16, false, WaitStrategy.BLOCKING, new QueueMetrics());
+        AtomicLong sum = new AtomicLong();
+        ConsumerAutoscaler<Integer> autoscaler = ConsumerAutoscaler.builder(queue, (Integer item) -> {
+            try {
+                Thread.sleep(3);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            sum.addAndGet(item);
+        }).consumers(1, 4).sampleInterval(Duration.ofMillis(10)).hysteresis(2, 3)
+          .maxDwell(Duration.ofMillis(20)).name("burst").build();
+        autoscaler.start();
+
+        for (int i = 1; i <= items; i++) {
+            queue.put(i);
+        }
+        awaitTrue(() -> autoscaler.getScaleUpCount() >= 3);
+        awaitTrue(() -> sum.get() == (long) items * (items + 1) / 2);
+        awaitTrue(() -> autoscaler.getConsumerCount() == 1);
+
+        assertTrue(autoscaler.getScaleDownCount() >= 3);
+        assertTrue(autoscaler.shutdown(5, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class,
+            () -> ConsumerAutoscaler.builder(queue, item -> { }).consumers(3, 2));
+        assertThrows(IllegalArgumentException.class,
+            () -> ConsumerAutoscaler.builder(queue, item -> { }).watermarks(0.8, 0.5));
+        assertThrows(IllegalArgumentException.class,
+            () -> ConsumerAutoscaler.builder(new SharedQueue<Integer>(1, false), item -> { })
+                                    .maxDwell(Duration.ofMillis(1)));
+    }
+
+    private static void fill(SharedQueue<Integer> queue, int count) throws InterruptedException {
+        for (int i = 0; i < count; i++) {
+            queue.put(i);
+        }
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) throws InterruptedException {
+        while (!condition.getAsBoolean()) {
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Keyed Dispatcher Unit Tests")
+class KeyedDispatcherTest {
+
+    /**
+     * Purpose:
+     * Proves items of one key are handled in dispatch order while different keys run in parallel.
+     *
+     * How it works:
+     * Two producers each dispatch a numbered sequence for four keys of their own.
+     * The handler checks every item follows the previous one of its key and tracks
+     * how many handlers run at once; with four lanes and a short sleep per item,
+     * more than one must overlap.
+     */
+    @Test
+    @DisplayName("Per-key FIFO with parallelism across keys")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void perKeyOrderAcrossLanes() throws Exception {
+        int keysPerProducer = 4;
+        int perKey = 50;
+        Map<Integer, Integer> lastSeq = new ConcurrentHashMap<>();
+        AtomicInteger outOfOrder = new AtomicInteger();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        KeyedDispatcher<int[]> dispatcher = new KeyedDispatcher<>(4, 8, item -> item[0], item -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            if (lastSeq.getOrDefault(item[0], -1) + 1 != item[1]) {
+                outOfOrder.incrementAndGet();
+            }
+            lastSeq.put(item[0], item[1]);
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            inFlight.decrementAndGet();
+        }, "ordered");
+
+        Thread[] producers = new Thread[2];
+        for (int p = 0; p < producers.length; p++) {
+            int firstKey = p * keysPerProducer;
+            producers[p] = new Thread(() -> {
+                try {
+                    for (int seq = 0; seq < perKey; seq++) {
+                        for (int key = firstKey; key < firstKey + keysPerProducer; key++) {
+                            dispatcher.dispatch(new int[] {key, seq});
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producers[p].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        dispatcher.shutdown();
+        assertTrue(dispatcher.awaitTermination(15, TimeUnit.SECONDS));
+
+        assertEquals(0, outOfOrder.get());
+        assertEquals(2 * keysPerProducer, lastSeq.size());
+        lastSeq.values().forEach(last -> assertEquals(perKey - 1, last));
+        assertEquals(2L * keysPerProducer * perKey, dispatcher.getItemsProcessed());
+        assertTrue(maxInFlight.get() > 1, "lanes never ran in parallel");
+        assertNull(dispatcher.getFailure());
+    }
+
+    /**
+     * Purpose:
+     * Proves a handler error does not stall its lane and shutdown refuses new items.
+     *
+     * How it works:
+     * One item throws; the error is recorded and the later items of the same key
+     * are still handled. Keys always map to the same lane, dispatch after shutdown
+     * fails, and invalid constructor arguments are rejected.
+     */
+    @Test
+    @DisplayName("Handler failure keeps the lane going; shutdown refuses new items")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void failureAndShutdown() throws Exception {
+        AtomicInteger handled = new AtomicInteger();
+        KeyedDispatcher<String> dispatcher = new KeyedDispatcher<>(3, 2, item -> item.substring(0, 1), item -> {
+            if (item.equals("a3")) {
+                throw new IllegalStateException("bad " + item);
+            }
+            handled.incrementAndGet();
+        }, "failing");
+
+        for (int i = 0; i < 10; i++) {
+            dispatcher.dispatch("a" + i);
+            dispatcher.dispatch("b" + i);
+        }
+        assertEquals(dispatcher.laneOf("a"), dispatcher.laneOf("a"));
+        dispatcher.shutdown();
+        assertTrue(dispatcher.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(19, handled.get());
+        assertEquals(20, dispatcher.getItemsProcessed());
+        assertEquals("bad a3", dispatcher.getFailure().getMessage());
+        assertEquals(3, dispatcher.getLaneCount());
+        assertThrows(IllegalStateException.class, () -> dispatcher.dispatch("a10"));
+        assertThrows(IllegalArgumentException.class,
+            () -> new KeyedDispatcher<String>(0, 1, item -> item, item -> { }, "none"));
+    }
+}
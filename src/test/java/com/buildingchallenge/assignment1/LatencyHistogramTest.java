@@ -0,0 +1,104 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Latency Histogram Unit Tests")
+class LatencyHistogramTest {
+
+    /**
+     * Purpose:
+     * Proves bucketing stays within the advertised ~3% and percentiles pick the right rank.
+     *
+     * How it works:
+     * Every value maps to a bucket whose upper bound is at least the value and within
+     * 1/32 of it. Recording 1..10,000 microseconds then gives p50 near 5ms and p99
+     * near 9.9ms; snapshotAndReset hands over the counts and leaves the histogram empty.
+     */
+    @Test
+    @DisplayName("Buckets are accurate to ~3% and percentiles match the recorded ranks")
+    void bucketAccuracyAndPercentiles() {
+        for (long value = 0; value < 1_000_000; value += 7) {
+            assertBucketBounds(value);
+        }
+        for (long value = 1; value > 0 && value < Long.MAX_VALUE / 3; value *= 3) {
+            assertBucketBounds(value);
+        }
+        assertBucketBounds(Long.MAX_VALUE);
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 10_000; micros++) {
+            histogram.record(micros * 1000L);
+        }
+        histogram.record(-5);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshotAndReset();
+        assertEquals(10_001, snapshot.getCount());
+        assertEquals(10_000_000L, snapshot.getMaxNanos());
+        assertEquals(0, snapshot.getValueAtPercentile(0));
+        assertEquals(5_000_000, snapshot.getValueAtPercentile(50), 5_000_000 / 32.0);
+        assertEquals(9_900_000, snapshot.getValueAtPercentile(99), 9_900_000 / 32.0);
+        assertEquals(10_000_000L, snapshot.getValueAtPercentile(100));
+        assertThrows(IllegalArgumentException.class, () -> snapshot.getValueAtPercentile(101));
+
+        assertEquals(0, histogram.getCount());
+        assertEquals(0, histogram.snapshot().getValueAtPercentile(99));
+    }
+
+    /**
+     * Purpose:
+     * Proves a SharedQueue with metrics records one dwell, put and take sample per item.
+     *
+     * How it works:
+     * A consumer sleeps before each take so the queue fills and items sit in it; the
+     * dwell histogram must then show items waiting for several milliseconds, while a
+     * queue without metrics reports none.
+     */
+    @Test
+    @DisplayName("SharedQueue records dwell and blocking time per item")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void queueRecordsDwellAndBlocking() throws Exception {
+        int items = 20;
+        QueueMetrics metrics = new QueueMetrics();
+        SharedQueue<Integer> queue = new SharedQueue<>(4, false, WaitStrategy.BLOCKING, metrics);
+
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < items; i++) {
+                    queue.put(i);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        for (int i = 0; i < items; i++) {
+            Thread.sleep(2);
+            assertEquals(i, queue.take());
+        }
+        producer.join();
+
+        assertSame(metrics, queue.getMetrics());
+        assertEquals(items, metrics.getDwell().getCount());
+        assertEquals(items, metrics.getPutBlock().getCount());
+        assertEquals(items, metrics.getTakeBlock().getCount());
+        // With four items queued ahead and a 2ms take interval, later items wait ~8ms
+        assertTrue(metrics.getDwell().snapshot().getValueAtPercentile(90) >= TimeUnit.MILLISECONDS.toNanos(4));
+        assertTrue(metrics.getPutBlock().snapshot().getMaxNanos() >= TimeUnit.MILLISECONDS.toNanos(1));
+
+        metrics.reset();
+        assertEquals(0, metrics.getDwell().getCount());
+        assertNull(new SharedQueue<Integer>(1, false).getMetrics());
+    }
+
+    private static void assertBucketBounds(long value) {
+        long upper = LatencyHistogram.highestValueOf(LatencyHistogram.indexOf(value));
+        assertTrue(upper >= value, "bucket below " + value);
+        assertTrue(upper - value <= value / 32, "bucket too wide for " + value);
+    }
+}
@@ -0,0 +1,184 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Persistent SharedQueue Unit Tests")
+class PersistentSharedQueueTest {
+
+    @TempDir
+    Path logDirectory;
+
+    /**
+     * Purpose:
+     * Proves unacknowledged items survive a crash, including one in the middle of a write.
+     *
+     * How it works:
+     * Items are put, some taken and acknowledged (one out of order, past a gap), and
+     * the acknowledged offset checkpointed. While the queue is open a second one on
+     * the same directory is refused. The queue is then abandoned without close() and
+     * half a record is appended to the log, as a crash mid-write would leave it.
+     * Reopening must cut off the torn record and redeliver, in order, every item from
+     * the first unacknowledged one on.
+     */
+    @Test
+    @DisplayName("Recovers unacknowledged items after a crash")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void recoversAfterCrash() throws Exception {
+        PersistentSharedQueue<String> crashed = new PersistentSharedQueue<>(logDirectory, ItemCodec.utf8(), 1000, 256);
+        for (int i = 0; i < 100; i++) {
+            crashed.put("item-" + i);
+        }
+        for (int i = 0; i < 30; i++) {
+            PersistentSharedQueue.Entry<String> entry = crashed.takeEntry();
+            assertEquals("item-" + i, entry.getItem());
+            if (i < 20 || i == 25) {
+                crashed.ack(entry.getOffset());
+            }
+        }
+        assertEquals(20, crashed.getAckedOffset());
+        int segmentsBefore = segmentFiles().size();
+        crashed.checkpoint();
+        assertTrue(segmentFiles().size() < segmentsBefore, "acknowledged segments were not deleted");
+        assertThrows(IOException.class, () -> new PersistentSharedQueue<>(logDirectory, ItemCodec.utf8(), 1000, 256));
+        crashed.abandon();
+
+        Path tail = segmentFiles().get(segmentFiles().size() - 1);
+        Files.write(tail, ByteBuffer.allocate(12).putInt(100).putInt(0).putInt(7).array(), StandardOpenOption.APPEND);
+
+        try (PersistentSharedQueue<String> recovered = new PersistentSharedQueue<>(logDirectory, ItemCodec.utf8(), 1000, 256)) {
+            assertEquals(80, recovered.getRecoveredCount());
+            for (int i = 20; i < 100; i++) {
+                assertEquals("item-" + i, recovered.take());
+            }
+            recovered.put("after-restart");
+            assertEquals("after-restart", recovered.take());
+        }
+
+        try (PersistentSharedQueue<String> reopened = new PersistentSharedQueue<>(logDirectory, ItemCodec.utf8(), 1000, 256)) {
+            assertEquals(0, reopened.getRecoveredCount());
+            assertEquals(101, reopened.getAckedOffset());
+        }
+    }
+
+    /**
+     * Purpose:
+     * Proves concurrent producers share fsyncs (group commit) and nothing is lost or duplicated.
+     *
+     * How it works:
+     * Four producers put concurrently while a consumer takes; the sum must match and
+     * the number of write + fsync batches must be well below the number of puts.
+     * After close the queue rejects further use.
+     */
+    @Test
+    @DisplayName("Group commit batches concurrent puts")
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void groupCommitBatchesPuts() throws Exception {
+        int producers = 4;
+        int perProducer = 250;
+        PersistentSharedQueue<String> queue = new PersistentSharedQueue<>(logDirectory, ItemCodec.utf8(), 64);
+        AtomicLong sum = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 1; i <= perProducer; i++) {
+                        queue.put(Integer.toString(i));
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        threads.add(new Thread(() -> {
+            try {
+                for (int i = 0; i < producers * perProducer; i++) {
+                    sum.addAndGet(Long.parseLong(queue.take()));
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) producers * perProducer * (perProducer + 1) / 2, sum.get());
+        assertTrue(queue.getFlushCount() < producers * perProducer,
+                   "every put had its own fsync: " + queue.getFlushCount());
+        assertThrows(IllegalArgumentException.class, () -> queue.ack(producers * perProducer));
+
+        queue.close();
+        assertThrows(IllegalStateException.class, () -> queue.put("closed"));
+        assertThrows(IllegalStateException.class, queue::take);
+    }
+
+    /**
+     * Purpose:
+     * Proves putAll shares one write + fsync across a batch and still works when the
+     * batch is larger than the queue.
+     *
+     * How it works:
+     * A batch that fits is written in a single flush. A batch of 100 into a queue of
+     * capacity 16 must be written in parts while a consumer drains it, in order.
+     */
+    @Test
+    @DisplayName("putAll writes a batch with one fsync")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void putAllSharesOneFsync() throws Exception {
+        try (PersistentSharedQueue<String> queue = new PersistentSharedQueue<>(logDirectory, ItemCodec.utf8(), 16)) {
+            queue.putAll(Arrays.asList("a", "b", "c", "d"));
+            assertEquals(1, queue.getFlushCount());
+            assertEquals(4, queue.size());
+            for (String expected : Arrays.asList("a", "b", "c", "d")) {
+                assertEquals(expected, queue.take());
+            }
+
+            List<String> batch = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                batch.add("item-" + i);
+            }
+            List<String> taken = new ArrayList<>();
+            Thread consumer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < batch.size(); i++) {
+                        taken.add(queue.take());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            consumer.start();
+            queue.putAll(batch);
+            consumer.join();
+            assertEquals(batch, taken);
+            assertThrows(IllegalArgumentException.class, () -> queue.putAll(Arrays.asList("x", null)));
+        }
+    }
+
+    private List<Path> segmentFiles() throws Exception {
+        try (Stream<Path> files = Files.list(logDirectory)) {
+            return files.filter(path -> path.toString().endsWith(".wal")).sorted().collect(Collectors.toList());
+        }
+    }
+}
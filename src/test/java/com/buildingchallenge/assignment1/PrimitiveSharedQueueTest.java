@@ -0,0 +1,128 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Primitive SharedQueue Unit Tests")
+class PrimitiveSharedQueueTest {
+
+    /**
+     * Purpose:
+     * Proves the ring buffer keeps FIFO order across wrap-around and blocks like SharedQueue.
+     *
+     * How it works:
+     * Interleave puts and takes so head and tail wrap several times, then fill the
+     * queue and check a further put waits until a take frees a slot.
+     */
+    @Test
+    @DisplayName("Ring buffer is FIFO across wrap-around and blocks when full")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void ringOrderAndBlocking() throws Exception {
+        LongSharedQueue queue = new LongSharedQueue(3);
+        long next = 0;
+        for (int round = 0; round < 10; round++) {
+            queue.put(round * 2);
+            queue.put(round * 2 + 1);
+            assertEquals(next++, queue.take());
+            assertEquals(next++, queue.take());
+        }
+        assertTrue(queue.isEmpty());
+
+        queue.put(1);
+        queue.put(2);
+        queue.put(3);
+        assertTrue(queue.isFull());
+
+        AtomicBoolean putDone = new AtomicBoolean(false);
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put(4);
+                putDone.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(100);
+        assertFalse(putDone.get());
+
+        assertEquals(1, queue.take());
+        producer.join(1000);
+        assertTrue(putDone.get());
+        assertEquals(2, queue.take());
+        assertEquals(3, queue.take());
+        assertEquals(4, queue.take());
+
+        IntSharedQueue ints = new IntSharedQueue(2);
+        ints.put(Integer.MIN_VALUE);
+        ints.put(7);
+        assertEquals(Integer.MIN_VALUE, ints.take());
+        assertEquals(7, ints.take());
+        assertEquals(2, ints.getCapacity());
+    }
+
+    /**
+     * Purpose:
+     * Proves the primitive producer and consumers deliver every item exactly once.
+     *
+     * How it works:
+     * One producer per queue type feeds three consumers that sum what they take;
+     * the sums must match the source, and the poison pills must stop every consumer.
+     */
+    @Test
+    @DisplayName("Primitive producer and consumers deliver every item once")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void producerConsumerPipeline() throws Exception {
+        int items = 100_000;
+        int consumerCount = 3;
+
+        LongSharedQueue longQueue = new LongSharedQueue(64);
+        AtomicLong longSum = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        List<LongQueueConsumer> longConsumers = new ArrayList<>();
+        threads.add(new Thread(new LongProducer(longQueue, LongStream.range(0, items).iterator(),
+                                                "long-producer", -1L, consumerCount)));
+        for (int i = 0; i < consumerCount; i++) {
+            LongQueueConsumer consumer = new LongQueueConsumer(longQueue, longSum::addAndGet, "long-consumer-" + i, -1L);
+            longConsumers.add(consumer);
+            threads.add(new Thread(consumer));
+        }
+
+        IntSharedQueue intQueue = new IntSharedQueue(64);
+        AtomicLong intSum = new AtomicLong();
+        List<IntQueueConsumer> intConsumers = new ArrayList<>();
+        threads.add(new Thread(new IntProducer(intQueue, IntStream.range(0, items).iterator(),
+                                               "int-producer", -1, consumerCount)));
+        for (int i = 0; i < consumerCount; i++) {
+            IntQueueConsumer consumer = new IntQueueConsumer(intQueue, intSum::addAndGet, "int-consumer-" + i, -1);
+            intConsumers.add(consumer);
+            threads.add(new Thread(consumer));
+        }
+
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        long expected = (long) items * (items - 1) / 2;
+        assertEquals(expected, longSum.get());
+        assertEquals(expected, intSum.get());
+        assertEquals(items, longConsumers.stream().mapToLong(LongQueueConsumer::getItemsConsumed).sum());
+        assertEquals(items, intConsumers.stream().mapToLong(IntQueueConsumer::getItemsConsumed).sum());
+        assertTrue(longQueue.isEmpty());
+        assertTrue(intQueue.isEmpty());
+    }
+}
@@ -0,0 +1,168 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Priority SharedQueue Unit Tests")
+class PrioritySharedQueueTest {
+
+    /**
+     * Purpose:
+     * Proves urgent items overtake bulk ones, equal priorities stay FIFO, and aging
+     * stops bulk items from starving.
+     *
+     * How it works:
+     * With an aging threshold of 2, three bulk items queued behind six urgent ones
+     * must come out after every second urgent item rather than all at the end.
+     */
+    @Test
+    @DisplayName("Urgent first, FIFO per level, bulk served by aging")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void priorityOrderAndAging() throws Exception {
+        PrioritySharedQueue<String> queue = new PrioritySharedQueue<>(16, 3,
+            item -> item.startsWith("u") ? 0 : item.startsWith("n") ? 1 : 2, 2, 0);
+        for (String item : Arrays.asList("b1", "b2", "b3", "u1", "u2", "u3", "u4", "u5", "u6")) {
+            queue.put(item);
+        }
+        assertEquals(6, queue.size(0));
+        assertEquals(3, queue.size(2));
+
+        List<String> taken = new ArrayList<>();
+        while (!queue.isEmpty()) {
+            taken.add(queue.take());
+        }
+        assertEquals(Arrays.asList("u1", "u2", "b1", "u3", "u4", "b2", "u5", "u6", "b3"), taken);
+
+        queue.put("n1");
+        queue.put("b4");
+        queue.put("u7");
+        queue.put("n2", 0);
+        assertEquals("u7", queue.take());
+        assertEquals("n2", queue.take());
+        assertEquals("n1", queue.take());
+        assertEquals("b4", queue.take());
+
+        assertThrows(IllegalArgumentException.class, () -> queue.put("x", 3));
+        assertThrows(IllegalArgumentException.class, () -> new PrioritySharedQueue<String>(4, 2, item -> 0, 1, 4));
+    }
+
+    /**
+     * Purpose:
+     * Proves the urgent reserve lets urgent puts through a queue bulk producers filled,
+     * and that Producer and Consumer work unchanged on the priority queue.
+     *
+     * How it works:
+     * With capacity 4 and one reserved slot, a fourth bulk put blocks while an urgent
+     * put succeeds at once and is taken first. Then a Producer/Consumer pair moves
+     * a list through the queue and every item arrives.
+     */
+    @Test
+    @DisplayName("Urgent reserve bypasses bulk backpressure; works with Producer and Consumer")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void urgentReserveAndPipeline() throws Exception {
+        PrioritySharedQueue<Integer> queue = new PrioritySharedQueue<>(4, 2, item -> item < 0 ? 0 : 1, 8, 1);
+        queue.put(1);
+        queue.put(2);
+        queue.put(3);
+
+        AtomicBoolean bulkDone = new AtomicBoolean(false);
+        Thread bulkProducer = new Thread(() -> {
+            try {
+                queue.put(4);
+                bulkDone.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        bulkProducer.start();
+        Thread.sleep(100);
+        assertFalse(bulkDone.get());
+
+        queue.put(-1);
+        assertTrue(queue.isFull());
+        assertEquals(-1, queue.take());
+        assertEquals(1, queue.take());
+        bulkProducer.join(1000);
+        assertTrue(bulkDone.get());
+        assertEquals(2, queue.take());
+        assertEquals(3, queue.take());
+        assertEquals(4, queue.take());
+
+        List<Integer> source = new ArrayList<>();
+        for (int i = -50; i < 50; i++) {
+            source.add(i);
+        }
+        List<Integer> destination = Collections.synchronizedList(new ArrayList<>());
+        Thread producer = new Thread(new Producer<>(queue, source, "priority-producer"));
+        Thread consumer = new Thread(new Consumer<>(queue, destination, "priority-consumer", source.size()));
+        producer.start();
+        consumer.start();
+        producer.join();
+        consumer.join();
+
+        assertEquals(source.size(), destination.size());
+        assertTrue(destination.containsAll(source));
+    }
+
+    /**
+     * Purpose:
+     * Proves poison pills never reach the priority function and never overtake items,
+     * so pill-terminated Consumers drain the queue before they stop.
+     *
+     * How it works:
+     * The priority function fails on the pill. A Producer queues 200 mixed items and
+     * two pills before any Consumer starts; the pills must come out after every item,
+     * and an urgent item put after a pill must still be served first.
+     */
+    @Test
+    @DisplayName("Poison pills skip the priority function and come out last")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void poisonPillsDeliveredAfterEveryLevel() throws Exception {
+        String pill = new String("STOP");
+        PrioritySharedQueue<String> queue = new PrioritySharedQueue<>(256, 2, item -> {
+            if (item == pill) {
+                throw new AssertionError("Priority function saw the poison pill");
+            }
+            return item.startsWith("u") ? 0 : 1;
+        }, 16, 0, pill);
+
+        queue.put("b0");
+        queue.put(pill);
+        queue.put("u0");
+        assertEquals("u0", queue.take());
+        assertEquals("b0", queue.take());
+        assertSame(pill, queue.take());
+        assertTrue(queue.isEmpty());
+
+        List<String> source = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            source.add((i % 3 == 0 ? "u" : "b") + i);
+        }
+        Thread producer = new Thread(new Producer<>(queue, source.iterator(), "pill-producer", pill, 2, false));
+        producer.start();
+        producer.join();
+        assertEquals(202, queue.size());
+
+        List<String> destination = Collections.synchronizedList(new ArrayList<>());
+        Thread first = new Thread(new Consumer<>(queue, destination::add, "pill-consumer-1", pill, false));
+        Thread second = new Thread(new Consumer<>(queue, destination::add, "pill-consumer-2", pill, false));
+        first.start();
+        second.start();
+        first.join();
+        second.join();
+
+        assertEquals(source.size(), destination.size());
+        assertTrue(destination.containsAll(source));
+        assertTrue(queue.isEmpty());
+    }
+}
@@ -0,0 +1,148 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Spilling SharedQueue Unit Tests")
+class SpillingSharedQueueTest {
+
+    @TempDir
+    Path spillDirectory;
+
+    /**
+     * Purpose:
+     * Proves a burst larger than the memory budget is absorbed without blocking and
+     * comes back out in FIFO order, reusing drained segments.
+     *
+     * How it works:
+     * With room for 4 items in memory and 64-byte segments, 200 puts spill across
+     * many segment files. Taking them all must return them in order; a second burst
+     * that fits the recycled segments must not create new files, and close() must
+     * delete every file.
+     */
+    @Test
+    @DisplayName("Burst spills to disk and reads back in order")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void burstSpillsAndRecycles() throws Exception {
+        SpillingSharedQueue<String> queue = new SpillingSharedQueue<>(4, spillDirectory, ItemCodec.utf8(), 64, Long.MAX_VALUE);
+        for (int i = 0; i < 200; i++) {
+            queue.put("item-" + i);
+        }
+        assertEquals(200, queue.size());
+        assertEquals(4, queue.getMemorySize());
+        assertEquals(196, queue.getSpilledCount());
+        long segmentsAfterBurst = queue.getSegmentsCreated();
+        assertTrue(segmentsAfterBurst > 10);
+
+        for (int i = 0; i < 200; i++) {
+            assertEquals("item-" + i, queue.take());
+        }
+        assertTrue(queue.isEmpty());
+
+        for (int i = 0; i < 10; i++) {
+            queue.put("again-" + i);
+        }
+        for (int i = 0; i < 10; i++) {
+            assertEquals("again-" + i, queue.take());
+        }
+        assertEquals(segmentsAfterBurst, queue.getSegmentsCreated(), "drained segments were not reused");
+
+        queue.close();
+        try (Stream<Path> files = Files.list(spillDirectory)) {
+            assertEquals(0, files.count());
+        }
+        assertThrows(IllegalStateException.class, () -> queue.put("closed"));
+    }
+
+    /**
+     * Purpose:
+     * Proves FIFO order under concurrent use and that put blocks only at the disk budget.
+     *
+     * How it works:
+     * A producer races a slower consumer through a queue with a 128-byte disk budget,
+     * so items move between memory and disk repeatedly; the consumer must see every
+     * item in order. Then a queue is filled to its two-segment budget; a further put
+     * must wait until the first segment has been read through and can be reused.
+     */
+    @Test
+    @DisplayName("Concurrent FIFO order and blocking at the disk budget")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void concurrentOrderAndDiskBudget() throws Exception {
+        int items = 2000;
+        try (SpillingSharedQueue<String> queue = new SpillingSharedQueue<>(8, spillDirectory, ItemCodec.utf8(), 64, 128)) {
+            AtomicInteger outOfOrder = new AtomicInteger();
+            Thread consumer = new Thread(() -> {
+                try {
+                    for (int i = 0; i < items; i++) {
+                        if (!queue.take().equals("item-" + i)) {
+                            outOfOrder.incrementAndGet();
+                        }
+                        if (i % 100 == 0) {
+                            Thread.sleep(1);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            consumer.start();
+            for (int i = 0; i < items; i++) {
+                queue.put("item-" + i);
+            }
+            consumer.join();
+            assertEquals(0, outOfOrder.get());
+            assertTrue(queue.isEmpty());
+        }
+
+        try (SpillingSharedQueue<String> queue = new SpillingSharedQueue<>(1, spillDirectory, ItemCodec.utf8(), 64, 150)) {
+            queue.put("in-memory");
+            // Each record is 4 + 6 bytes, so six fill a 64-byte segment; the budget rounds down to two segments
+            for (int i = 0; i < 12; i++) {
+                queue.put("disk-" + (char) ('a' + i));
+            }
+            assertTrue(queue.isFull());
+
+            AtomicBoolean putDone = new AtomicBoolean(false);
+            Thread producer = new Thread(() -> {
+                try {
+                    queue.put("late-1");
+                    putDone.set(true);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            Thread.sleep(100);
+            assertFalse(putDone.get());
+
+            assertEquals("in-memory", queue.take());
+            assertEquals("disk-a", queue.take());
+            Thread.sleep(100);
+            assertFalse(putDone.get(), "segment still partly unread");
+
+            // Reading the first record of the second segment frees the first
+            for (int i = 1; i < 7; i++) {
+                assertEquals("disk-" + (char) ('a' + i), queue.take());
+            }
+            producer.join(1000);
+            assertTrue(putDone.get());
+            assertEquals(2, queue.getSegmentsCreated());
+
+            assertThrows(IllegalArgumentException.class, () -> queue.put(String.join("", Collections.nCopies(100, "x"))));
+        }
+        assertThrows(IllegalArgumentException.class,
+            () -> new SpillingSharedQueue<>(1, spillDirectory, ItemCodec.utf8(), 64, 32));
+    }
+}
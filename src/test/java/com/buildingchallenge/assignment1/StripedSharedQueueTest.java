@@ -0,0 +1,136 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Striped SharedQueue Unit Tests")
+class StripedSharedQueueTest {
+
+    /**
+     * Purpose:
+     * Proves N producers and M consumers hand over every item exactly once.
+     *
+     * How it works:
+     * Four producers (two using home stripes, two hashing keys) and three consumers
+     * share a small striped queue, so producers block on full stripes and consumers
+     * park on empty ones; the consumed sum must equal the produced sum.
+     */
+    @Test
+    @DisplayName("N:M producers and consumers deliver every item once")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void manyProducersAndConsumers() throws Exception {
+        int producers = 4;
+        int consumers = 3;
+        int perProducer = 2000;
+        StripedSharedQueue<Integer> queue = new StripedSharedQueue<>(16, 4);
+        AtomicLong sum = new AtomicLong();
+        List<Thread> threads = new ArrayList<>();
+        for (int p = 0; p < producers; p++) {
+            boolean keyed = p % 2 == 1;
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 1; i <= perProducer; i++) {
+                        if (keyed) {
+                            queue.put(i, i % 7);
+                        } else {
+                            queue.put(i);
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        int total = producers * perProducer;
+        for (int c = 0; c < consumers; c++) {
+            int share = total / consumers + (c < total % consumers ? 1 : 0);
+            threads.add(new Thread(() -> {
+                try {
+                    for (int i = 0; i < share; i++) {
+                        sum.addAndGet(queue.take());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+        }
+        for (Thread thread : threads) {
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals((long) producers * perProducer * (perProducer + 1) / 2, sum.get());
+        assertTrue(queue.isEmpty());
+    }
+
+    /**
+     * Purpose:
+     * Proves keyed puts keep per-key order, capacity is rounded per stripe, and put
+     * blocks only when every stripe is full.
+     *
+     * How it works:
+     * Interleaved keyed items are taken by one consumer and must come out in order
+     * for each key. Then a 2-stripe queue is filled and a further put waits until
+     * a take frees a slot.
+     */
+    @Test
+    @DisplayName("Keyed order, capacity rounding and blocking when full")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void keyedOrderAndBlocking() throws Exception {
+        StripedSharedQueue<int[]> keyedQueue = new StripedSharedQueue<>(48, 4);
+        for (int seq = 0; seq < 5; seq++) {
+            for (int key = 0; key < 6; key++) {
+                keyedQueue.put(new int[] {key, seq}, key);
+            }
+        }
+        Map<Integer, Integer> lastSeq = new HashMap<>();
+        while (!keyedQueue.isEmpty()) {
+            int[] item = keyedQueue.take();
+            int previous = lastSeq.getOrDefault(item[0], -1);
+            assertEquals(previous + 1, item[1], "key " + item[0] + " out of order");
+            lastSeq.put(item[0], item[1]);
+        }
+        assertEquals(6, lastSeq.size());
+
+        StripedSharedQueue<String> queue = new StripedSharedQueue<>(3, 2);
+        assertEquals(4, queue.getCapacity());
+        for (int i = 0; i < 4; i++) {
+            queue.put("item-" + i);
+        }
+        assertTrue(queue.isFull());
+
+        AtomicBoolean putDone = new AtomicBoolean(false);
+        Thread producer = new Thread(() -> {
+            try {
+                queue.put("late");
+                putDone.set(true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        producer.start();
+        Thread.sleep(100);
+        assertFalse(putDone.get());
+
+        assertNotNull(queue.take());
+        producer.join(1000);
+        assertTrue(putDone.get());
+        assertEquals(4, queue.size());
+
+        assertThrows(IllegalArgumentException.class, () -> queue.put(null));
+        assertThrows(IllegalArgumentException.class, () -> new StripedSharedQueue<String>(2, 4));
+    }
+}
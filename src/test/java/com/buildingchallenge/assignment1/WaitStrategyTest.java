@@ -0,0 +1,102 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("SharedQueue Wait Strategy Tests")
+class WaitStrategyTest {
+
+    /**
+     * Purpose:
+     * Proves every wait strategy hands each item over exactly once.
+     *
+     * How it works:
+     * For each strategy, two producers and two consumers pass items through a small
+     * queue, so both put and take regularly find it full or empty and wait. The count
+     * is kept low because busy spinners on a machine with few cores only make progress
+     * when the scheduler preempts them.
+     */
+    @Test
+    @DisplayName("Every strategy delivers all items with several producers and consumers")
+    @Timeout(value = 30, unit = TimeUnit.SECONDS)
+    void allStrategiesDeliverEveryItem() throws Exception {
+        int perProducer = 500;
+        for (WaitStrategy strategy : WaitStrategy.values()) {
+            SharedQueue<Integer> queue = new SharedQueue<>(4, false, strategy);
+            AtomicLong sum = new AtomicLong();
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < 2; p++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 1; i <= perProducer; i++) {
+                            queue.put(i);
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            for (int c = 0; c < 2; c++) {
+                threads.add(new Thread(() -> {
+                    try {
+                        for (int i = 0; i < perProducer; i++) {
+                            sum.addAndGet(queue.take());
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }));
+            }
+            for (Thread thread : threads) {
+                thread.start();
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            assertEquals(2L * perProducer * (perProducer + 1) / 2, sum.get(), strategy.name());
+            assertTrue(queue.isEmpty(), strategy.name());
+            assertEquals(strategy, queue.getWaitStrategy());
+        }
+    }
+
+    /**
+     * Purpose:
+     * Proves a thread spinning in take() still responds to interruption.
+     *
+     * How it works:
+     * A consumer takes from an empty BUSY_SPIN queue, which never waits on the
+     * monitor; interrupting it must end the spin with InterruptedException.
+     */
+    @Test
+    @DisplayName("Spinning take is interruptible")
+    @Timeout(value = 5, unit = TimeUnit.SECONDS)
+    void spinningTakeIsInterruptible() throws Exception {
+        SharedQueue<String> queue = new SharedQueue<>(1, false, WaitStrategy.BUSY_SPIN);
+        AtomicBoolean interrupted = new AtomicBoolean(false);
+
+        Thread consumer = new Thread(() -> {
+            try {
+                queue.take();
+            } catch (InterruptedException e) {
+                interrupted.set(true);
+            }
+        });
+        consumer.start();
+        Thread.sleep(100);
+        consumer.interrupt();
+        consumer.join(1000);
+
+        assertTrue(interrupted.get());
+        assertThrows(IllegalArgumentException.class, () -> new SharedQueue<String>(1, false, null));
+    }
+}
@@ -0,0 +1,137 @@
+package com.buildingchallenge.assignment1;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Work-Stealing Pool Unit Tests")
+class WorkStealingPoolTest {
+
+    /**
+     * Purpose:
+     * Proves every item is processed exactly once and idle workers steal from a busy one.
+     *
+     * How it works:
+     * Two producers submit to two workers round-robin. Every even item is slow, so
+     * whichever worker holds a run of them falls behind; the other worker drains its
+     * own deque and must then steal to keep going.
+     */
+    @Test
+    @DisplayName("Skewed item costs are balanced by stealing")
+    @Timeout(value = 20, unit = TimeUnit.SECONDS)
+    void skewedCostsAreStolen() throws Exception {
+        int perProducer = 200;
+        Set<Integer> seen = ConcurrentHashMap.newKeySet();
+        AtomicLong duplicates = new AtomicLong();
+        WorkStealingPool<Integer> pool = new WorkStealingPool<>(2, 8, item -> {
+            if (!seen.add(item)) {
+                duplicates.incrementAndGet();
+            }
+            if (item % 2 == 0) {
+                sleepQuietly(1);
+            }
+        }, "stealer");
+
+        Thread[] producers = new Thread[2];
+        for (int p = 0; p < producers.length; p++) {
+            int base = p * perProducer;
+            producers[p] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < perProducer; i++) {
+                        pool.submit(base + i);
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producers[p].start();
+        }
+        for (Thread producer : producers) {
+            producer.join();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(15, TimeUnit.SECONDS));
+
+        assertEquals(2 * perProducer, seen.size());
+        assertEquals(0, duplicates.get());
+        assertEquals(2 * perProducer, pool.getItemsProcessed());
+        assertEquals(0, pool.getPendingCount());
+        assertTrue(pool.getStealCount() > 0, "no items were stolen");
+        assertNull(pool.getFailure());
+    }
+
+    /**
+     * Purpose:
+     * Proves handler errors and shutdown are handled without losing items.
+     *
+     * How it works:
+     * One item makes the handler throw; the failure is recorded and the remaining
+     * items are still processed. After shutdown, submit is refused, and invalid
+     * constructor arguments are rejected. Finally a producer races shutdown: every
+     * submit that returned normally must have been processed.
+     */
+    @Test
+    @DisplayName("Handler failure is recorded and shutdown refuses new items")
+    @Timeout(value = 10, unit = TimeUnit.SECONDS)
+    void failureAndShutdown() throws Exception {
+        AtomicLong handled = new AtomicLong();
+        WorkStealingPool<String> pool = new WorkStealingPool<>(3, 2, item -> {
+            if (item.equals("bad")) {
+                throw new IllegalStateException("bad item");
+            }
+            handled.incrementAndGet();
+        }, "failing");
+
+        for (int i = 0; i < 50; i++) {
+            pool.submit(i == 10 ? "bad" : "item-" + i);
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(49, handled.get());
+        assertEquals(50, pool.getItemsProcessed());
+        assertEquals("bad item", pool.getFailure().getMessage());
+        assertEquals(3, pool.getWorkerCount());
+        assertThrows(IllegalStateException.class, () -> pool.submit("late"));
+        assertThrows(IllegalArgumentException.class, () -> new WorkStealingPool<String>(0, 1, item -> { }, "none"));
+        assertThrows(IllegalArgumentException.class, () -> new WorkStealingPool<String>(1, 1, null, "none"));
+
+        for (int round = 0; round < 20; round++) {
+            AtomicLong accepted = new AtomicLong();
+            WorkStealingPool<Integer> racing = new WorkStealingPool<>(2, 4, item -> { }, "racing");
+            Thread producer = new Thread(() -> {
+                try {
+                    for (int i = 0; ; i++) {
+                        racing.submit(i);
+                        accepted.incrementAndGet();
+                    }
+                } catch (IllegalStateException e) {
+                    // Shut down
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+            producer.start();
+            Thread.sleep(1);
+            racing.shutdown();
+            producer.join();
+            assertTrue(racing.awaitTermination(5, TimeUnit.SECONDS));
+            assertEquals(accepted.get(), racing.getItemsProcessed());
+        }
+    }
+
+    private static void sleepQuietly(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.buildingchallenge.assignment2;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * AggregationKernelsTest Class
+ *
+ * Unit tests for the scalar and (when built with -Pvector) Vector API aggregation
+ * kernels, and for the columnar analyzer path that uses them.
+ */
+@DisplayName("Aggregation Kernels Tests")
+class AggregationKernelsTest {
+
+    // Odd length so the vector tail loop is exercised
+    private static final int LENGTH = 1003;
+
+    /**
+     * Test scalar kernels against straightforward reference loops
+     */
+    @Test
+    @DisplayName("Scalar kernels compute sums, products and grouped sums")
+    void testScalarKernels() {
+        assertKernelsCorrect(KernelSelector.byName("scalar"));
+    }
+
+    /**
+     * Test vector kernels give identical results; skipped unless built with -Pvector
+     */
+    @Test
+    @DisplayName("Vector kernels match scalar results")
+    void testVectorKernels() {
+        AggregationKernels vector = KernelSelector.vectorKernelsOrNull();
+        assumeTrue(vector != null, "Vector kernels not built (use -Pvector)");
+        assertKernelsCorrect(vector);
+    }
+
+    /**
+     * Test the columnar analyzer path agrees with BigDecimal arithmetic, and that
+     * sub-cent amounts fall back to the BigDecimal path
+     */
+    @Test
+    @DisplayName("Columnar revenue matches BigDecimal revenue")
+    void testColumnarPathMatchesBigDecimal() {
+        Random random = new Random(3);
+        List<SalesRecord> records = new ArrayList<>();
+        for (int i = 0; i < LENGTH; i++) {
+            records.add(new SalesRecord("P" + i, "Product " + (i % 40), "Category " + (i % 5),
+                LocalDate.of(2024, 1, 1), BigDecimal.valueOf(random.nextInt(500000), 2),
+                random.nextInt(20), "Region " + (i % 4), "Rep " + (i % 9)));
+        }
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(records);
+        assertTrue(analyzer.getColumnarData().isCentsExact());
+
+        BigDecimal expectedTotal = records.stream()
+            .map(SalesRecord::getTotalValue)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, expectedTotal.compareTo(analyzer.getTotalSales()));
+
+        Map<String, BigDecimal> byCategory = analyzer.getSalesByCategory();
+        BigDecimal category0 = records.stream()
+            .filter(r -> r.getCategory().equals("Category 0"))
+            .map(SalesRecord::getTotalValue)
+            .reduce(BigDecimal.ZERO, BigDecimal::add);
+        assertEquals(0, category0.compareTo(byCategory.get("Category 0")));
+
+        SalesAnalyzerImpl subCent = new SalesAnalyzerImpl(List.of(
+            new SalesRecord("P1", "Widget", "Parts", LocalDate.of(2024, 1, 1),
+                          new BigDecimal("0.125"), 4, "North", "John")));
+        assertFalse(subCent.getColumnarData().isCentsExact());
+        assertEquals(0, new BigDecimal("0.5").compareTo(subCent.getTotalSales()));
+    }
+
+    private static void assertKernelsCorrect(AggregationKernels kernels) {
+        Random random = new Random(11);
+        long[] values = new long[LENGTH];
+        int[] multipliers = new int[LENGTH];
+        int[] groups = new int[LENGTH];
+        long expectedSum = 0;
+        long expectedProducts = 0;
+        for (int i = 0; i < LENGTH; i++) {
+            values[i] = random.nextInt(1_000_000);
+            multipliers[i] = random.nextInt(50);
+            groups[i] = random.nextInt(40);
+            expectedSum += values[i];
+            expectedProducts += values[i] * multipliers[i];
+        }
+
+        assertEquals(expectedSum, kernels.sum(values, LENGTH), kernels.name());
+        assertEquals(expectedProducts, kernels.sumOfProducts(values, multipliers, LENGTH), kernels.name());
+
+        // 1-3 groups take the vector kernels' masked path, 5 and 40 the scatter loop
+        for (int groupCount : new int[] {1, 2, 3, 5, 40}) {
+            int[] groupIds = new int[LENGTH];
+            long[] expectedSums = new long[groupCount];
+            for (int i = 0; i < LENGTH; i++) {
+                groupIds[i] = groups[i] % groupCount;
+                expectedSums[groupIds[i]] += values[i] * multipliers[i];
+            }
+            long[] sums = new long[groupCount];
+            kernels.groupedSumOfProducts(values, multipliers, groupIds, sums, LENGTH);
+            assertArrayEquals(expectedSums, sums, kernels.name() + " with " + groupCount + " groups");
+        }
+    }
+}
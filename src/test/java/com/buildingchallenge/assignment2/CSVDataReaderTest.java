@@ -10,6 +10,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import java.io.IOException;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.List;
 
 /**
  * CSVDataReaderTest Class
@@ -41,6 +42,9 @@ class CSVDataReaderTest {
         
         assertEquals(5, salesRecords.size(), 
                     "Should load all 5 records from CSV");
+        assertSame(salesRecords.get(0).getProductName(), salesRecords.get(3).getProductName(),
+                   "Repeated names should share one instance within a load");
+        assertSame(salesRecords.get(1).getSalesRep(), salesRecords.get(4).getSalesRep());
     }
     
     /**
@@ -93,4 +97,158 @@ class CSVDataReaderTest {
         assertEquals(1, salesRecords.size(), 
                     "Should skip row with wrong number of columns and load only valid rows");
     }
+    
+    /**
+     * Test the error report counts each reason and keeps the first rows as samples
+     */
+    @Test
+    @DisplayName("Test error report counts rejected rows by reason")
+    void testErrorReport(@TempDir Path tempDir) throws IOException, CsvException {
+        Path csvFilePath = tempDir.resolve("dirty_sales.csv");
+        
+        String csvContent = 
+            "ProductID,ProductName,Category,SaleDate,Amount,Quantity,Region,SalesRep\n" +
+            "P001,Laptop,Electronics,2024-01-15,1000.00,2,North,John\n" +
+            "P002,Mouse,Electronics,2024-13-20,30.00,5,South,Jane\n" +
+            "P003,Chair,Furniture,2024-02-10,-200.00,3,North,John\n" +
+            "P004,Desk,Furniture,2024-03-05,400.00,two,South,Jane\n" +
+            ",Desk,Furniture,2024-03-05,400.00,1,South,Jane\n" +
+            "P005,Lamp,Furniture,2024-02-30,15.00,1,East,Mike\n";
+        
+        Files.write(csvFilePath, csvContent.getBytes());
+        
+        CSVDataReader reader = new CSVDataReader();
+        var salesRecords = reader.readSalesData(csvFilePath);
+        
+        // 2024-02-30 is resolved to the last day of the month, as before
+        assertEquals(2, salesRecords.size());
+        assertEquals(29, salesRecords.get(1).getSaleDate().getDayOfMonth());
+        
+        RowErrorReport report = reader.getErrorReport();
+        assertEquals(4, report.getTotalErrors());
+        assertEquals(1, report.getCount(RowError.INVALID_DATE));
+        assertEquals(1, report.getCount(RowError.NEGATIVE_AMOUNT));
+        assertEquals(1, report.getCount(RowError.INVALID_QUANTITY));
+        assertEquals(1, report.getCount(RowError.MISSING_PRODUCT_ID));
+        
+        List<RowErrorReport.Sample> samples = report.getSamples();
+        assertEquals(4, samples.size());
+        assertEquals(3, samples.get(0).getRowNumber());
+        assertEquals(RowError.INVALID_DATE, samples.get(0).getError());
+        assertTrue(samples.get(0).getRow().startsWith("P002,Mouse"));
+    }
+    
+    /**
+     * Test FAIL_FAST stops at the first invalid row and QUARANTINE writes it aside
+     */
+    @Test
+    @DisplayName("Test fail fast and quarantine policies")
+    void testBadRowPolicies(@TempDir Path tempDir) throws IOException, CsvException {
+        Path csvFilePath = tempDir.resolve("dirty_sales.csv");
+        
+        String csvContent = 
+            "ProductID,ProductName,Category,SaleDate,Amount,Quantity,Region,SalesRep\n" +
+            "P001,Laptop,Electronics,2024-01-15,1000.00,2,North,John\n" +
+            "P002,Mouse,Electronics,2024-01-20,abc,5,South,Jane\n" +
+            "P003,Chair,Furniture,2024-02-10,200.00,3,North,John\n";
+        
+        Files.write(csvFilePath, csvContent.getBytes());
+        
+        CsvException failure = assertThrows(CsvException.class,
+            () -> new CSVDataReader(BadRowPolicy.FAIL_FAST).readSalesData(csvFilePath));
+        assertEquals(3, failure.getLineNumber());
+        
+        assertThrows(IllegalArgumentException.class, () -> new CSVDataReader(BadRowPolicy.QUARANTINE));
+        
+        Path quarantineFile = tempDir.resolve("rejected.csv");
+        try (CSVDataReader reader = new CSVDataReader(BadRowPolicy.QUARANTINE, quarantineFile)) {
+            assertEquals(2, reader.readSalesData(csvFilePath).size());
+        }
+        
+        List<String> quarantined = Files.readAllLines(quarantineFile);
+        assertEquals(2, quarantined.size());
+        assertEquals("RowNumber,Error,ProductID,ProductName,Category,SaleDate,Amount,Quantity,Region,SalesRep",
+                     quarantined.get(0));
+        assertEquals("3,INVALID_AMOUNT,P002,Mouse,Electronics,2024-01-20,abc,5,South,Jane", quarantined.get(1));
+    }
+    
+    /**
+     * Test columns are found by header name, in any order and among extra columns
+     */
+    @Test
+    @DisplayName("Test reordered and extra columns are mapped by header name")
+    void testHeaderMapping(@TempDir Path tempDir) throws IOException, CsvException {
+        Path csvFilePath = tempDir.resolve("reordered_sales.csv");
+        
+        String csvContent = 
+            "Region,Sales Rep,Quantity,Amount,Notes,Sale_Date,Category,product_name,ProductID\n" +
+            "North,John,2,1000.00,rush order,2024-01-15,Electronics,Laptop,P001\n" +
+            "South,Jane,5,30.00,,2024-01-20,Electronics,Mouse,P002\n";
+        
+        Files.write(csvFilePath, csvContent.getBytes());
+        
+        CSVDataReader reader = new CSVDataReader();
+        var salesRecords = reader.readSalesData(csvFilePath);
+        
+        assertEquals(2, salesRecords.size());
+        SalesRecord first = salesRecords.get(0);
+        assertEquals("P001", first.getProductId());
+        assertEquals("Laptop", first.getProductName());
+        assertEquals("Electronics", first.getCategory());
+        assertEquals("North", first.getRegion());
+        assertEquals("John", first.getSalesRep());
+        assertEquals(2, first.getQuantity());
+        assertEquals(200000, first.getTotalValueCents());
+        
+        // Quarantined rows are written in CSV_HEADER order, not the file's own
+        Files.write(csvFilePath, (csvContent + "East,Mike,x,5.00,,2024-01-25,Furniture,Desk,P003\n").getBytes());
+        Path quarantineFile = tempDir.resolve("rejected.csv");
+        try (CSVDataReader quarantining = new CSVDataReader(BadRowPolicy.QUARANTINE, quarantineFile)) {
+            assertEquals(2, quarantining.readSalesData(csvFilePath).size());
+        }
+        assertEquals("4,INVALID_QUANTITY,P003,Desk,Furniture,2024-01-25,5.00,x,East,Mike",
+                     Files.readAllLines(quarantineFile).get(1));
+        
+        // A column the reader needs must be in the header
+        Files.write(csvFilePath, "ProductID,ProductName,SaleDate,Amount\nP001,Laptop,2024-01-15,1.00\n".getBytes());
+        CsvException missing = assertThrows(CsvException.class, () -> reader.readSalesData(csvFilePath));
+        assertTrue(missing.getMessage().contains("Quantity"));
+    }
+    
+    /**
+     * Test a projected reader skips columns the query does not use
+     */
+    @Test
+    @DisplayName("Test projection decodes only the columns a query needs")
+    void testProjection(@TempDir Path tempDir) throws IOException, CsvException {
+        Path csvFilePath = tempDir.resolve("test_sales.csv");
+        
+        // Product name and sales rep are blank or missing; a revenue by region query never reads them
+        String csvContent = 
+            "ProductID,ProductName,Category,SaleDate,Amount,Quantity,Region\n" +
+            "P001,,Electronics,2024-01-15,1000.00,2,North\n" +
+            "P002,,Electronics,2024-01-20,30.00,5,South\n" +
+            "P003,,Furniture,2024-02-10,200.00,3,North\n";
+        
+        Files.write(csvFilePath, csvContent.getBytes());
+        
+        SalesQuery revenueByRegion = SalesQuery.builder()
+            .groupBy(SalesColumn.REGION)
+            .aggregate(Aggregate.SUM, SalesColumn.TOTAL_VALUE)
+            .build();
+        CSVDataReader reader = new CSVDataReader(BadRowPolicy.FAIL_FAST, null, revenueByRegion.getReferencedColumns());
+        assertFalse(reader.getColumns().contains(SalesColumn.PRODUCT_NAME));
+        assertFalse(reader.getColumns().contains(SalesColumn.SALES_REP));
+        
+        var salesRecords = reader.readSalesData(csvFilePath);
+        
+        assertEquals(3, salesRecords.size());
+        assertEquals("North", salesRecords.get(0).getRegion());
+        assertEquals("Uncategorized", salesRecords.get(0).getCategory());
+        assertEquals("Unknown", salesRecords.get(0).getSalesRep());
+        assertEquals(260000, salesRecords.get(0).getTotalValueCents() + salesRecords.get(2).getTotalValueCents());
+        
+        // The full reader rejects the blank names and the missing SalesRep column
+        assertThrows(CsvException.class, () -> new CSVDataReader().readSalesData(csvFilePath));
+    }
 }
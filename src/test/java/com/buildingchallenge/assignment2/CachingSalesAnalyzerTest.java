@@ -0,0 +1,134 @@
+package com.buildingchallenge.assignment2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * CachingSalesAnalyzerTest Class
+ *
+ * Unit tests for the memoizing CachingSalesAnalyzer decorator.
+ */
+@DisplayName("Caching Sales Analyzer Tests")
+class CachingSalesAnalyzerTest {
+
+    private SalesAnalyzerImpl analyzer;
+    private CachingSalesAnalyzer cachingAnalyzer;
+
+    @BeforeEach
+    void setUp() {
+        analyzer = new SalesAnalyzerImpl(Arrays.asList(
+            new SalesRecord("P001", "Laptop", "Electronics", LocalDate.of(2024, 1, 15),
+                          new BigDecimal("1000.00"), 2, "North", "John"),
+            new SalesRecord("P002", "Mouse", "Electronics", LocalDate.of(2024, 1, 20),
+                          new BigDecimal("30.00"), 5, "South", "Jane"),
+            new SalesRecord("P003", "Chair", "Furniture", LocalDate.of(2024, 2, 10),
+                          new BigDecimal("200.00"), 3, "North", "John")
+        ));
+        cachingAnalyzer = new CachingSalesAnalyzer(analyzer, 2);
+    }
+
+    /**
+     * Test repeated calls are served from the cache
+     */
+    @Test
+    @DisplayName("Repeated queries hit the cache")
+    void testRepeatedQueriesHitCache() {
+        Map<String, BigDecimal> first = cachingAnalyzer.getSalesByCategory();
+        Map<String, BigDecimal> second = cachingAnalyzer.getSalesByCategory();
+
+        assertSame(first, second, "Second call should return the cached result");
+        assertEquals(1, cachingAnalyzer.getStats().getHits());
+        assertEquals(1, cachingAnalyzer.getStats().getMisses());
+
+        // Different arguments are cached separately
+        cachingAnalyzer.getTopProductsBySales(1);
+        cachingAnalyzer.getTopProductsBySales(2);
+        assertEquals(3, cachingAnalyzer.getStats().getMisses());
+    }
+
+    /**
+     * Test appending records invalidates cached results
+     */
+    @Test
+    @DisplayName("Appending records invalidates cached results")
+    void testAppendInvalidatesCache() {
+        BigDecimal before = cachingAnalyzer.getTotalSales();
+        assertEquals(0, new BigDecimal("2750.00").compareTo(before));
+
+        analyzer.addSalesRecords(Collections.singletonList(
+            new SalesRecord("P004", "Desk", "Furniture", LocalDate.of(2024, 3, 5),
+                          new BigDecimal("400.00"), 2, "South", "Jane")));
+
+        BigDecimal after = cachingAnalyzer.getTotalSales();
+        assertEquals(0, new BigDecimal("3550.00").compareTo(after),
+                    "Total should reflect the appended record");
+        assertEquals(1, cachingAnalyzer.getStats().getInvalidations());
+        assertEquals(2, cachingAnalyzer.getStats().getMisses());
+    }
+
+    /**
+     * Test a reader holding an older data version neither clears nor fills the cache
+     */
+    @Test
+    @DisplayName("Stale readers leave the cache alone")
+    void testStaleReaderDoesNotResetCache() {
+        long[] version = {1};
+        SalesAnalyzerImpl versioned = new SalesAnalyzerImpl(analyzer.getSalesRecords()) {
+            @Override
+            public long getDataVersion() {
+                return version[0];
+            }
+        };
+        CachingSalesAnalyzer cache = new CachingSalesAnalyzer(versioned);
+        cache.getTotalSales();
+
+        // A thread that read the version before the append finishes after it
+        version[0] = 0;
+        cache.getSalesByCategory();
+        assertEquals(0, cache.getStats().getInvalidations());
+        assertEquals(1, cache.getStats().getSize(), "Stale result should not be published");
+
+        version[0] = 1;
+        cache.getTotalSales();
+        assertEquals(1, cache.getStats().getHits(), "Result for the current version should survive");
+    }
+
+    /**
+     * Test least recently used entries are evicted once the cache is full
+     */
+    @Test
+    @DisplayName("Least recently used entry is evicted")
+    void testLruEviction() {
+        cachingAnalyzer.getTotalSales();
+        cachingAnalyzer.getSalesByCategory();
+        cachingAnalyzer.getTotalSales();             // touch, making getSalesByCategory the eldest
+        cachingAnalyzer.getSalesCountByRegion();     // evicts getSalesByCategory
+
+        assertEquals(1, cachingAnalyzer.getStats().getEvictions());
+        assertEquals(2, cachingAnalyzer.getStats().getSize());
+
+        cachingAnalyzer.getTotalSales();
+        assertEquals(2, cachingAnalyzer.getStats().getHits(), "getTotalSales should still be cached");
+    }
+
+    /**
+     * Test cached results cannot be modified by callers
+     */
+    @Test
+    @DisplayName("Cached results are immutable")
+    void testResultsAreImmutable() {
+        Map<String, Long> counts = cachingAnalyzer.getSalesCountByRegion();
+        assertThrows(UnsupportedOperationException.class, () -> counts.put("West", 1L));
+        assertThrows(UnsupportedOperationException.class, () ->
+            cachingAnalyzer.getSalesByDateRange(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 31)).clear());
+    }
+}
@@ -0,0 +1,93 @@
+package com.buildingchallenge.assignment2;
+
+import com.opencsv.exceptions.CsvException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * CsvLoadPipelineTest Class
+ *
+ * Unit tests for the reader / parser pool / aggregator load pipeline.
+ */
+@DisplayName("CSV Load Pipeline Tests")
+class CsvLoadPipelineTest {
+
+    /**
+     * Test the pipeline returns the same records, in the same order, as CSVDataReader
+     */
+    @Test
+    @DisplayName("Pipeline load matches CSVDataReader")
+    void testMatchesReader(@TempDir Path tempDir) throws IOException, CsvException {
+        Path csv = tempDir.resolve("sales.csv");
+        SalesDataGenerator.builder().rows(5000).build().writeCsv(csv);
+
+        List<SalesRecord> expected = new CSVDataReader().readSalesData(csv);
+        List<SalesRecord> loaded = new CsvLoadPipeline(4, 100).load(csv);
+
+        assertEquals(expected.toString(), loaded.toString());
+    }
+
+    /**
+     * Test invalid rows are skipped and the sink can fold records without keeping them
+     */
+    @Test
+    @DisplayName("Invalid rows are skipped while streaming into aggregates")
+    void testStreamingAggregation(@TempDir Path tempDir) throws IOException, CsvException {
+        Path csv = tempDir.resolve("dirty.csv");
+        Files.writeString(csv, SalesDataGenerator.CSV_HEADER + "\n"
+            + "P1,Laptop,Electronics,2024-01-15,100.00,2,North,Alice\n"
+            + "P2,Mouse,Electronics,not-a-date,25.00,1,South,Bob\n"
+            + "P3,Desk,Furniture,2024-02-01,50.50,3,East,Carol\n"
+            + "P4,Chair,Furniture,2024-02-02\n");
+
+        BigDecimal[] total = {BigDecimal.ZERO};
+        long count = new CsvLoadPipeline(2, 1).run(csv, record -> total[0] = total[0].add(record.getTotalValue()));
+
+        assertEquals(2, count);
+        assertEquals(new BigDecimal("351.50"), total[0]);
+    }
+
+    /**
+     * Test a stalled parser holds back the others instead of growing the reorder buffer
+     */
+    @Test
+    @DisplayName("A stalled parser keeps the reorder window bounded")
+    void testStalledParserBoundsReorderWindow(@TempDir Path tempDir) throws IOException, CsvException {
+        Path csv = tempDir.resolve("sales.csv");
+        SalesDataGenerator.builder().rows(2000).build().writeCsv(csv);
+
+        int parserThreads = 4;
+        AtomicInteger started = new AtomicInteger();
+        int[] startedWhileStalled = {0};
+        CsvLoadPipeline pipeline = new CsvLoadPipeline(parserThreads, 10) {
+            @Override
+            void beforeParse(long blockSequence) {
+                started.incrementAndGet();
+                if (blockSequence == 0) {
+                    try {
+                        Thread.sleep(300);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    startedWhileStalled[0] = started.get();
+                }
+            }
+        };
+        List<SalesRecord> loaded = pipeline.load(csv);
+
+        assertEquals(new CSVDataReader().readSalesData(csv).toString(), loaded.toString());
+        assertEquals(200, started.get());
+        assertTrue(startedWhileStalled[0] <= parserThreads * 2,
+                   "Blocks parsed while block 0 stalled: " + startedWhileStalled[0]);
+    }
+}
@@ -0,0 +1,66 @@
+package com.buildingchallenge.assignment2;
+
+import com.opencsv.exceptions.CsvException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * DecompressingInputStreamTest Class
+ *
+ * Unit tests for compressed CSV input and pipelined decompression.
+ */
+@DisplayName("Decompressing Input Stream Tests")
+class DecompressingInputStreamTest {
+
+    /**
+     * Test a gzip file spanning many chunks parses the same as the plain file
+     */
+    @Test
+    @DisplayName("Gzip CSV reads the same records as plain CSV")
+    void testGzipMatchesPlain(@TempDir Path tempDir) throws IOException, CsvException {
+        Path plain = tempDir.resolve("sales.csv");
+        SalesDataGenerator.builder().rows(20_000).build().writeCsv(plain);
+        Path gzip = tempDir.resolve("sales.csv.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            Files.copy(plain, out);
+        }
+        assertTrue(Files.size(plain) > 4L * DecompressingInputStream.CHUNK_SIZE);
+
+        CSVDataReader reader = new CSVDataReader();
+        List<SalesRecord> expected = reader.readSalesData(plain);
+        assertEquals(expected.toString(), reader.readSalesData(gzip).toString());
+        assertEquals(expected.size(), new SalesFileLoader(1).loadNew(tempDir.resolve("*.gz")).getAddedRecords().size());
+    }
+
+    /**
+     * Test closing early stops the decompressor, and zstd input is rejected
+     */
+    @Test
+    @DisplayName("Early close and unsupported formats")
+    void testEarlyCloseAndZstd(@TempDir Path tempDir) throws IOException {
+        Path gzip = tempDir.resolve("big.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+            out.write(new byte[DecompressingInputStream.CHUNK_SIZE * (DecompressingInputStream.QUEUE_CAPACITY + 4)]);
+        }
+        InputStream in = DecompressingInputStream.open(gzip);
+        assertEquals(0, in.read());
+        in.close();
+        assertEquals(-1, in.read());
+
+        Path zstd = tempDir.resolve("sales.csv.zst");
+        Files.write(zstd, new byte[] {(byte) 0x28, (byte) 0xB5, (byte) 0x2F, (byte) 0xFD, 0, 0});
+        IOException error = assertThrows(IOException.class, () -> DecompressingInputStream.open(zstd));
+        assertTrue(error.getMessage().contains("zstd"));
+    }
+}
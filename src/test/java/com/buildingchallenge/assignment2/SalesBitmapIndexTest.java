@@ -0,0 +1,125 @@
+package com.buildingchallenge.assignment2;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * SalesBitmapIndexTest Class
+ *
+ * Unit tests for CompressedBitmap set operations and index-backed query execution.
+ */
+@DisplayName("Bitmap Index Tests")
+class SalesBitmapIndexTest {
+
+    /**
+     * Test and/or agree with java.util.BitSet across sparse and dense containers
+     */
+    @Test
+    @DisplayName("Bitmap and/or match BitSet for sparse and dense chunks")
+    void testBitmapOperationsMatchBitSet() {
+        Random random = new Random(42);
+        BitSet expectedA = new BitSet();
+        BitSet expectedB = new BitSet();
+        CompressedBitmap a = new CompressedBitmap();
+        CompressedBitmap b = new CompressedBitmap();
+
+        // Chunk 0 dense in both (bitmap containers), chunk 1 sparse (array containers),
+        // chunk 2 dense in one and sparse in the other (mixed)
+        for (int i = 0; i < 3 * 65536; i++) {
+            int chunk = i >>> 16;
+            double densityA = chunk == 1 ? 0.01 : 0.5;
+            double densityB = chunk == 0 ? 0.5 : 0.02;
+            if (random.nextDouble() < densityA) {
+                a.add(i);
+                expectedA.set(i);
+            }
+            if (random.nextDouble() < densityB) {
+                b.add(i);
+                expectedB.set(i);
+            }
+        }
+
+        BitSet expectedAnd = (BitSet) expectedA.clone();
+        expectedAnd.and(expectedB);
+        BitSet expectedOr = (BitSet) expectedA.clone();
+        expectedOr.or(expectedB);
+
+        assertArrayEquals(expectedAnd.stream().toArray(), a.and(b).toArray());
+        assertArrayEquals(expectedOr.stream().toArray(), a.or(b).toArray());
+        assertEquals(expectedA.cardinality(), a.cardinality());
+        assertTrue(a.contains(expectedA.nextSetBit(70000)));
+        assertThrows(IllegalStateException.class, () -> a.and(b).add(1));
+    }
+
+    /**
+     * Test results never share containers with unsealed inputs and index bitmaps are read-only
+     */
+    @Test
+    @DisplayName("Unions copy unsealed inputs and index bitmaps are sealed")
+    void testSealedBitmapsAreNotAliased() {
+        CompressedBitmap a = new CompressedBitmap();
+        CompressedBitmap b = new CompressedBitmap();
+        a.add(1);
+        b.add(70000);
+        CompressedBitmap union = a.or(b);
+
+        a.add(2);
+        assertFalse(union.contains(2), "Adding to an input must not change an earlier union");
+        assertEquals(2, union.cardinality());
+
+        SalesBitmapIndex index = SalesBitmapIndex.build(Arrays.asList(
+            new SalesRecord("P001", "Laptop", "Electronics", LocalDate.of(2024, 1, 15),
+                          new BigDecimal("1000.00"), 2, "North", "John")));
+        CompressedBitmap north = index.lookup(SalesColumn.REGION, "North");
+        assertTrue(north.isSealed());
+        assertThrows(IllegalStateException.class, () -> north.add(5));
+        assertThrows(IllegalStateException.class, () -> index.lookup(SalesColumn.REGION, "West").add(5));
+    }
+
+    /**
+     * Test indexed query execution returns the same result as a full scan
+     */
+    @Test
+    @DisplayName("Indexed query matches full scan")
+    void testIndexedQueryMatchesFullScan() {
+        String[] categories = {"Electronics", "Furniture", "Office Supplies"};
+        String[] regions = {"North", "South", "East", "West"};
+        Random random = new Random(7);
+        List<SalesRecord> records = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            records.add(new SalesRecord("P" + (i % 50), "Product " + (i % 50),
+                categories[random.nextInt(categories.length)],
+                LocalDate.of(2024, 1, 1).plusDays(random.nextInt(366)),
+                BigDecimal.valueOf(random.nextInt(100000), 2), 1 + random.nextInt(5),
+                regions[random.nextInt(regions.length)], "Rep" + random.nextInt(8)));
+        }
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(records);
+
+        // Electronics revenue in North during Q1, per sales rep
+        SalesQuery query = SalesQuery.builder()
+            .whereEquals(SalesColumn.CATEGORY, "Electronics")
+            .whereEquals(SalesColumn.REGION, "North")
+            .whereBetween(SalesColumn.SALE_DATE, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31))
+            .groupBy(SalesColumn.SALES_REP)
+            .aggregate(Aggregate.SUM, SalesColumn.TOTAL_VALUE)
+            .aggregate(Aggregate.COUNT, SalesColumn.TOTAL_VALUE)
+            .build();
+
+        SalesQueryResult indexed = analyzer.query(query);
+        SalesQueryResult scanned = query.compile().execute(records);
+
+        assertFalse(indexed.getRows().isEmpty());
+        assertEquals(scanned.toMap(0), indexed.toMap(0));
+        assertEquals(scanned.toMap(1), indexed.toMap(1));
+    }
+}
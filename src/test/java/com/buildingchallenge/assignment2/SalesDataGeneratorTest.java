@@ -0,0 +1,66 @@
+package com.buildingchallenge.assignment2;
+
+import com.opencsv.exceptions.CsvException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * SalesDataGeneratorTest Class
+ *
+ * Unit tests for the synthetic sales data generator.
+ */
+@DisplayName("Sales Data Generator Tests")
+class SalesDataGeneratorTest {
+
+    /**
+     * Test same seed gives identical data and different seeds differ
+     */
+    @Test
+    @DisplayName("Generation is deterministic per seed")
+    void testDeterministicPerSeed() {
+        List<SalesRecord> first = SalesDataGenerator.builder().seed(1).rows(500).build().generate();
+        List<SalesRecord> second = SalesDataGenerator.builder().seed(1).rows(500).build().generate();
+        List<SalesRecord> other = SalesDataGenerator.builder().seed(2).rows(500).build().generate();
+
+        assertEquals(500, first.size());
+        assertEquals(first.toString(), second.toString());
+        assertNotEquals(first.toString(), other.toString());
+    }
+
+    /**
+     * Test configured cardinalities are respected
+     */
+    @Test
+    @DisplayName("Cardinalities follow configuration")
+    void testCardinalities() {
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(SalesDataGenerator.builder()
+            .rows(5000).products(40).categories(4).regions(3).salesReps(6)
+            .build().generate());
+
+        assertEquals(4, analyzer.getSalesByCategory().size());
+        assertEquals(3, analyzer.getSalesCountByRegion().size());
+        assertEquals(6, analyzer.getTopSalesReps(Integer.MAX_VALUE).size());
+        assertTrue(analyzer.getTopProductsBySales(Integer.MAX_VALUE).size() <= 40);
+    }
+
+    /**
+     * Test written CSV loads back into the same records
+     */
+    @Test
+    @DisplayName("Written CSV round-trips through CSVDataReader")
+    void testCsvRoundTrip(@TempDir Path tempDir) throws IOException, CsvException {
+        SalesDataGenerator generator = SalesDataGenerator.builder().seed(9).rows(1000).build();
+        Path csv = tempDir.resolve("generated.csv");
+        generator.writeCsv(csv);
+
+        List<SalesRecord> loaded = new CSVDataReader().readSalesData(csv);
+        assertEquals(generator.generate().toString(), loaded.toString());
+    }
+}
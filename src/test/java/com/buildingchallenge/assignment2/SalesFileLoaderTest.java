@@ -0,0 +1,94 @@
+package com.buildingchallenge.assignment2;
+
+import com.opencsv.exceptions.CsvException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * SalesFileLoaderTest Class
+ *
+ * Unit tests for directory/glob loading and skipping of already loaded files.
+ */
+@DisplayName("Sales File Loader Tests")
+class SalesFileLoaderTest {
+
+    /**
+     * Test a directory loads all CSV files in name order
+     */
+    @Test
+    @DisplayName("Directory loads every CSV file in order")
+    void testLoadDirectory(@TempDir Path tempDir) throws IOException, CsvException {
+        List<SalesRecord> expected = new ArrayList<>();
+        for (int day = 1; day <= 5; day++) {
+            SalesDataGenerator generator = SalesDataGenerator.builder().seed(day).rows(200).build();
+            generator.writeCsv(tempDir.resolve("sales-0" + day + ".csv"));
+            expected.addAll(generator.generate());
+        }
+        Files.writeString(tempDir.resolve("notes.txt"), "not a csv");
+
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(new SalesFileLoader(3), tempDir);
+
+        assertEquals(expected.toString(), analyzer.getSalesRecords().toString());
+    }
+
+    /**
+     * Test unchanged and duplicate files are skipped and new ones appended
+     */
+    @Test
+    @DisplayName("Already loaded files are skipped")
+    void testSkipsLoadedFiles(@TempDir Path tempDir) throws IOException, CsvException {
+        SalesDataGenerator first = SalesDataGenerator.builder().seed(1).rows(100).build();
+        first.writeCsv(tempDir.resolve("sales-01.csv"));
+
+        SalesFileLoader loader = new SalesFileLoader(2);
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(loader, tempDir.resolve("sales-*.csv"));
+        assertEquals(100, analyzer.getSalesRecords().size());
+
+        // Same content under a new name, plus a genuinely new file
+        Files.copy(tempDir.resolve("sales-01.csv"), tempDir.resolve("sales-01-copy.csv"));
+        SalesDataGenerator.builder().seed(2).rows(50).build().writeCsv(tempDir.resolve("sales-02.csv"));
+
+        assertEquals(50, analyzer.loadFiles(loader, tempDir.resolve("sales-*.csv")));
+        assertEquals(0, analyzer.loadFiles(loader, tempDir.resolve("sales-*.csv")));
+        assertEquals(150, analyzer.getSalesRecords().size());
+        assertEquals(3, loader.getLoadedFileCount());
+        assertEquals(5, loader.getSkippedFileCount());
+    }
+
+    /**
+     * Test a changed file replaces its earlier records instead of adding to them
+     */
+    @Test
+    @DisplayName("Changed files replace their earlier records")
+    void testChangedFileReplacesRecords(@TempDir Path tempDir) throws IOException, CsvException {
+        Path daily = tempDir.resolve("sales-01.csv");
+        SalesDataGenerator.builder().seed(1).rows(100).build().writeCsv(daily);
+        SalesFileLoader loader = new SalesFileLoader(2);
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(loader, tempDir);
+
+        // Rows appended to an already loaded file
+        List<String> lines = Files.readAllLines(daily);
+        Files.write(daily, lines.subList(1, 21), StandardOpenOption.APPEND);
+        assertEquals(120, analyzer.loadFiles(loader, tempDir));
+        assertEquals(120, analyzer.getSalesRecords().size());
+
+        // A row fixed in place
+        lines = Files.readAllLines(daily);
+        lines.set(1, lines.get(1).replaceFirst(",\\d+,([^,]*),([^,]*)$", ",777,$1,$2"));
+        Files.write(daily, lines);
+        assertEquals(120, analyzer.loadFiles(loader, tempDir));
+        assertEquals(120, analyzer.getSalesRecords().size());
+        assertEquals(777, analyzer.getSalesRecords().get(0).getQuantity());
+        assertEquals(1, loader.getLoadedFileCount());
+    }
+}
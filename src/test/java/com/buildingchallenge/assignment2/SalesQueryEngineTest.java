@@ -0,0 +1,174 @@
+package com.buildingchallenge.assignment2;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SalesQueryEngineTest Class
+ *
+ * Unit tests for SalesQuery / CompiledSalesQuery filtering, grouping and aggregation.
+ */
+@DisplayName("Sales Query Engine Tests")
+class SalesQueryEngineTest {
+
+    private SalesAnalyzerImpl analyzer;
+
+    @BeforeEach
+    void setUp() {
+        analyzer = new SalesAnalyzerImpl(Arrays.asList(
+            new SalesRecord("P001", "Laptop", "Electronics", LocalDate.of(2024, 1, 15),
+                          new BigDecimal("1000.00"), 2, "North", "John"),
+            new SalesRecord("P002", "Mouse", "Electronics", LocalDate.of(2024, 1, 20),
+                          new BigDecimal("30.00"), 5, "South", "Jane"),
+            new SalesRecord("P003", "Chair", "Furniture", LocalDate.of(2024, 2, 10),
+                          new BigDecimal("200.00"), 3, "North", "John"),
+            new SalesRecord("P001", "Laptop", "Electronics", LocalDate.of(2024, 2, 15),
+                          new BigDecimal("1000.00"), 1, "East", "Mike"),
+            new SalesRecord("P004", "Desk", "Furniture", LocalDate.of(2024, 3, 5),
+                          new BigDecimal("400.00"), 2, "South", "Jane")
+        ));
+    }
+
+    /**
+     * Test single-dimension grouping matches the hand-written report
+     */
+    @Test
+    @DisplayName("Group by category matches getSalesByCategory")
+    void testGroupByCategoryMatchesHandWrittenReport() {
+        SalesQueryResult result = analyzer.query(SalesQuery.builder()
+            .groupBy(SalesColumn.CATEGORY)
+            .aggregate(Aggregate.SUM, SalesColumn.TOTAL_VALUE)
+            .build());
+
+        Map<String, BigDecimal> expected = analyzer.getSalesByCategory();
+        assertEquals(expected.size(), result.size());
+        for (SalesQueryResult.Row row : result.getRows()) {
+            assertEquals(0, expected.get(row.getKey(0)).compareTo(row.getValue(0)));
+        }
+    }
+
+    /**
+     * Test multi-dimension grouping with a filter and several aggregates
+     */
+    @Test
+    @DisplayName("Filter plus region x month grouping with all aggregates")
+    void testFilteredMultiDimensionGrouping() {
+        SalesQueryResult result = analyzer.query(SalesQuery.builder()
+            .whereEquals(SalesColumn.CATEGORY, "Electronics")
+            .groupBy(SalesColumn.REGION, SalesColumn.MONTH)
+            .aggregate(Aggregate.SUM, SalesColumn.TOTAL_VALUE)
+            .aggregate(Aggregate.COUNT, SalesColumn.TOTAL_VALUE)
+            .aggregate(Aggregate.MIN, SalesColumn.AMOUNT)
+            .aggregate(Aggregate.MAX, SalesColumn.QUANTITY)
+            .aggregate(Aggregate.AVG, SalesColumn.QUANTITY)
+            .build());
+
+        assertEquals(3, result.size(), "North/1, South/1 and East/2 groups expected");
+        SalesQueryResult.Row north = result.getRows().get(0);
+        assertEquals(Arrays.asList("North", 1), north.getKeys());
+        assertEquals(0, new BigDecimal("2000.00").compareTo(north.getValue(0)));
+        assertEquals(0, BigDecimal.ONE.compareTo(north.getValue(1)));
+        assertEquals(0, new BigDecimal("1000.00").compareTo(north.getValue(2)));
+        assertEquals(0, BigDecimal.valueOf(2).compareTo(north.getValue(3)));
+        assertEquals(0, new BigDecimal("2.00").compareTo(north.getValue(4)));
+    }
+
+    /**
+     * Test range filters and ungrouped aggregation
+     */
+    @Test
+    @DisplayName("Date range filter with global aggregate")
+    void testRangeFilterGlobalAggregate() {
+        SalesQueryResult result = analyzer.query(SalesQuery.builder()
+            .whereBetween(SalesColumn.SALE_DATE, LocalDate.of(2024, 2, 1), LocalDate.of(2024, 2, 29))
+            .aggregate(Aggregate.SUM, SalesColumn.TOTAL_VALUE)
+            .aggregate(Aggregate.COUNT, SalesColumn.TOTAL_VALUE)
+            .build());
+
+        List<SalesQueryResult.Row> rows = result.getRows();
+        assertEquals(1, rows.size());
+        assertEquals(0, new BigDecimal("1600.00").compareTo(rows.get(0).getValue(0)));
+        assertEquals(0, BigDecimal.valueOf(2).compareTo(rows.get(0).getValue(1)));
+    }
+
+    /**
+     * Test aggregates leave the long-cents path on sub-cent amounts and on overflow
+     */
+    @Test
+    @DisplayName("Sub-cent amounts and overflowing sums fall back to BigDecimal")
+    void testExactAggregationFallsBackToBigDecimal() {
+        SalesAnalyzerImpl mixed = new SalesAnalyzerImpl(Arrays.asList(
+            new SalesRecord("P001", "Pen", "Office", LocalDate.of(2024, 1, 1),
+                          new BigDecimal("1.00"), 1, "North", "John"),
+            new SalesRecord("P002", "Clip", "Office", LocalDate.of(2024, 1, 2),
+                          new BigDecimal("0.125"), 2, "North", "John"),
+            new SalesRecord("P003", "Server", "Hardware", LocalDate.of(2024, 1, 3),
+                          new BigDecimal("90000000000000000.00"), 1, "North", "John"),
+            new SalesRecord("P003", "Server", "Hardware", LocalDate.of(2024, 1, 4),
+                          new BigDecimal("90000000000000000.00"), 1, "North", "John")
+        ));
+        SalesQueryResult result = mixed.query(SalesQuery.builder()
+            .groupBy(SalesColumn.CATEGORY)
+            .aggregate(Aggregate.SUM, SalesColumn.TOTAL_VALUE)
+            .aggregate(Aggregate.MIN, SalesColumn.AMOUNT)
+            .aggregate(Aggregate.SUM, SalesColumn.QUANTITY)
+            .build());
+
+        SalesQueryResult.Row office = result.getRows().get(0);
+        assertEquals(new BigDecimal("1.250"), office.getValue(0));
+        assertEquals(new BigDecimal("0.125"), office.getValue(1));
+        assertEquals(BigDecimal.valueOf(3), office.getValue(2));
+
+        SalesQueryResult.Row hardware = result.getRows().get(1);
+        assertEquals(new BigDecimal("180000000000000000.00"), hardware.getValue(0));
+        assertEquals(new BigDecimal("90000000000000000.00"), hardware.getValue(1));
+    }
+
+    /**
+     * Test invalid query definitions are rejected
+     */
+    @Test
+    @DisplayName("Invalid queries are rejected")
+    void testInvalidQueriesRejected() {
+        assertThrows(IllegalArgumentException.class, () ->
+            SalesQuery.builder().aggregate(Aggregate.SUM, SalesColumn.REGION));
+        assertThrows(IllegalStateException.class, () ->
+            SalesQuery.builder().groupBy(SalesColumn.REGION).build());
+    }
+
+    /**
+     * Test filter values are converted to the column type, and mismatched types rejected up front
+     */
+    @Test
+    @DisplayName("Filter values are normalized to the column type")
+    void testFilterValuesNormalizedToColumnType() {
+        SalesQueryResult amount = analyzer.query(SalesQuery.builder()
+            .whereEquals(SalesColumn.AMOUNT, new BigDecimal("1000"))
+            .aggregate(Aggregate.COUNT, SalesColumn.TOTAL_VALUE)
+            .build());
+        assertEquals(0, BigDecimal.valueOf(2).compareTo(amount.getRows().get(0).getValue(0)));
+
+        SalesQueryResult year = analyzer.query(SalesQuery.builder()
+            .whereEquals(SalesColumn.YEAR, 2024L)
+            .whereBetween(SalesColumn.QUANTITY, 2L, 3L)
+            .aggregate(Aggregate.COUNT, SalesColumn.TOTAL_VALUE)
+            .build());
+        assertEquals(0, BigDecimal.valueOf(3).compareTo(year.getRows().get(0).getValue(0)));
+
+        assertThrows(IllegalArgumentException.class, () ->
+            SalesQuery.builder().whereBetween(SalesColumn.SALE_DATE, "2024-01-01", "2024-12-31"));
+        assertThrows(IllegalArgumentException.class, () ->
+            SalesQuery.builder().whereEquals(SalesColumn.MONTH, 1.5));
+        assertThrows(IllegalArgumentException.class, () ->
+            SalesQuery.builder().whereEquals(SalesColumn.REGION, 7));
+    }
+}
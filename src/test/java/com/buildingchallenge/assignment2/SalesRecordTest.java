@@ -0,0 +1,81 @@
+package com.buildingchallenge.assignment2;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * SalesRecordTest Class
+ *
+ * Unit tests for the compact SalesRecord representation.
+ */
+@DisplayName("Sales Record Tests")
+class SalesRecordTest {
+
+    private static SalesRecord record(String amount, int quantity) {
+        return new SalesRecord(" P001 ", "Laptop", "Electronics", LocalDate.of(2024, 2, 29),
+                               new BigDecimal(amount), quantity, "North", "Alice");
+    }
+
+    /**
+     * Test getters return the same values as the inputs, and cents are precomputed
+     */
+    @Test
+    @DisplayName("Compact fields round-trip through the getters")
+    void testCompactRoundTrip() {
+        SalesRecord record = record("1200.50", 3);
+
+        assertTrue(record.isCentsExact());
+        assertEquals(120050, record.getAmountCents());
+        assertEquals(360150, record.getTotalValueCents());
+        assertEquals(new BigDecimal("1200.50"), record.getAmount());
+        assertEquals(new BigDecimal("3601.50"), record.getTotalValue());
+        assertEquals(LocalDate.of(2024, 2, 29), record.getSaleDate());
+        assertEquals(2024, record.getYear());
+        assertEquals(2, record.getMonth());
+        assertEquals("P001", record.getProductId());
+
+        // Scale of the input is kept, as with a plain BigDecimal field
+        assertEquals(new BigDecimal("7.5"), record("7.5", 2).getAmount());
+        assertEquals(new BigDecimal("15.0"), record("7.5", 2).getTotalValue());
+    }
+
+    /**
+     * Test year, month and month bucket computed from the epoch day agree with LocalDate,
+     * across leap days, century years and dates before 1970
+     */
+    @Test
+    @DisplayName("Year and month derive from the epoch day")
+    void testYearMonthFromEpochDay() {
+        for (LocalDate date = LocalDate.of(1899, 1, 1); date.isBefore(LocalDate.of(2101, 1, 1)); date = date.plusDays(1)) {
+            SalesRecord record = new SalesRecord("P001", "Laptop", "Electronics", date,
+                                                 BigDecimal.ONE, 1, "North", "Alice");
+            assertEquals(date.getYear(), record.getYear(), date.toString());
+            assertEquals(date.getMonthValue(), record.getMonth(), date.toString());
+            assertEquals(date.getYear() * 12L + date.getMonthValue() - 1,
+                         TimeGrain.MONTH.bucketOf(date.toEpochDay()), date.toString());
+        }
+    }
+
+    /**
+     * Test sub-cent amounts fall back to BigDecimal and equality ignores scale
+     */
+    @Test
+    @DisplayName("Sub-cent amounts and equality")
+    void testInexactAndEquality() {
+        SalesRecord subCent = record("0.125", 4);
+        assertFalse(subCent.isCentsExact());
+        assertEquals(new BigDecimal("0.125"), subCent.getAmount());
+        assertEquals(new BigDecimal("0.500"), subCent.getTotalValue());
+
+        SalesRecord twoDecimals = record("10.00", 1);
+        SalesRecord noDecimals = record("10", 5);
+        assertEquals(twoDecimals, noDecimals);
+        assertEquals(twoDecimals.hashCode(), noDecimals.hashCode());
+        assertNotEquals(twoDecimals, record("10.01", 1));
+    }
+}
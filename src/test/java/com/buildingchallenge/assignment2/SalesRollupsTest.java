@@ -0,0 +1,109 @@
+package com.buildingchallenge.assignment2;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * SalesRollupsTest Class
+ *
+ * Unit tests for the daily / weekly / monthly time-series rollups.
+ */
+@DisplayName("Sales Rollups Tests")
+class SalesRollupsTest {
+
+    private static SalesRecord record(String date, String amount, int quantity, String category, String region) {
+        return new SalesRecord("P1", "Laptop", category, LocalDate.parse(date),
+                               new BigDecimal(amount), quantity, region, "Alice");
+    }
+
+    /**
+     * Test buckets are dense, start on the right day, and hold revenue, quantity and count
+     */
+    @Test
+    @DisplayName("Dense series per day, week and month, overall and per region")
+    void testSeries() {
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(List.of(
+            record("2024-01-31", "10.00", 2, "Electronics", "North"),   // Wednesday
+            record("2024-02-05", "5.50", 1, "Furniture", "South"),      // Monday
+            record("2024-03-10", "1.25", 4, "Electronics", "North")));  // Sunday
+
+        SalesTimeSeries months = analyzer.getSalesTimeSeries(TimeGrain.MONTH);
+        assertEquals(LocalDate.of(2024, 1, 1), months.getStartDate());
+        assertArrayEquals(new long[] {2000, 550, 500}, months.getRevenueCents());
+        assertArrayEquals(new long[] {2, 1, 4}, months.getQuantities());
+        assertArrayEquals(new long[] {1, 1, 1}, months.getCounts());
+        assertEquals(new BigDecimal("5.50"), months.getRevenue(1));
+
+        SalesTimeSeries weeks = analyzer.getSalesTimeSeries(TimeGrain.WEEK);
+        assertEquals(LocalDate.of(2024, 1, 29), weeks.getStartDate());
+        assertEquals(6, weeks.size());
+        assertEquals(LocalDate.of(2024, 3, 4), weeks.getBucketStart(5));
+        assertArrayEquals(new long[] {1, 1, 0, 0, 0, 1}, weeks.getCounts());
+
+        SalesTimeSeries days = analyzer.getSalesTimeSeries(TimeGrain.DAY);
+        assertEquals(40, days.size());
+        assertEquals(LocalDate.of(2024, 3, 10), days.getBucketStart(39));
+
+        Map<String, SalesTimeSeries> byRegion = analyzer.getSalesTimeSeriesBy(TimeGrain.MONTH, SalesColumn.REGION);
+        assertEquals(List.of("North", "South"), new ArrayList<>(byRegion.keySet()));
+        assertArrayEquals(new long[] {2000, 0, 500}, byRegion.get("North").getRevenueCents());
+        assertArrayEquals(new long[] {0, 550, 0}, byRegion.get("South").getRevenueCents());
+        assertEquals(months.getStartDate(), byRegion.get("South").getStartDate());
+
+        assertThrows(IllegalArgumentException.class,
+            () -> analyzer.getSalesTimeSeriesBy(TimeGrain.DAY, SalesColumn.SALES_REP));
+        assertEquals(0, new SalesAnalyzerImpl(List.of()).getSalesTimeSeries(TimeGrain.DAY).size());
+    }
+
+    /**
+     * Test rollups extended on append and merged across shards match a full rebuild
+     */
+    @Test
+    @DisplayName("Appended and sharded rollups match a rebuild")
+    void testAppendAndMerge() {
+        List<SalesRecord> records = SalesDataGenerator.builder().rows(3000).build().generate();
+        List<SalesRecord> first = records.subList(0, 1000);
+        List<SalesRecord> rest = records.subList(1000, records.size());
+
+        SalesAnalyzerImpl appended = new SalesAnalyzerImpl(first);
+        // Built with the analyzer, before any trend query, so every append extends them
+        SalesRollups built = appended.getRollups();
+        assertSame(appended.getSalesRecords(), built.getRecords());
+        appended.addSalesRecords(rest.subList(0, 1000));
+        appended.addSalesRecords(rest.subList(1000, rest.size()));
+        assertNotSame(built, appended.getRollups());
+        assertSame(appended.getSalesRecords(), appended.getRollups().getRecords());
+
+        SalesAnalyzerImpl rebuilt = new SalesAnalyzerImpl(records);
+        try (ShardedSalesAnalyzer sharded = new ShardedSalesAnalyzer(records, 4,
+                                                                     ShardedSalesAnalyzer.Partitioning.BY_MONTH)) {
+            for (TimeGrain grain : TimeGrain.values()) {
+                SalesTimeSeries expected = rebuilt.getSalesTimeSeries(grain);
+                for (SalesAnalyzerUtil analyzer : Arrays.asList(appended, sharded)) {
+                    SalesTimeSeries actual = analyzer.getSalesTimeSeries(grain);
+                    assertEquals(expected.getStartDate(), actual.getStartDate());
+                    assertArrayEquals(expected.getRevenueCents(), actual.getRevenueCents());
+                    assertArrayEquals(expected.getQuantities(), actual.getQuantities());
+                    assertArrayEquals(expected.getCounts(), actual.getCounts());
+
+                    Map<String, SalesTimeSeries> byCategory = analyzer.getSalesTimeSeriesBy(grain, SalesColumn.CATEGORY);
+                    Map<String, SalesTimeSeries> expectedByCategory = rebuilt.getSalesTimeSeriesBy(grain, SalesColumn.CATEGORY);
+                    assertEquals(expectedByCategory.keySet(), byCategory.keySet());
+                    for (String category : expectedByCategory.keySet()) {
+                        assertArrayEquals(expectedByCategory.get(category).getRevenueCents(),
+                                          byCategory.get(category).getRevenueCents());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.buildingchallenge.assignment2;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * SalesSketchesTest Class
+ *
+ * Unit tests for the HyperLogLog and KLL sketches and the analyzer queries built on them.
+ */
+@DisplayName("Sales Sketches Tests")
+class SalesSketchesTest {
+
+    /**
+     * Test HyperLogLog stays within a few standard errors and merges losslessly
+     */
+    @Test
+    @DisplayName("HyperLogLog estimates and merges distinct counts")
+    void testHyperLogLogAccuracyAndMerge() {
+        HyperLogLog small = new HyperLogLog();
+        for (int i = 0; i < 1000; i++) {
+            small.add("P" + (i % 100));
+        }
+        assertEquals(100, small.estimate(), 2);
+
+        HyperLogLog left = new HyperLogLog();
+        HyperLogLog right = new HyperLogLog();
+        HyperLogLog whole = new HyperLogLog();
+        for (int i = 0; i < 200_000; i++) {
+            String value = "item-" + i;
+            (i % 2 == 0 ? left : right).add(value);
+            whole.add(value);
+        }
+        left.merge(right);
+        assertEquals(whole.estimate(), left.estimate());
+        assertEquals(200_000, left.estimate(), 200_000 * 0.03);
+
+        assertThrows(IllegalArgumentException.class, () -> left.merge(new HyperLogLog(10)));
+    }
+
+    /**
+     * Test KLL quantiles stay within the rank error, alone and after merging
+     */
+    @Test
+    @DisplayName("KLL quantiles are within rank error")
+    void testKllQuantileAccuracy() {
+        SplittableRandom random = new SplittableRandom(7);
+        int n = 100_000;
+        double[] values = new double[n];
+        KllQuantileSketch first = new KllQuantileSketch();
+        KllQuantileSketch second = new KllQuantileSketch();
+        for (int i = 0; i < n; i++) {
+            values[i] = random.nextDouble() * 1000;
+            (i < n / 2 ? first : second).add(values[i]);
+        }
+        first.merge(second);
+        Arrays.sort(values);
+
+        assertEquals(n, first.getCount());
+        assertEquals(values[0], first.getMin());
+        assertEquals(values[n - 1], first.getMax());
+        assertTrue(first.retainedItems() < 1000);
+        for (double fraction : new double[] {0.01, 0.25, 0.5, 0.95, 0.99}) {
+            double estimate = first.quantile(fraction);
+            double rank = (double) Math.abs(Arrays.binarySearch(values, estimate)) / n;
+            assertEquals(fraction, rank, 0.02, "rank error at " + fraction);
+        }
+    }
+
+    /**
+     * Test analyzer answers are exact on small inputs and merged sketches agree
+     */
+    @Test
+    @DisplayName("Analyzer sketch queries on small data")
+    void testAnalyzerSketchQueries() {
+        List<SalesRecord> records = SalesDataGenerator.builder()
+            .rows(2000).products(30).regions(3).salesReps(4).build().generate();
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(records);
+
+        Map<String, Long> byRegion = analyzer.getApproxDistinctProductsByRegion();
+        assertEquals(3, byRegion.size());
+        byRegion.values().forEach(count -> assertEquals(30, count));
+        assertEquals(4, analyzer.getApproxDistinctProductsBySalesRep().size());
+
+        Map<Double, BigDecimal> quantiles = analyzer.getOrderValueQuantiles(0.5, 0.95, 0.99);
+        assertEquals(Arrays.asList(0.5, 0.95, 0.99), List.copyOf(quantiles.keySet()));
+        assertTrue(quantiles.get(0.5).compareTo(quantiles.get(0.95)) <= 0);
+        assertTrue(quantiles.get(0.95).compareTo(quantiles.get(0.99)) <= 0);
+
+        SalesSketches merged = SalesSketches.merge(Arrays.asList(
+            SalesSketches.build(records.subList(0, 1000)),
+            SalesSketches.build(records.subList(1000, 2000))));
+        assertEquals(byRegion, merged.getApproxDistinctProductsByRegion());
+
+        assertTrue(new SalesAnalyzerImpl(List.of()).getOrderValueQuantiles(0.5).isEmpty());
+    }
+}
@@ -0,0 +1,113 @@
+package com.buildingchallenge.assignment2;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * SalesSnapshotTest Class
+ *
+ * Unit tests for copy-on-write snapshots in SalesAnalyzerImpl.
+ */
+@DisplayName("Sales Snapshot Tests")
+class SalesSnapshotTest {
+
+    private static final int BATCH_SIZE = 250;
+
+    /**
+     * Test a pinned analyzer keeps its version while the live one moves on
+     */
+    @Test
+    @DisplayName("Pinned snapshot is unaffected by appends")
+    void testPinnedSnapshot() {
+        List<SalesRecord> records = SalesDataGenerator.builder().rows(2000).build().generate();
+        SalesAnalyzerImpl live = new SalesAnalyzerImpl(records.subList(0, 1000));
+        BigDecimal totalBefore = live.getTotalSales();
+
+        SalesAnalyzerImpl pinned = live.snapshot();
+        assertSame(live.getSnapshot(), pinned.getSnapshot());
+        // Derived structures belong to the snapshot, so the pinned copy reuses them
+        assertSame(live.getColumnarData(), pinned.getColumnarData());
+
+        live.addSalesRecords(records.subList(1000, 2000));
+
+        assertEquals(1, live.getDataVersion());
+        assertEquals(2000, live.getSalesRecords().size());
+        assertEquals(0, pinned.getDataVersion());
+        assertEquals(1000, pinned.getSalesRecords().size());
+        assertEquals(totalBefore, pinned.getTotalSales());
+        assertNotEquals(totalBefore, live.getTotalSales());
+
+        // The first snapshot copied the list, so neither the caller's list nor the
+        // returned one can change it
+        SalesRecord first = pinned.getSalesRecords().get(0);
+        records.set(0, records.get(1999));
+        assertSame(first, pinned.getSalesRecords().get(0));
+        assertThrows(UnsupportedOperationException.class, () -> pinned.getSalesRecords().add(first));
+    }
+
+    /**
+     * Test readers never see a half-applied append while a writer keeps appending
+     */
+    @Test
+    @DisplayName("Queries stay consistent during concurrent appends")
+    void testConcurrentReadsDuringAppend() throws Exception {
+        List<SalesRecord> records = SalesDataGenerator.builder().rows(40 * BATCH_SIZE).build().generate();
+        SalesAnalyzerImpl analyzer = new SalesAnalyzerImpl(records.subList(0, BATCH_SIZE));
+        try (ShardedSalesAnalyzer sharded = new ShardedSalesAnalyzer(records.subList(0, BATCH_SIZE), 3,
+                                                                     ShardedSalesAnalyzer.Partitioning.BY_MONTH)) {
+            AtomicBoolean writing = new AtomicBoolean(true);
+            ExecutorService pool = Executors.newFixedThreadPool(3);
+            try {
+                List<Future<?>> readers = new ArrayList<>();
+                for (SalesAnalyzerUtil target : Arrays.asList(analyzer, sharded)) {
+                    readers.add(pool.submit(() -> {
+                        while (writing.get()) {
+                            assertConsistent(target);
+                        }
+                        return null;
+                    }));
+                }
+                for (int from = BATCH_SIZE; from < records.size(); from += BATCH_SIZE) {
+                    List<SalesRecord> batch = records.subList(from, from + BATCH_SIZE);
+                    analyzer.addSalesRecords(batch);
+                    sharded.addSalesRecords(batch);
+                }
+                writing.set(false);
+                for (Future<?> reader : readers) {
+                    reader.get(30, TimeUnit.SECONDS);
+                }
+            } finally {
+                pool.shutdownNow();
+            }
+            assertEquals(records.size(), analyzer.getSalesRecords().size());
+            assertEquals(analyzer.getTotalSales(), sharded.getTotalSales());
+        }
+    }
+
+    // One query per call, so this passes on any whole number of batches but not on a mix
+    private static void assertConsistent(SalesAnalyzerUtil analyzer) {
+        SalesAnalyzerUtil view = analyzer instanceof SalesAnalyzerImpl
+            ? ((SalesAnalyzerImpl) analyzer).snapshot() : analyzer;
+        long[] counts = view.getSalesTimeSeries(TimeGrain.MONTH).getCounts();
+        long total = 0;
+        for (long count : counts) {
+            total += count;
+        }
+        assertEquals(0, total % BATCH_SIZE, "time series covers a partial append");
+        if (view != analyzer) {
+            assertEquals(total, view.getSalesRecords().size());
+        }
+    }
+}
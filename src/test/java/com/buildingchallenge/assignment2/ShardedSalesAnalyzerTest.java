@@ -0,0 +1,87 @@
+package com.buildingchallenge.assignment2;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * ShardedSalesAnalyzerTest Class
+ *
+ * Unit tests for the scatter-gather sharded analyzer.
+ */
+@DisplayName("Sharded Sales Analyzer Tests")
+class ShardedSalesAnalyzerTest {
+
+    private static final Comparator<SalesRecord> BY_TEXT = Comparator.comparing(SalesRecord::toString);
+
+    /**
+     * Test every query matches the single-list analyzer
+     */
+    @Test
+    @DisplayName("Merged results equal unsharded results")
+    void testMatchesUnsharded() {
+        for (ShardedSalesAnalyzer.Partitioning partitioning : ShardedSalesAnalyzer.Partitioning.values()) {
+            assertMatchesUnsharded(partitioning);
+        }
+    }
+
+    /**
+     * Test appends are routed to shards and change the data version
+     */
+    @Test
+    @DisplayName("Appends update results and version")
+    void testAppend() {
+        for (ShardedSalesAnalyzer.Partitioning partitioning : ShardedSalesAnalyzer.Partitioning.values()) {
+            assertAppendRouted(partitioning);
+        }
+    }
+
+    private static void assertMatchesUnsharded(ShardedSalesAnalyzer.Partitioning partitioning) {
+        List<SalesRecord> records = SalesDataGenerator.builder().rows(5000).build().generate();
+        SalesAnalyzerImpl single = new SalesAnalyzerImpl(records);
+
+        try (ShardedSalesAnalyzer sharded = new ShardedSalesAnalyzer(records, 4, partitioning)) {
+            assertEquals(single.getTotalSales(), sharded.getTotalSales());
+            assertEquals(single.getSalesByCategory(), sharded.getSalesByCategory());
+            assertEquals(single.getSalesCountByRegion(), sharded.getSalesCountByRegion());
+            assertEquals(single.getProductCountByCategory(), sharded.getProductCountByCategory());
+            assertEquals(List.copyOf(single.getTopProductsBySales(10).entrySet()),
+                         List.copyOf(sharded.getTopProductsBySales(10).entrySet()));
+            assertEquals(List.copyOf(single.getTopSalesReps(5).entrySet()),
+                         List.copyOf(sharded.getTopSalesReps(5).entrySet()));
+            assertEquals(single.getApproxDistinctProductsByRegion(), sharded.getApproxDistinctProductsByRegion());
+            assertEquals(records.size(), sharded.getSalesRecords().size());
+
+            LocalDate start = LocalDate.of(2022, 3, 15);
+            LocalDate end = LocalDate.of(2022, 5, 2);
+            assertEquals(sorted(single.getSalesByDateRange(start, end)),
+                         sorted(sharded.getSalesByDateRange(start, end)));
+        }
+    }
+
+    private static void assertAppendRouted(ShardedSalesAnalyzer.Partitioning partitioning) {
+        List<SalesRecord> first = SalesDataGenerator.builder().seed(1).rows(1000).build().generate();
+        List<SalesRecord> second = SalesDataGenerator.builder().seed(2).rows(1000).build().generate();
+
+        try (ShardedSalesAnalyzer sharded = new ShardedSalesAnalyzer(first, 3, partitioning)) {
+            long version = sharded.getDataVersion();
+            sharded.addSalesRecords(second);
+
+            assertTrue(sharded.getDataVersion() > version);
+            assertEquals(new SalesAnalyzerImpl(first).getTotalSales()
+                             .add(new SalesAnalyzerImpl(second).getTotalSales()),
+                         sharded.getTotalSales());
+            assertEquals(2000, sharded.getSalesRecords().size());
+        }
+    }
+
+    private static List<SalesRecord> sorted(List<SalesRecord> records) {
+        return records.stream().sorted(BY_TEXT).collect(Collectors.toList());
+    }
+}